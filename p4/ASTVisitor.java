@@ -0,0 +1,173 @@
+// **********************************************************************
+// ASTVisitor is the double-dispatch interface over the AST in ast.java:
+// every concrete node class has accept(v), which calls v.visit(this), and
+// visitChildren(v), which calls accept(v) on each of its children in
+// source order.
+//
+// A pass is written as an ASTVisitor.  A visit method decides whether and
+// when to descend, by calling visitChildren or accept on single children.
+// The interface's own methods do nothing, so a pass only overrides the
+// nodes it cares about.
+//
+// A pass can instead leave the descent to a Walk (see Walk.java), which
+// calls visit on each node before its children, between(n, i) before its
+// child number i for i > 0, and leave after its children.  Such a pass
+// never descends itself, so one Walk can run several passes in a single
+// traversal.  Nodes without children have no leave method, and nodes
+// with at most one child have no between method.
+// **********************************************************************
+
+interface ASTVisitor {
+    // lists, program and function body
+    default void visit(ProgramNode n) {}
+    default void visit(DeclListNode n) {}
+    default void visit(StmtListNode n) {}
+    default void visit(ExpListNode n) {}
+    default void visit(FormalsListNode n) {}
+    default void visit(FnBodyNode n) {}
+
+    // declarations
+    default void visit(VarDeclNode n) {}
+    default void visit(FnDeclNode n) {}
+    default void visit(FormalDeclNode n) {}
+    default void visit(RecordDeclNode n) {}
+
+    // types
+    default void visit(BoolNode n) {}
+    default void visit(IntNode n) {}
+    default void visit(VoidNode n) {}
+    default void visit(RecordNode n) {}
+
+    // statements
+    default void visit(AssignStmtNode n) {}
+    default void visit(PostIncStmtNode n) {}
+    default void visit(PostDecStmtNode n) {}
+    default void visit(IfStmtNode n) {}
+    default void visit(IfElseStmtNode n) {}
+    default void visit(WhileStmtNode n) {}
+    default void visit(ReadStmtNode n) {}
+    default void visit(WriteStmtNode n) {}
+    default void visit(CallStmtNode n) {}
+    default void visit(ReturnStmtNode n) {}
+
+    // expressions
+    default void visit(TrueNode n) {}
+    default void visit(FalseNode n) {}
+    default void visit(IdNode n) {}
+    default void visit(IntLitNode n) {}
+    default void visit(StringLitNode n) {}
+    default void visit(DotAccessExpNode n) {}
+    default void visit(AssignExpNode n) {}
+    default void visit(CallExpNode n) {}
+
+    // unary expressions
+    default void visit(UnaryMinusNode n) {}
+    default void visit(NotNode n) {}
+
+    // binary expressions
+    default void visit(PlusNode n) {}
+    default void visit(MinusNode n) {}
+    default void visit(TimesNode n) {}
+    default void visit(DivideNode n) {}
+    default void visit(EqualsNode n) {}
+    default void visit(NotEqualsNode n) {}
+    default void visit(LessNode n) {}
+    default void visit(LessEqNode n) {}
+    default void visit(GreaterNode n) {}
+    default void visit(GreaterEqNode n) {}
+    default void visit(AndNode n) {}
+    default void visit(OrNode n) {}
+
+    // ---- called by a Walk after the children ----
+
+    // lists, program and function body
+    default void leave(ProgramNode n) {}
+    default void leave(DeclListNode n) {}
+    default void leave(StmtListNode n) {}
+    default void leave(ExpListNode n) {}
+    default void leave(FormalsListNode n) {}
+    default void leave(FnBodyNode n) {}
+
+    // declarations
+    default void leave(VarDeclNode n) {}
+    default void leave(FnDeclNode n) {}
+    default void leave(FormalDeclNode n) {}
+    default void leave(RecordDeclNode n) {}
+
+    // types
+    default void leave(RecordNode n) {}
+
+    // statements
+    default void leave(AssignStmtNode n) {}
+    default void leave(PostIncStmtNode n) {}
+    default void leave(PostDecStmtNode n) {}
+    default void leave(IfStmtNode n) {}
+    default void leave(IfElseStmtNode n) {}
+    default void leave(WhileStmtNode n) {}
+    default void leave(ReadStmtNode n) {}
+    default void leave(WriteStmtNode n) {}
+    default void leave(CallStmtNode n) {}
+    default void leave(ReturnStmtNode n) {}
+
+    // expressions
+    default void leave(DotAccessExpNode n) {}
+    default void leave(AssignExpNode n) {}
+    default void leave(CallExpNode n) {}
+
+    // unary expressions
+    default void leave(UnaryMinusNode n) {}
+    default void leave(NotNode n) {}
+
+    // binary expressions
+    default void leave(PlusNode n) {}
+    default void leave(MinusNode n) {}
+    default void leave(TimesNode n) {}
+    default void leave(DivideNode n) {}
+    default void leave(EqualsNode n) {}
+    default void leave(NotEqualsNode n) {}
+    default void leave(LessNode n) {}
+    default void leave(LessEqNode n) {}
+    default void leave(GreaterNode n) {}
+    default void leave(GreaterEqNode n) {}
+    default void leave(AndNode n) {}
+    default void leave(OrNode n) {}
+
+    // ---- called by a Walk between two children ----
+
+    // lists and function body
+    default void between(DeclListNode n, int child) {}
+    default void between(StmtListNode n, int child) {}
+    default void between(ExpListNode n, int child) {}
+    default void between(FormalsListNode n, int child) {}
+    default void between(FnBodyNode n, int child) {}
+
+    // declarations
+    default void between(VarDeclNode n, int child) {}
+    default void between(FnDeclNode n, int child) {}
+    default void between(FormalDeclNode n, int child) {}
+    default void between(RecordDeclNode n, int child) {}
+
+    // statements
+    default void between(IfStmtNode n, int child) {}
+    default void between(IfElseStmtNode n, int child) {}
+    default void between(WhileStmtNode n, int child) {}
+
+    // expressions
+    default void between(DotAccessExpNode n, int child) {}
+    default void between(AssignExpNode n, int child) {}
+    default void between(CallExpNode n, int child) {}
+
+    // binary expressions
+    default void between(PlusNode n, int child) {}
+    default void between(MinusNode n, int child) {}
+    default void between(TimesNode n, int child) {}
+    default void between(DivideNode n, int child) {}
+    default void between(EqualsNode n, int child) {}
+    default void between(NotEqualsNode n, int child) {}
+    default void between(LessNode n, int child) {}
+    default void between(LessEqNode n, int child) {}
+    default void between(GreaterNode n, int child) {}
+    default void between(GreaterEqNode n, int child) {}
+    default void between(AndNode n, int child) {}
+    default void between(OrNode n, int child) {}
+}
@@ -0,0 +1,61 @@
+import java.io.*;
+
+/****
+ * Benchmark: name analysis with the access-path cache and without it.
+ *
+ * Usage: java AccessPathBench [functions [paths [rounds]]]
+ *
+ * Generates a record-heavy program with BenchProgram: that many functions
+ * (default 300) with `paths` statements of chained dot-accesses per block
+ * (default 8).  Each round parses the program twice.  One copy is
+ * name-analyzed with an AccessPathCache and the other without one, so
+ * that every chain is resolved link by link.  The parses are not timed,
+ * and the heap is collected before each analysis.  After rounds rounds
+ * (default 10) it prints the fastest analysis each way, and the cache's
+ * hits and misses in one analysis.
+ ****/
+
+public class AccessPathBench {
+    public static void main(String[] args) throws Exception {
+        int functions = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int paths = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        String program = BenchProgram.generate(functions, paths);
+
+        long cachedNs = Long.MAX_VALUE;
+        long uncachedNs = Long.MAX_VALUE;
+        AccessPathCache cache = null;
+        for (int round = 0; round < rounds; round++) {
+            cache = new AccessPathCache();
+            cachedNs = Math.min(cachedNs, analyze(program, cache));
+            uncachedNs = Math.min(uncachedNs, analyze(program, null));
+        }
+
+        System.out.println(functions + " functions, " + paths +
+                           " access-path statements per block, best of " +
+                           rounds + " rounds");
+        System.out.printf("with cache      %6.2f ms  (%s)%n",
+                          cachedNs / 1e6, cache);
+        System.out.printf("without cache   %6.2f ms%n", uncachedNs / 1e6);
+    }
+
+    // parses program and returns the time to name-analyze it with cache
+    private static long analyze(String program, AccessPathCache cache)
+        throws Exception {
+        Diagnostics diag = new Diagnostics();
+        parser P = new parser(new Yylex(new StringReader(program), diag));
+        P.setDiagnostics(diag);
+        ProgramNode root = (ProgramNode)P.parse().value;
+
+        // so that collecting the parse's garbage is not timed
+        System.gc();
+        long start = System.nanoTime();
+        root.nameAnalysis(diag, cache);
+        long time = System.nanoTime() - start;
+
+        if (diag.hasErrors()) {
+            throw new IllegalStateException("generated program has errors");
+        }
+        return time;
+    }
+}
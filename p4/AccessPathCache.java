@@ -0,0 +1,135 @@
+import java.util.*;
+
+/**
+ * AccessPathCache
+ *
+ * Remembers how chained dot-accesses such as a.b.c.d resolved, keyed on the
+ * symbol of the root identifier and the sequence of field ids.  Records are
+ * frozen once analyzed, so a path that resolved once resolves the same way
+ * every time it is seen again with the same root symbol.  Only paths that
+ * resolved without error are stored.
+ *
+ * The cache is meant to be cleared at the start of each function; the hit
+ * and miss counters are kept across clears.
+ */
+class AccessPathCache {
+    private Entry[] table = new Entry[64];
+    private int size = 0;
+    private int hits = 0;
+    private int misses = 0;
+    private int[] idBuffer = new int[8];
+
+    /**
+     * Returns an array of at least len ints, for the caller to fill with a
+     * path's field ids before calling find or add.  The same array is
+     * returned every time, so looking a path up allocates nothing.
+     */
+    int[] idBuffer(int len) {
+        if (idBuffer.length < len) {
+            idBuffer = new int[Math.max(len, 2 * idBuffer.length)];
+        }
+        return idBuffer;
+    }
+
+    /**
+     * Returns the entry for the path, or null (counted as a miss).
+     * Only the first len elements of ids are used.
+     */
+    Entry find(Sym root, int[] ids, int len) {
+        int h = hash(root, ids, len);
+        for (Entry e = table[h & (table.length - 1)]; e != null; e = e.next) {
+            if (e.hash == h && e.root == root && e.ids.length == len &&
+                sameIds(e.ids, ids, len)) {
+                hits++;
+                return e;
+            }
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Stores the resolution of a path: for each link, innermost first, the
+     * index of the field in its record and the field's symbol.
+     */
+    void add(Sym root, int[] ids, int len, int[] indices, Sym[] fields) {
+        if (2 * size >= table.length) {
+            rehash();
+        }
+        int h = hash(root, ids, len);
+        int b = h & (table.length - 1);
+        table[b] = new Entry(root, Arrays.copyOf(ids, len), h,
+                             Arrays.copyOf(indices, len),
+                             Arrays.copyOf(fields, len), table[b]);
+        size++;
+    }
+
+    void clear() {
+        if (size > 0) {
+            Arrays.fill(table, null);
+            size = 0;
+        }
+    }
+
+    int getHits() {
+        return hits;
+    }
+
+    int getMisses() {
+        return misses;
+    }
+
+    public String toString() {
+        return "access paths: " + hits + " hits, " + misses + " misses";
+    }
+
+    private void rehash() {
+        Entry[] old = table;
+        table = new Entry[old.length * 2];
+        for (Entry e : old) {
+            while (e != null) {
+                Entry next = e.next;
+                int b = e.hash & (table.length - 1);
+                e.next = table[b];
+                table[b] = e;
+                e = next;
+            }
+        }
+    }
+
+    private static int hash(Sym root, int[] ids, int len) {
+        int h = System.identityHashCode(root);
+        for (int i = 0; i < len; i++) {
+            h = 31 * h + ids[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean sameIds(int[] a, int[] b, int len) {
+        for (int i = 0; i < len; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static class Entry {
+        final Sym root;
+        final int[] ids;
+        final int hash;
+        final int[] indices;    // field index of each link, innermost first
+        final Sym[] fields;     // field symbol of each link, innermost first
+        Entry next;
+
+        Entry(Sym root, int[] ids, int hash, int[] indices, Sym[] fields,
+              Entry next) {
+            this.root = root;
+            this.ids = ids;
+            this.hash = hash;
+            this.indices = indices;
+            this.fields = fields;
+            this.next = next;
+        }
+    }
+}
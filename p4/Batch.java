@@ -0,0 +1,157 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/****
+ * Batch driver: compiles many brevis files in one JVM, in parallel.
+ *
+ * Usage: java Batch [-j threads] [-d outdir] file-or-directory ...
+ *
+ * A directory stands for every .brevis file under it.  Each file x.brevis
+ * is unparsed to x.out, next to the input, or if outdir is given, in
+ * outdir at the file's path relative to the directory it was found in.
+ * Its error and warning messages go to x.err, which is only written when
+ * there are some.  Two inputs may not have the same output file.  One
+ * summary line per file is printed in the order the files were given.
+ * The -Dbrevis.* properties apply to every file, as for P4.
+ *
+ * The exit status is 0 if every file compiled cleanly and 1 otherwise.
+ ****/
+
+public class Batch {
+    public static void main(String[] args) throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        File outDir = null;
+        List<String> roots = new ArrayList<String>();
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-j") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-d") && i + 1 < args.length) {
+                outDir = new File(args[++i]);
+            } else {
+                roots.add(args[i]);
+            }
+        }
+
+        // each input, and the directory its output goes in
+        List<File> inputs = new ArrayList<File>();
+        List<File> dirs = new ArrayList<File>();
+        for (String root : roots) {
+            addInputs(new File(root), outDir, inputs, dirs);
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("usage: java Batch [-j threads] [-d outdir] " +
+                               "file-or-directory ...");
+            System.exit(-1);
+        }
+
+        // compiles writing the same output file would overwrite each other
+        Map<File, File> outputs = new HashMap<File, File>();
+        for (int i = 0; i < inputs.size(); i++) {
+            File out = new File(dirs.get(i), baseName(inputs.get(i)) + ".out")
+                           .toPath().toAbsolutePath().normalize().toFile();
+            File other = outputs.put(out, inputs.get(i));
+            if (other != null) {
+                System.err.println(other + " and " + inputs.get(i) +
+                                   " would both be compiled into " + out);
+                System.exit(-1);
+            }
+        }
+        for (File dir : new HashSet<File>(dirs)) {
+            dir.mkdirs();
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<String>> results = new ArrayList<Future<String>>();
+        for (int i = 0; i < inputs.size(); i++) {
+            File in = inputs.get(i);
+            File dir = dirs.get(i);
+            results.add(pool.submit(() -> compile(in, dir)));
+        }
+
+        boolean ok = true;
+        for (int i = 0; i < inputs.size(); i++) {
+            String status;
+            try {
+                status = results.get(i).get();
+            } catch (ExecutionException ex) {
+                status = "failed: " + ex.getCause();
+            }
+            if (!status.equals("ok")) {
+                ok = false;
+            }
+            System.out.println(inputs.get(i) + ": " + status);
+        }
+        pool.shutdown();
+        System.exit(ok ? 0 : 1);
+    }
+
+    // compiles one file on the calling thread and returns its summary
+    private static String compile(File in, File dir) throws IOException {
+        String base = baseName(in);
+        File out = new File(dir, base + ".out");
+        File errFile = new File(dir, base + ".err");
+
+        ByteArrayOutputStream errBytes = new ByteArrayOutputStream();
+        PrintStream err = new PrintStream(errBytes);
+        PrintStream quiet = new PrintStream(OutputStream.nullOutputStream());
+
+        Compilation c = new Compilation(in, out);
+        int status = c.run(quiet, err);
+        err.flush();
+
+        if (errBytes.size() > 0) {
+            try (OutputStream f = new FileOutputStream(errFile)) {
+                errBytes.writeTo(f);
+            }
+        } else {
+            errFile.delete();
+        }
+
+        if (status != 0) {
+            return "failed";
+        }
+        return c.hasErrors() ? "errors" : "ok";
+    }
+
+    // the name of in without its .brevis extension
+    private static String baseName(File in) {
+        String base = in.getName();
+        if (base.endsWith(".brevis")) {
+            base = base.substring(0, base.length() - ".brevis".length());
+        }
+        return base;
+    }
+
+    // adds f, or the .brevis files under it, to inputs, and the directory
+    // each one's output goes in to dirs
+    private static void addInputs(File f, File outDir, List<File> inputs,
+                                  List<File> dirs) throws IOException {
+        if (!f.isDirectory()) {
+            inputs.add(f);
+            dirs.add(outDir != null ? outDir
+                                    : f.getAbsoluteFile().getParentFile());
+            return;
+        }
+        Path root = f.toPath();
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.filter(p -> p.toString().endsWith(".brevis"))
+                 .sorted()
+                 .forEach(p -> {
+                     inputs.add(p.toFile());
+                     if (outDir == null) {
+                         dirs.add(p.toFile().getAbsoluteFile()
+                                   .getParentFile());
+                     } else {
+                         Path rel = root.relativize(p).getParent();
+                         dirs.add(rel == null ? outDir
+                                              : new File(outDir,
+                                                         rel.toString()));
+                     }
+                 });
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/****
+ * Generates large brevis programs for the benchmarks.
+ *
+ * Usage: java BenchProgram functions [paths]
+ *
+ * Prints a program with that many functions.  The same program can then
+ * be compiled by any build of P4 (for example, with -Dbrevis.stats) for a
+ * before-and-after comparison.
+ *
+ * The program declares records R0 .. R19, each Rn holding an Rn-1 named
+ * inner, and a global R19 named top.  Function fn takes n % 5 integer
+ * parameters.  Its body nests 1 + n % 12 alternating if and while
+ * statements.  Each block declares a local, assigns to it, increments,
+ * calls the previous function, scans and prints.  It also has `paths`
+ * copies (default 1) of a statement that reads and writes chained
+ * dot-accesses:
+ *
+ *   rec.inner.inner.a = rec.inner.a + top.inner.inner.inner.b;
+ *
+ * The program has no errors.  With 3000 functions it is about 170k lines.
+ ****/
+
+public class BenchProgram {
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("usage: java BenchProgram functions [paths]");
+            System.exit(-1);
+        }
+        int functions = Integer.parseInt(args[0]);
+        int paths = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        System.out.print(generate(functions, paths));
+    }
+
+    /**
+     * Returns the program with the given number of functions and of
+     * dot-access statements per block.
+     */
+    static String generate(int functions, int paths) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("record R0 (\n    integer a;\n    boolean b;\n);\n");
+        for (int r = 1; r < 20; r++) {
+            sb.append("record R").append(r).append(" (\n    integer a;\n")
+              .append("    record R").append(r - 1).append(" inner;\n")
+              .append("    boolean b;\n);\n");
+        }
+        sb.append("record R19 top;\ninteger g;\nboolean gb;\n");
+
+        for (int f = 0; f < functions; f++) {
+            sb.append("integer f").append(f).append('(');
+            for (int i = 0; i < f % 5; i++) {
+                sb.append(i > 0 ? ", " : "").append("integer p").append(i);
+            }
+            sb.append(") {\n    integer x;\n    record R5 rec;\n");
+
+            int depth = 1 + f % 12;
+            String ind = "    ";
+            for (int d = 0; d < depth; d++) {
+                sb.append(ind).append(d % 2 == 0 ? "if (x < " : "while (x > ")
+                  .append(d).append(") {\n");
+                ind += "    ";
+                sb.append(ind).append("integer y").append(d).append(";\n");
+                sb.append(ind).append('y').append(d).append(" = x + ")
+                  .append(d).append(" * (g - ").append(d)
+                  .append(") / 2;\n");
+                for (int p = 0; p < paths; p++) {
+                    sb.append(ind).append("rec.inner.inner.a = rec.inner.a + ")
+                      .append("top.inner.inner.inner.b;\n");
+                }
+                sb.append(ind).append("x++;\n");
+                if (f > 0) {
+                    sb.append(ind).append('f').append(f - 1).append('(');
+                    for (int i = 0; i < (f - 1) % 5; i++) {
+                        sb.append(i > 0 ? ", " : "").append('x');
+                    }
+                    sb.append(");\n");
+                }
+                sb.append(ind).append("print <- \"s\\n\"; scan -> x; ")
+                  .append("gb = \\gb && true || false == (x \\= -1);\n");
+            }
+            for (int d = 0; d < depth; d++) {
+                ind = ind.substring(4);
+                sb.append(ind).append('}');
+                if (d == depth - 1 && f % 2 == 1) {
+                    sb.append(" else { return 3; }");
+                }
+                sb.append('\n');
+            }
+            sb.append("    return x;\n}\n");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,201 @@
+import java.io.*;
+import java_cup.runtime.*;
+
+/**
+ * Compilation
+ *
+ * One run of the whole pipeline -- scan, parse, name analysis and unparse --
+ * from one input file to one output file.  Its state lives in the instance
+ * or, for IdPool, in the thread that calls run, so separate Compilations
+ * can run at the same time on separate threads.  Each run interns names
+ * into a new IdPool, which is dropped when the run ends, so a thread that
+ * runs one Compilation after another does not accumulate their names.
+ * Errors and warnings are collected in a Diagnostics and printed together
+ * when the run ends.
+ *
+ * The -Dbrevis.* system properties choose the mode, as described in P4.
+ */
+class Compilation {
+    private File inFile;
+    private File outFile;
+    private Diagnostics diag = new Diagnostics();
+
+    public Compilation(File inFile, File outFile) {
+        this.inFile = inFile;
+        this.outFile = outFile;
+    }
+
+    /**
+     * Runs the pipeline on the current thread.  Progress messages go to out
+     * and errors to err.  Returns 0 if the program was parsed (whether or
+     * not name analysis found errors) and -1 if a file could not be opened
+     * or there was a syntax error.  After a syntax error that the parser
+     * recovered from, what was parsed is still name-analyzed, so that its
+     * errors are reported too.
+     */
+    public int run(PrintStream out, PrintStream err) throws IOException {
+        IdPool outer = IdPool.begin();
+        try {
+            return runWithPool(out, err);
+        } finally {
+            IdPool.end(outer);
+        }
+    }
+
+    private int runWithPool(PrintStream out, PrintStream err)
+        throws IOException {
+        diag = new Diagnostics();
+
+        // open input file; -Dbrevis.wholefile reads all of it into one
+        // array up front and lexes that in place, and -Dbrevis.mapinput
+        // does the same but decodes from a memory mapping of the file
+        FileReader in = null;
+        Yylex scanner = null;
+        try {
+            if (System.getProperty("brevis.mapinput") != null) {
+                scanner = new Yylex(SourceText.map(inFile), diag);
+            } else if (System.getProperty("brevis.wholefile") != null) {
+                scanner = new Yylex(SourceText.read(inFile), diag);
+            } else {
+                in = new FileReader(inFile);
+                scanner = new Yylex(in, diag);
+            }
+        } catch (FileNotFoundException ex) {
+            err.println("file " + inFile + " not found");
+            return -1;
+        }
+
+        // open output file
+        FileOutputStream outStream = null;
+        try {
+            outStream = new FileOutputStream(outFile);
+        } catch (FileNotFoundException ex) {
+            err.println("file " + outFile +
+                        " could not be opened for writing");
+            if (in != null) {
+                in.close();
+            }
+            return -1;
+        }
+
+        try {
+            parser P = new parser(scanner);
+            P.setDiagnostics(diag);
+            return run(P, outStream, out, err);
+        } finally {
+            diag.flush(err);
+            if (in != null) {
+                in.close();
+            }
+            outStream.close();
+        }
+    }
+
+    /**
+     * Returns true if the last run reported a fatal error.
+     */
+    public boolean hasErrors() {
+        return diag.hasErrors();
+    }
+
+    private int run(parser P, FileOutputStream outStream, PrintStream out,
+                    PrintStream err) throws IOException {
+        // -Dbrevis.stream analyzes and unparses each top-level declaration
+        // as soon as it is parsed
+        DeclStream stream = null;
+        if (System.getProperty("brevis.stream") != null) {
+            stream = new DeclStream(outFile, diag);
+            P.setDeclStream(stream);
+        }
+
+        // -Dbrevis.compact keeps the program as a FlatAST while parsing
+        FlatAST flat = null;
+        if (stream == null && System.getProperty("brevis.compact") != null) {
+            flat = new FlatAST();
+            P.setFlatAST(flat);
+        }
+
+        Symbol root = null; // the parser will return a Symbol whose value
+                            // field is the translation of the root nonterminal
+                            // (i.e., of the nonterminal "program")
+
+        try {
+            root = P.parse(); // do the parse
+            if (P.getSyntaxErrorCount() == 0) {
+                out.println ("program parsed correctly");
+            }
+        } catch (parser.SyntaxError ex) {
+            // already reported
+            if (stream != null) {
+                outStream.close();
+                stream.finish();
+            }
+            return -1;
+        } catch (Exception ex){
+            err.println("exception occured during parse: " + ex);
+            if (stream != null) {
+                outStream.close();
+                stream.finish();
+            }
+            return -1;
+        }
+
+        // syntax errors have been reported, but the parser recovered
+        int result = P.getSyntaxErrorCount() == 0 ? 0 : -1;
+
+        // -Dbrevis.stats prints memory and name-analysis statistics
+        boolean stats = System.getProperty("brevis.stats") != null;
+
+        if (stream != null) {
+            outStream.close();
+            stream.finish();
+            if (stats) {
+                err.println(stream.getDeclCount() +
+                            " declarations streamed, " +
+                            stream.getAccessPathCache());
+            }
+            return result;
+        }
+
+        if (flat != null) {
+            flat.trim();
+        }
+
+        if (stats) {
+            Runtime rt = Runtime.getRuntime();
+            System.gc();
+            err.println("heap after parse: " +
+                        (rt.totalMemory() - rt.freeMemory()) / 1024 +
+                        " KB" + (flat == null ? "" :
+                        ", flat AST " + flat.getNodeCount() +
+                        " nodes in " + flat.footprint() / 1024 + " KB"));
+        }
+
+        // the unparsed program is built in memory and written out at once
+        UnparseWriter unparsed = new UnparseWriter();
+
+        if (flat != null) {
+            flat.analyzeAndUnparse(unparsed, diag);
+        } else {
+            // name analysis and unparse run in one walk of the tree; the
+            // text is dropped if analysis reports an error
+            ((ProgramNode)root.value).nameAnalysisAndUnparse(diag, unparsed);
+            if (diag.hasErrors()) {
+                unparsed.reset();
+            }
+
+            if (stats) {
+                err.println(((ProgramNode)root.value).getAccessPathCache());
+            }
+        }
+
+        // -Dbrevis.mmap writes the output file through a mapped buffer
+        if (System.getProperty("brevis.mmap") != null) {
+            outStream.close();
+            unparsed.writeMapped(outFile);
+        } else {
+            unparsed.writeTo(outStream);
+        }
+        return result;
+    }
+}
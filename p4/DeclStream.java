@@ -0,0 +1,101 @@
+import java.io.*;
+import java.nio.file.*;
+
+/**
+ * DeclStream
+ *
+ * Streaming pipeline for -Dbrevis.stream.  The parser hands each top-level
+ * declaration to addDecl as soon as it has been parsed; the declaration is
+ * name-analyzed against one SymTab shared by the whole program, unparsed
+ * into a buffer, and then dropped, so the AST is never held in full.
+ *
+ * Output is all-or-nothing.  Once the buffer grows past a threshold it is
+ * spilled to a temporary file next to the output file; finish() moves that
+ * file into place only if no fatal error was reported.  If an error is
+ * reported, or the program exits early on a syntax error, the temporary
+ * file is deleted and the output file is left as it was (empty).
+ */
+class DeclStream {
+    private static final int SPILL_CHARS = 1 << 20;
+
+    private File outFile;
+    private Diagnostics diag;
+    private SymTab symtab = new SymTab();
+    private AccessPathCache accessPaths = new AccessPathCache();
+    private UnparseWriter buffer = new UnparseWriter();
+    private File spill = null;          // created on first spill
+    private OutputStream spillOut = null;
+    private int declCount = 0;
+
+    public DeclStream(File outFile, Diagnostics diag) {
+        this.outFile = outFile;
+        this.diag = diag;
+        symtab.setDiagnostics(diag);
+        symtab.setAccessPathCache(accessPaths);
+    }
+
+    /**
+     * Analyzes one top-level declaration and, while no fatal error has
+     * been reported, appends its unparsed form to the output.
+     */
+    public void addDecl(DeclNode d) throws IOException {
+        declCount++;
+        d.nameAnalysis(symtab, symtab);
+        if (diag.hasErrors()) {
+            discard();
+            return;
+        }
+        d.unparse(buffer, 0);
+        if (buffer.length() >= SPILL_CHARS) {
+            if (spillOut == null) {
+                spill = File.createTempFile("brevis", ".tmp",
+                                            outFile.getAbsoluteFile()
+                                                   .getParentFile());
+                spill.deleteOnExit();
+                spillOut = new FileOutputStream(spill);
+            }
+            buffer.writeTo(spillOut);
+            buffer.reset();
+        }
+    }
+
+    /**
+     * Completes the output: writes it to the output file if no fatal error
+     * was reported, and otherwise leaves the output file untouched.
+     */
+    public void finish() throws IOException {
+        if (diag.hasErrors()) {
+            discard();
+            return;
+        }
+        if (spillOut == null) {
+            try (OutputStream out = new FileOutputStream(outFile)) {
+                buffer.writeTo(out);
+            }
+        } else {
+            buffer.writeTo(spillOut);
+            spillOut.close();
+            spillOut = null;
+            Files.move(spill.toPath(), outFile.toPath(),
+                       StandardCopyOption.REPLACE_EXISTING);
+        }
+        buffer.reset();
+    }
+
+    public int getDeclCount() {
+        return declCount;
+    }
+
+    public AccessPathCache getAccessPathCache() {
+        return accessPaths;
+    }
+
+    private void discard() throws IOException {
+        buffer.reset();
+        if (spillOut != null) {
+            spillOut.close();
+            spillOut = null;
+            spill.delete();
+        }
+    }
+}
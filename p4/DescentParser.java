@@ -0,0 +1,553 @@
+import java.util.*;
+import java_cup.runtime.*;
+
+/**
+ * DescentParser
+ *
+ * A hand-written parser for brevis, used for -Dbrevis.descent and by
+ * IncrementalCompilation, which parses one declaration at a time.
+ * Statements and declarations are parsed by recursive descent, one method
+ * per nonterminal of brevis.cup, and expressions by precedence climbing (a
+ * Pratt parser).  It builds the same AST as the actions in brevis.cup and
+ * takes its tokens, its streaming or compact mode and its error reporting
+ * from the CUP parser it is given.
+ *
+ * The expression parser follows the precedence declarations in brevis.cup:
+ *   ASSIGN                      right, lowest
+ *   OR
+ *   AND
+ *   EQUALS ... GREATEREQ        nonassoc
+ *   PLUS MINUS (binary, unary)  left
+ *   TIMES DIVIDE                left
+ *   NOT                         right, highest
+ * An assignment can only start at a loc, so it is parsed where a loc is
+ * found, and its right-hand side runs to the end of the expression.  A
+ * second comparison right after a first one at the same level is a syntax
+ * error, as it is for CUP.
+ *
+ * A syntax error is reported at the first token that cannot continue the
+ * program, which is the token CUP's parser reports.  The parse then goes on
+ * in panic mode: a bad statement is skipped through its SEMICOLON, or its
+ * block if it has one, and a bad declaration through a SEMICOLON or RCURLY
+ * that is followed by the start of a declaration.  Errors after the first
+ * one may differ from CUP's, whose error productions resynchronize on the
+ * same tokens but by trying the parse ahead.  A syntax error at the end of
+ * the file ends the parse.
+ */
+class DescentParser {
+    // binding levels, loosest first
+    private static final int OR_LEVEL = 1;
+    private static final int AND_LEVEL = 2;
+    private static final int COMPARE_LEVEL = 3;
+    private static final int ADD_LEVEL = 4;
+    private static final int MULTIPLY_LEVEL = 5;
+    private static final int NOT_LEVEL = 6;
+
+    // level of each binary operator, indexed by token kind (brevis has
+    // fewer than 64 terminals); 0 for any other token
+    private static final int[] binaryLevel = new int[64];
+
+    static {
+        binaryLevel[sym.OR] = OR_LEVEL;
+        binaryLevel[sym.AND] = AND_LEVEL;
+        binaryLevel[sym.EQUALS] = COMPARE_LEVEL;
+        binaryLevel[sym.NOTEQUALS] = COMPARE_LEVEL;
+        binaryLevel[sym.LESS] = COMPARE_LEVEL;
+        binaryLevel[sym.GREATER] = COMPARE_LEVEL;
+        binaryLevel[sym.LESSEQ] = COMPARE_LEVEL;
+        binaryLevel[sym.GREATEREQ] = COMPARE_LEVEL;
+        binaryLevel[sym.PLUS] = ADD_LEVEL;
+        binaryLevel[sym.MINUS] = ADD_LEVEL;
+        binaryLevel[sym.TIMES] = MULTIPLY_LEVEL;
+        binaryLevel[sym.DIVIDE] = MULTIPLY_LEVEL;
+    }
+
+    // thrown by error to unwind to the enclosing statement or declaration
+    private static final Recovery RECOVERY = new Recovery();
+
+    private parser p;
+    private Symbol tok;     // the current token
+    private int kind;       // and its kind, tok.sym
+    private Symbol last;    // the token before it
+
+    public DescentParser(parser p) {
+        this.p = p;
+    }
+
+    /**
+     * Parses the parser's input.  Returns a Symbol whose value is the
+     * ProgramNode, as parser.parse does.
+     */
+    public Symbol parse() throws Exception {
+        start();
+        return new Symbol(0, program());
+    }
+
+    /**
+     * Reads the first token, for a parse that is driven one declaration
+     * at a time by nextDecl rather than by parse.
+     */
+    void start() throws Exception {
+        advance();
+    }
+
+    /**
+     * Returns true if the whole input has been parsed.
+     */
+    boolean atEnd() {
+        return kind == sym.EOF;
+    }
+
+    /**
+     * Parses one top-level declaration.  Returns null if it had a syntax
+     * error and was skipped.
+     */
+    DeclNode nextDecl() throws Exception {
+        try {
+            return decl();
+        } catch (Recovery ex) {
+            skipDecl();
+            return null;
+        }
+    }
+
+    /**
+     * Returns the last token taken from the input before the current one.
+     * After nextDecl, that is the SEMICOLON or RCURLY that ends the
+     * declaration, or that its recovery skipped through.
+     */
+    Symbol lastToken() {
+        return last;
+    }
+
+    private ProgramNode program() throws Exception {
+        ArrayList<DeclNode> list = new ArrayList<DeclNode>();
+        while (kind != sym.EOF) {
+            DeclNode d = nextDecl();
+            if (d == null) {
+                continue;
+            }
+            if (p.stream != null) {
+                p.stream.addDecl(d);
+            } else if (p.flat != null) {
+                p.flat.addDecl(d);
+            } else {
+                list.add(d);
+            }
+        }
+        return new ProgramNode(new DeclListNode(list));
+    }
+
+    private DeclNode decl() throws Exception {
+        if (kind == sym.RECORD) {
+            advance();
+            IdNode first = id();
+            if (kind != sym.LPAREN) {
+                IdNode second = id();
+                expect(sym.SEMICOLON);
+                return new VarDeclNode(new RecordNode(first), second, 0);
+            }
+            advance();
+            ArrayList<DeclNode> body = new ArrayList<DeclNode>();
+            do {
+                body.add(varDecl());
+            } while (startsVarDecl());
+            expect(sym.RPAREN);
+            expect(sym.SEMICOLON);
+            return new RecordDeclNode(first, new DeclListNode(body));
+        }
+
+        TypeNode t = type();
+        IdNode i = id();
+        if (kind == sym.SEMICOLON) {
+            advance();
+            return new VarDeclNode(t, i, VarDeclNode.NON_RECORD);
+        }
+        if (kind != sym.LPAREN) {
+            error();
+        }
+        return new FnDeclNode(t, i, new FormalsListNode(formals()), fnBody());
+    }
+
+    private boolean startsVarDecl() {
+        return kind == sym.BOOL || kind == sym.INT || kind == sym.VOID ||
+               kind == sym.RECORD;
+    }
+
+    private ArrayList<DeclNode> varDeclList() throws Exception {
+        ArrayList<DeclNode> list = new ArrayList<DeclNode>();
+        while (startsVarDecl()) {
+            list.add(varDecl());
+        }
+        return list;
+    }
+
+    private VarDeclNode varDecl() throws Exception {
+        if (kind == sym.RECORD) {
+            advance();
+            IdNode t = id();
+            IdNode i = id();
+            expect(sym.SEMICOLON);
+            return new VarDeclNode(new RecordNode(t), i, 0);
+        }
+        TypeNode t = type();
+        IdNode i = id();
+        expect(sym.SEMICOLON);
+        return new VarDeclNode(t, i, VarDeclNode.NON_RECORD);
+    }
+
+    private ArrayList<FormalDeclNode> formals() throws Exception {
+        ArrayList<FormalDeclNode> list = new ArrayList<FormalDeclNode>();
+        expect(sym.LPAREN);
+        if (kind == sym.RPAREN) {
+            advance();
+            return list;
+        }
+        list.add(new FormalDeclNode(type(), id()));
+        while (kind == sym.COMMA) {
+            advance();
+            list.add(new FormalDeclNode(type(), id()));
+        }
+        expect(sym.RPAREN);
+        return list;
+    }
+
+    private FnBodyNode fnBody() throws Exception {
+        expect(sym.LCURLY);
+        DeclListNode decls = new DeclListNode(varDeclList());
+        StmtListNode stmts = new StmtListNode(stmtList());
+        expect(sym.RCURLY);
+        return new FnBodyNode(decls, stmts);
+    }
+
+    private ArrayList<StmtNode> stmtList() throws Exception {
+        ArrayList<StmtNode> list = new ArrayList<StmtNode>();
+        while (kind == sym.ID || kind == sym.IF || kind == sym.WHILE ||
+               kind == sym.SCAN || kind == sym.PRINT || kind == sym.RETURN) {
+            try {
+                list.add(stmt());
+            } catch (Recovery ex) {
+                skipStmt();
+            }
+        }
+        return list;
+    }
+
+    private StmtNode stmt() throws Exception {
+        ExpNode e;
+        switch (kind) {
+        case sym.IF: {
+            advance();
+            e = exp(OR_LEVEL);
+            expect(sym.LCURLY);
+            DeclListNode thenDecls = new DeclListNode(varDeclList());
+            StmtListNode thenStmts = new StmtListNode(stmtList());
+            expect(sym.RCURLY);
+            if (kind != sym.ELSE) {
+                return new IfStmtNode(e, thenDecls, thenStmts);
+            }
+            advance();
+            expect(sym.LCURLY);
+            DeclListNode elseDecls = new DeclListNode(varDeclList());
+            StmtListNode elseStmts = new StmtListNode(stmtList());
+            expect(sym.RCURLY);
+            return new IfElseStmtNode(e, thenDecls, thenStmts,
+                                      elseDecls, elseStmts);
+        }
+
+        case sym.WHILE: {
+            advance();
+            e = exp(OR_LEVEL);
+            expect(sym.LCURLY);
+            DeclListNode decls = new DeclListNode(varDeclList());
+            StmtListNode stmts = new StmtListNode(stmtList());
+            expect(sym.RCURLY);
+            return new WhileStmtNode(e, decls, stmts);
+        }
+
+        case sym.SCAN:
+            advance();
+            expect(sym.READ);
+            e = loc(id());
+            expect(sym.SEMICOLON);
+            return new ReadStmtNode(e);
+
+        case sym.PRINT:
+            advance();
+            expect(sym.WRITE);
+            e = exp(OR_LEVEL);
+            expect(sym.SEMICOLON);
+            return new WriteStmtNode(e);
+
+        case sym.RETURN:
+            advance();
+            e = null;
+            if (kind != sym.SEMICOLON) {
+                e = exp(OR_LEVEL);
+            }
+            expect(sym.SEMICOLON);
+            return new ReturnStmtNode(e);
+
+        case sym.ID: {
+            IdNode i = id();
+            if (kind == sym.LPAREN) {
+                CallExpNode call = fncall(i);
+                expect(sym.SEMICOLON);
+                return new CallStmtNode(call);
+            }
+            e = loc(i);
+            StmtNode s;
+            if (kind == sym.ASSIGN) {
+                advance();
+                s = new AssignStmtNode(new AssignExpNode(e, exp(OR_LEVEL)));
+            } else if (kind == sym.PLUSPLUS) {
+                advance();
+                s = new PostIncStmtNode(e);
+            } else if (kind == sym.MINUSMINUS) {
+                advance();
+                s = new PostDecStmtNode(e);
+            } else {
+                error();
+                return null;
+            }
+            expect(sym.SEMICOLON);
+            return s;
+        }
+
+        default:
+            error();
+            return null;
+        }
+    }
+
+    /**
+     * Parses an expression whose binary operators all bind at least as
+     * tightly as minLevel.
+     */
+    private ExpNode exp(int minLevel) throws Exception {
+        ExpNode left = operand();
+        int level;
+        while ((level = binaryLevel[kind]) >= minLevel && level > 0) {
+            int op = kind;
+            advance();
+            ExpNode right = exp(level + 1);
+            switch (op) {
+            case sym.OR:        left = new OrNode(left, right); break;
+            case sym.AND:       left = new AndNode(left, right); break;
+            case sym.EQUALS:    left = new EqualsNode(left, right); break;
+            case sym.NOTEQUALS: left = new NotEqualsNode(left, right); break;
+            case sym.LESS:      left = new LessNode(left, right); break;
+            case sym.GREATER:   left = new GreaterNode(left, right); break;
+            case sym.LESSEQ:    left = new LessEqNode(left, right); break;
+            case sym.GREATEREQ: left = new GreaterEqNode(left, right); break;
+            case sym.PLUS:      left = new PlusNode(left, right); break;
+            case sym.MINUS:     left = new MinusNode(left, right); break;
+            case sym.TIMES:     left = new TimesNode(left, right); break;
+            default:            left = new DivideNode(left, right); break;
+            }
+            if (level == COMPARE_LEVEL && binaryLevel[kind] == COMPARE_LEVEL) {
+                error();
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Parses a unary operator and its operand, a term, or an assignment.
+     */
+    private ExpNode operand() throws Exception {
+        Symbol t = tok;
+        switch (kind) {
+        case sym.NOT:
+            advance();
+            return new NotNode(exp(NOT_LEVEL));
+
+        case sym.MINUS:
+            advance();
+            return new UnaryMinusNode(exp(MULTIPLY_LEVEL));
+
+        case sym.TRUE:
+            advance();
+            return new TrueNode(((TokenVal)t.value).lineNum,
+                                ((TokenVal)t.value).charNum);
+
+        case sym.FALSE:
+            advance();
+            return new FalseNode(((TokenVal)t.value).lineNum,
+                                 ((TokenVal)t.value).charNum);
+
+        case sym.INTLITERAL: {
+            advance();
+            IntLitTokenVal i = (IntLitTokenVal)t.value;
+            return new IntLitNode(i.lineNum, i.charNum, i.intVal);
+        }
+
+        case sym.STRINGLITERAL: {
+            advance();
+            StrLitTokenVal s = (StrLitTokenVal)t.value;
+            return new StringLitNode(s.lineNum, s.charNum, s.strVal);
+        }
+
+        case sym.LPAREN: {
+            advance();
+            ExpNode e = exp(OR_LEVEL);
+            expect(sym.RPAREN);
+            return e;
+        }
+
+        case sym.ID: {
+            IdNode i = id();
+            if (kind == sym.LPAREN) {
+                return fncall(i);
+            }
+            ExpNode lc = loc(i);
+            if (kind == sym.ASSIGN) {
+                advance();
+                return new AssignExpNode(lc, exp(OR_LEVEL));
+            }
+            return lc;
+        }
+
+        default:
+            error();
+            return null;
+        }
+    }
+
+    // the rest of a call whose name, i, has been parsed
+    private CallExpNode fncall(IdNode i) throws Exception {
+        ArrayList<ExpNode> actuals = new ArrayList<ExpNode>();
+        expect(sym.LPAREN);
+        if (kind != sym.RPAREN) {
+            actuals.add(exp(OR_LEVEL));
+            while (kind == sym.COMMA) {
+                advance();
+                actuals.add(exp(OR_LEVEL));
+            }
+        }
+        expect(sym.RPAREN);
+        return new CallExpNode(i, new ExpListNode(actuals));
+    }
+
+    // the rest of a loc whose first id, i, has been parsed
+    private ExpNode loc(IdNode i) throws Exception {
+        ExpNode lc = i;
+        while (kind == sym.DOT) {
+            advance();
+            lc = new DotAccessExpNode(lc, id());
+        }
+        return lc;
+    }
+
+    private TypeNode type() throws Exception {
+        TypeNode t;
+        if (kind == sym.BOOL) {
+            t = new BoolNode();
+        } else if (kind == sym.INT) {
+            t = new IntNode();
+        } else if (kind == sym.VOID) {
+            t = new VoidNode();
+        } else {
+            error();
+            return null;
+        }
+        advance();
+        return t;
+    }
+
+    private IdNode id() throws Exception {
+        if (kind != sym.ID) {
+            error();
+        }
+        IdTokenVal i = (IdTokenVal)tok.value;
+        advance();
+        return new IdNode(i.lineNum, i.charNum, i.idNum);
+    }
+
+    private void expect(int k) throws Exception {
+        if (kind != k) {
+            error();
+        }
+        advance();
+    }
+
+    private void advance() throws Exception {
+        last = tok;
+        tok = p.scan();
+        kind = tok.sym;
+    }
+
+    // reports a syntax error at the current token and unwinds to the
+    // enclosing statement or declaration, or at the end of the file ends
+    // the parse
+    private void error() throws Exception {
+        p.syntax_error(tok);
+        if (kind == sym.EOF) {
+            p.unrecovered_syntax_error(tok);
+        }
+        throw RECOVERY;
+    }
+
+    // skips the rest of a statement with a syntax error: through its
+    // SEMICOLON, or through its block and any ELSE block; stops before the
+    // RCURLY that ends the enclosing block
+    private void skipStmt() throws Exception {
+        int depth = 0;
+        while (true) {
+            switch (kind) {
+            case sym.EOF:
+                p.unrecovered_syntax_error(tok);
+                return;
+
+            case sym.SEMICOLON:
+                advance();
+                if (depth == 0) {
+                    return;
+                }
+                break;
+
+            case sym.LCURLY:
+                depth++;
+                advance();
+                break;
+
+            case sym.RCURLY:
+                if (depth == 0) {
+                    return;
+                }
+                advance();
+                if (--depth == 0 && kind != sym.ELSE) {
+                    return;
+                }
+                break;
+
+            default:
+                advance();
+            }
+        }
+    }
+
+    // skips the rest of a declaration with a syntax error: through a
+    // SEMICOLON or RCURLY followed by the start of a declaration or the end
+    // of the file
+    private void skipDecl() throws Exception {
+        while (true) {
+            if (kind == sym.EOF) {
+                p.unrecovered_syntax_error(tok);
+                return;
+            }
+            boolean end = kind == sym.SEMICOLON || kind == sym.RCURLY;
+            advance();
+            if (end && (startsVarDecl() || kind == sym.EOF)) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class Recovery extends Exception {
+        Recovery() {
+            super(null, null, false, false);
+        }
+    }
+}
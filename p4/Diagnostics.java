@@ -0,0 +1,186 @@
+import java.io.*;
+import java.util.*;
+
+/**
+ * Diagnostics
+ *
+ * Collects the errors and warnings of one compilation.  The scanner, parser
+ * and name analysis all report into the same Diagnostics instead of
+ * printing, and the driver flushes it once at the end: messages come out
+ * sorted by position, with exact repeats dropped, in a single write.
+ *
+ * Each diagnostic is three ints in one array: line, column, and the message
+ * code shifted left one bit with the severity in the low bit.  A message
+ * code is the index of the message text in this instance's table of
+ * distinct texts.
+ */
+class Diagnostics {
+    static final int ERROR = 0;
+    static final int WARNING = 1;
+
+    private int[] data = new int[48];
+    private int count = 0;
+    private int errorCount = 0;
+
+    private List<String> texts = new ArrayList<String>();
+    private Map<String, Integer> codes = new HashMap<String, Integer>();
+
+    /**
+     * Reports a fatal error.
+     * @param lineNum line number for error location
+     * @param charNum character number (i.e., column) for error location
+     * @param msg associated message for error
+     */
+    public void error(int lineNum, int charNum, String msg) {
+        add(lineNum, charNum, ERROR, msg);
+        errorCount++;
+    }
+
+    /**
+     * Reports a warning.
+     * @param lineNum line number for warning location
+     * @param charNum character number (i.e., column) for warning location
+     * @param msg associated message for warning
+     */
+    public void warn(int lineNum, int charNum, String msg) {
+        add(lineNum, charNum, WARNING, msg);
+    }
+
+    /**
+     * Returns true if any error has been reported, flushed or not.
+     */
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Prints the diagnostics reported since the last flush to p, ordered by
+     * line and then column (in the order reported for equal positions),
+     * and forgets them.  Diagnostics at line 0, which mark the end of the
+     * file, come last.
+     */
+    public void flush(PrintStream p) {
+        if (count == 0) {
+            return;
+        }
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int c = Integer.compare(lineKey(data[3 * a]),
+                                    lineKey(data[3 * b]));
+            return c != 0 ? c : Integer.compare(data[3 * a + 1],
+                                                data[3 * b + 1]);
+        });
+
+        StringBuilder sb = new StringBuilder(count * 48);
+        int group = 0;      // where the current position's run starts
+        for (int k = 0; k < count; k++) {
+            int i = order[k];
+            if (k > 0 && (data[3 * i] != data[3 * order[k - 1]] ||
+                          data[3 * i + 1] != data[3 * order[k - 1] + 1])) {
+                group = k;
+            }
+            if (isRepeat(order, group, k)) {
+                continue;
+            }
+            int kind = data[3 * i + 2];
+            sb.append(data[3 * i]).append(':').append(data[3 * i + 1])
+              .append((kind & 1) == ERROR ? " ****ERROR**** "
+                                          : " ****WARNING**** ")
+              .append(texts.get(kind >>> 1))
+              .append(System.lineSeparator());
+        }
+        p.print(sb);
+        p.flush();
+        count = 0;
+    }
+
+    /**
+     * Reports again into other each diagnostic reported here, and not yet
+     * flushed, whose position is at or after from and before to.  from
+     * and to are values of Diagnostics.position(line, column).  In that
+     * order, diagnostics at line 0, which mark the end of the file, come
+     * after all others.
+     */
+    public void copyTo(Diagnostics other, long from, long to) {
+        for (int i = 0; i < count; i++) {
+            long pos = position(data[3 * i], data[3 * i + 1]);
+            if (pos >= from && pos < to) {
+                copy(i, other, data[3 * i], data[3 * i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Reports again into other each diagnostic reported here, and not yet
+     * flushed, for text that began at line and column and has been moved
+     * to begin at newLine and newColumn: every line moves by the same
+     * amount, and on the first line, columns do too.  Diagnostics at line
+     * 0 stay there.
+     */
+    public void moveTo(Diagnostics other, int line, int column,
+                       int newLine, int newColumn) {
+        for (int i = 0; i < count; i++) {
+            int l = data[3 * i];
+            int c = data[3 * i + 1];
+            if (l == line) {
+                c += newColumn - column;
+            }
+            copy(i, other, l <= 0 ? l : l + newLine - line, c);
+        }
+    }
+
+    private void copy(int i, Diagnostics other, int lineNum, int charNum) {
+        int kind = data[3 * i + 2];
+        other.add(lineNum, charNum, kind & 1, texts.get(kind >>> 1));
+        if ((kind & 1) == ERROR) {
+            other.errorCount++;
+        }
+    }
+
+    /**
+     * Returns a line and column as one number that orders positions the
+     * way flush does.
+     */
+    public static long position(int lineNum, int charNum) {
+        return ((long)lineKey(lineNum) << 32) | (charNum & 0xffffffffL);
+    }
+
+    private void add(int lineNum, int charNum, int severity, String msg) {
+        Integer code = codes.get(msg);
+        if (code == null) {
+            code = texts.size();
+            texts.add(msg);
+            codes.put(msg, code);
+        }
+        if (3 * count == data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        data[3 * count] = lineNum;
+        data[3 * count + 1] = charNum;
+        data[3 * count + 2] = (code << 1) | severity;
+        count++;
+    }
+
+    // true if order[k] repeats one of order[group .. k), which all have
+    // the same position
+    private boolean isRepeat(Integer[] order, int group, int k) {
+        int kind = data[3 * order[k] + 2];
+        for (int j = group; j < k; j++) {
+            if (data[3 * order[j] + 2] == kind) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int lineKey(int lineNum) {
+        return lineNum <= 0 ? Integer.MAX_VALUE : lineNum;
+    }
+}
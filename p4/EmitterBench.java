@@ -0,0 +1,64 @@
+import java.io.*;
+import java.nio.file.*;
+import java_cup.runtime.Symbol;
+
+/****
+ * Benchmark: the lexer that JLex emits, on test.brevis scaled up.
+ *
+ * Usage: java EmitterBench label [copies [runs]]
+ *
+ * Joins copies of test.brevis into one text (default 10000 copies), then
+ * scans the text with Yylex runs times (default 15), reading it as a
+ * SourceText.  It prints the label, the number of tokens, and the time of
+ * the fastest run.
+ *
+ * EmitterBench times whichever Yylex is first on the class path.  So
+ * 'make emitbench' generates the lexer three times: with JLex's standard
+ * tables, with %flattable and with %directcode.  Each lexer is built in
+ * its own directory under emitbench, and EmitterBench runs once with each
+ * directory in front of the class path.
+ ****/
+
+public class EmitterBench {
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: java EmitterBench label " +
+                               "[copies [runs]]");
+            System.exit(-1);
+        }
+        String label = args[0];
+        int copies = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 15;
+
+        // the copies go in slots 1 .. length, as SourceText.wrap expects
+        char[] one = new String(Files.readAllBytes(Paths.get("test.brevis")))
+                         .toCharArray();
+        int length = one.length * copies;
+        char[] chars = new char[length + 2];
+        for (int i = 0; i < copies; i++) {
+            System.arraycopy(one, 0, chars, 1 + i * one.length, one.length);
+        }
+
+        long best = Long.MAX_VALUE;
+        int tokens = 0;
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            tokens = lex(SourceText.wrap(chars, length));
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-12s %d copies, %d tokens, best of %d runs " +
+                          "%d ms%n", label, copies, tokens, runs,
+                          best / 1000000);
+    }
+
+    // scans all of src and returns the number of tokens
+    private static int lex(SourceText src) throws IOException {
+        Yylex scanner = new Yylex(src, new Diagnostics());
+        int tokens = 0;
+        for (Symbol s = scanner.next_token(); s.sym != sym.EOF;
+             s = scanner.next_token()) {
+            tokens++;
+        }
+        return tokens;
+    }
+}
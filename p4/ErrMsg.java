@@ -1,59 +0,0 @@
-///////////////////////////////////////////////////////////////////////////////
-//                   ALL STUDENTS COMPLETE THESE SECTIONS
-// Main Class File:  ast.java
-// File:             ErrMsg.java
-// Semester:         CS536 Spring 2023
-//
-// Author:           Arun Balaji - abalaji7@wisc.edu
-// CS Login:         abalaji
-// Lecturer's Name:  Beck Hasti
-// Lab Section:      002
-//
-//////////////////// PAIR PROGRAMMERS COMPLETE THIS SECTION ////////////////////
-//
-// Pair Partner:     Ryan Meeker
-// Email:            rtmeeker@wisc.edu
-// CS Login:         meeker
-// Lecturer's Name:  Beck Hasti
-// Lab Section:      002
-//
-//////////////////// STUDENTS WHO GET HELP FROM OTHER THAN THEIR PARTNER //////
-//                   fully acknowledge and credit all sources of help,
-//                   other than Instructors and TAs.
-//
-// Persons:          Identify persons by name, relationship to you, and email.
-//                   Describe in detail the the ideas and help they provided.
-//
-// Online sources:   avoid web searches to solve your problems, but if you do
-//                   search, be sure to include Web URLs and description of 
-//                   of any information you find.
-//////////////////////////// 80 columns wide //////////////////////////////////
-
-/**
- * ErrMsg
- *
- * This class is used to generate warning and fatal error messages.
- */
-class ErrMsg {
-    public static boolean isFatal = false;
-    /**
-     * Generates a fatal error message.
-     * @param lineNum line number for error location
-     * @param charNum character number (i.e., column) for error location
-     * @param msg associated message for error
-     */
-    static void fatal(int lineNum, int charNum, String msg) {
-        System.err.println(lineNum + ":" + charNum + " ****ERROR**** " + msg);
-        isFatal = true;
-    }
-
-    /**
-     * Generates a warning message.
-     * @param lineNum line number for warning location
-     * @param charNum character number (i.e., column) for warning location
-     * @param msg associated message for warning
-     */
-    static void warn(int lineNum, int charNum, String msg) {
-        System.err.println(lineNum + ":" + charNum + " ****WARNING**** " + msg);
-    }
-}
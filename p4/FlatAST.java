@@ -0,0 +1,413 @@
+import java.io.*;
+import java.util.*;
+
+/**
+ * FlatAST
+ *
+ * A compact form of the AST for large programs.  Instead of one object per
+ * node, nodes are rows of parallel primitive arrays: a kind tag, where the
+ * node's children start in a shared child-index array, the source
+ * position, and one int of payload (an IdPool id, an integer literal, an
+ * index into the string-literal table, or a VarDeclNode size).  Rows are
+ * added bottom-up and each row's children are appended to the child array
+ * as the row is added, so a node's children run up to where the next
+ * row's children start.
+ *
+ * In compact mode the parser flattens each top-level declaration as soon
+ * as it is reduced, so only one declaration's object tree is alive at a
+ * time.  To run the existing unparse and nameAnalysis code, a top-level
+ * declaration is inflated back into ordinary AST nodes (see inflateDecl
+ * and analyzeAndUnparse) and dropped again afterwards.
+ */
+class FlatAST {
+    // node kinds, one per concrete ASTnode class
+    static final byte PROGRAM = 0, DECL_LIST = 1, STMT_LIST = 2,
+        EXP_LIST = 3, FORMALS_LIST = 4, FN_BODY = 5,
+        VAR_DECL = 6, FN_DECL = 7, FORMAL_DECL = 8, RECORD_DECL = 9,
+        BOOL = 10, INT = 11, VOID = 12, RECORD = 13,
+        ASSIGN_STMT = 14, POST_INC_STMT = 15, POST_DEC_STMT = 16,
+        IF_STMT = 17, IF_ELSE_STMT = 18, WHILE_STMT = 19, READ_STMT = 20,
+        WRITE_STMT = 21, CALL_STMT = 22, RETURN_STMT = 23,
+        TRUE = 24, FALSE = 25, ID = 26, INT_LIT = 27, STRING_LIT = 28,
+        DOT_ACCESS = 29, ASSIGN_EXP = 30, CALL_EXP = 31,
+        UNARY_MINUS = 32, NOT = 33,
+        PLUS = 34, MINUS = 35, TIMES = 36, DIVIDE = 37, EQUALS = 38,
+        NOT_EQUALS = 39, LESS = 40, LESS_EQ = 41, GREATER = 42,
+        GREATER_EQ = 43, AND = 44, OR = 45;
+
+    // one row per node
+    private byte[] kind = new byte[1024];
+    private int[] first = new int[1025];   // index of first child in kids;
+                                           // first[size] == kidsSize
+    private int[] line = new int[1024];
+    private int[] col = new int[1024];
+    private int[] value = new int[1024];
+    private int size = 0;
+
+    // child indices, each node's children contiguous and in source order
+    private int[] kids = new int[1024];
+    private int kidsSize = 0;
+
+    private TokenText[] strings = new TokenText[64];
+    private int stringCount = 0;
+
+    // roots of the top-level declarations, in order
+    private int[] decls = new int[64];
+    private int declCount = 0;
+
+    private Builder builder = new Builder();
+
+    /**
+     * Flattens d and appends it to the program's top-level declarations.
+     */
+    public void addDecl(DeclNode d) {
+        d.accept(builder);
+        if (declCount == decls.length) {
+            decls = Arrays.copyOf(decls, Math.max(declCount * 2, 16));
+        }
+        decls[declCount++] = builder.pop();
+    }
+
+    public int getDeclCount() {
+        return declCount;
+    }
+
+    public int getNodeCount() {
+        return size;
+    }
+
+    /**
+     * Shrinks the arrays to what is in use, once the program has been
+     * parsed.
+     */
+    public void trim() {
+        kind = Arrays.copyOf(kind, size);
+        first = Arrays.copyOf(first, size + 1);
+        line = Arrays.copyOf(line, size);
+        col = Arrays.copyOf(col, size);
+        value = Arrays.copyOf(value, size);
+        kids = Arrays.copyOf(kids, kidsSize);
+        strings = Arrays.copyOf(strings, stringCount);
+        decls = Arrays.copyOf(decls, declCount);
+    }
+
+    /**
+     * Returns a fresh object tree for top-level declaration number i.
+     */
+    public DeclNode inflateDecl(int i) {
+        return (DeclNode)inflate(decls[i]);
+    }
+
+    /**
+     * Returns a fresh object tree for the whole program.
+     */
+    public ProgramNode toProgram() {
+        List<DeclNode> list = new ArrayList<DeclNode>(declCount);
+        for (int i = 0; i < declCount; i++) {
+            list.add(inflateDecl(i));
+        }
+        return new ProgramNode(new DeclListNode(list));
+    }
+
+    /**
+     * Name-analyzes the program one top-level declaration at a time, and
+     * unparses it into out.  Each declaration is inflated, analyzed and
+     * unparsed, and then dropped.  Errors go to diag; if there are any, out
+     * is left empty.
+     */
+    public void analyzeAndUnparse(UnparseWriter out, Diagnostics diag) {
+        SymTab symtab = new SymTab();
+        symtab.setDiagnostics(diag);
+        symtab.setAccessPathCache(new AccessPathCache());
+        for (int i = 0; i < declCount; i++) {
+            DeclNode d = inflateDecl(i);
+            d.nameAnalysis(symtab, symtab);
+            if (!diag.hasErrors()) {
+                d.unparse(out, 0);
+            }
+        }
+        if (diag.hasErrors()) {
+            out.reset();
+        }
+    }
+
+    /**
+     * Returns the approximate number of bytes held by the arrays.
+     */
+    public long footprint() {
+        long bytes = kind.length + 4L * (first.length + line.length +
+            col.length + value.length + kids.length + decls.length) +
+            4L * strings.length;
+        for (int i = 0; i < stringCount; i++) {
+            bytes += 40 + 2L * strings[i].length();
+        }
+        return bytes;
+    }
+
+    private ASTnode inflate(int n) {
+        int k = first[n];
+        int nkids = first[n + 1] - k;
+        switch (kind[n]) {
+        case DECL_LIST: {
+            List<DeclNode> list = new ArrayList<DeclNode>(nkids);
+            for (int i = 0; i < nkids; i++) {
+                list.add((DeclNode)inflate(kids[k + i]));
+            }
+            return new DeclListNode(list);
+        }
+        case STMT_LIST: {
+            List<StmtNode> list = new ArrayList<StmtNode>(nkids);
+            for (int i = 0; i < nkids; i++) {
+                list.add((StmtNode)inflate(kids[k + i]));
+            }
+            return new StmtListNode(list);
+        }
+        case EXP_LIST: {
+            List<ExpNode> list = new ArrayList<ExpNode>(nkids);
+            for (int i = 0; i < nkids; i++) {
+                list.add(exp(kids[k + i]));
+            }
+            return new ExpListNode(list);
+        }
+        case FORMALS_LIST: {
+            List<FormalDeclNode> list =
+                new ArrayList<FormalDeclNode>(nkids);
+            for (int i = 0; i < nkids; i++) {
+                list.add((FormalDeclNode)inflate(kids[k + i]));
+            }
+            return new FormalsListNode(list);
+        }
+        case PROGRAM:
+            return new ProgramNode((DeclListNode)inflate(kids[k]));
+        case FN_BODY:
+            return new FnBodyNode((DeclListNode)inflate(kids[k]),
+                                  (StmtListNode)inflate(kids[k + 1]));
+        case VAR_DECL:
+            return new VarDeclNode((TypeNode)inflate(kids[k]),
+                                   id(kids[k + 1]), value[n]);
+        case FN_DECL:
+            return new FnDeclNode((TypeNode)inflate(kids[k]), id(kids[k + 1]),
+                                  (FormalsListNode)inflate(kids[k + 2]),
+                                  (FnBodyNode)inflate(kids[k + 3]));
+        case FORMAL_DECL:
+            return new FormalDeclNode((TypeNode)inflate(kids[k]),
+                                      id(kids[k + 1]));
+        case RECORD_DECL:
+            return new RecordDeclNode(id(kids[k]),
+                                      (DeclListNode)inflate(kids[k + 1]));
+        case BOOL:
+            return new BoolNode();
+        case INT:
+            return new IntNode();
+        case VOID:
+            return new VoidNode();
+        case RECORD:
+            return new RecordNode(id(kids[k]));
+        case ASSIGN_STMT:
+            return new AssignStmtNode((AssignExpNode)inflate(kids[k]));
+        case POST_INC_STMT:
+            return new PostIncStmtNode(exp(kids[k]));
+        case POST_DEC_STMT:
+            return new PostDecStmtNode(exp(kids[k]));
+        case IF_STMT:
+            return new IfStmtNode(exp(kids[k]),
+                                  (DeclListNode)inflate(kids[k + 1]),
+                                  (StmtListNode)inflate(kids[k + 2]));
+        case IF_ELSE_STMT:
+            return new IfElseStmtNode(exp(kids[k]),
+                                      (DeclListNode)inflate(kids[k + 1]),
+                                      (StmtListNode)inflate(kids[k + 2]),
+                                      (DeclListNode)inflate(kids[k + 3]),
+                                      (StmtListNode)inflate(kids[k + 4]));
+        case WHILE_STMT:
+            return new WhileStmtNode(exp(kids[k]),
+                                     (DeclListNode)inflate(kids[k + 1]),
+                                     (StmtListNode)inflate(kids[k + 2]));
+        case READ_STMT:
+            return new ReadStmtNode(exp(kids[k]));
+        case WRITE_STMT:
+            return new WriteStmtNode(exp(kids[k]));
+        case CALL_STMT:
+            return new CallStmtNode((CallExpNode)inflate(kids[k]));
+        case RETURN_STMT:
+            return new ReturnStmtNode(nkids == 0 ? null : exp(kids[k]));
+        case TRUE:
+            return new TrueNode(line[n], col[n]);
+        case FALSE:
+            return new FalseNode(line[n], col[n]);
+        case ID:
+            return new IdNode(line[n], col[n], value[n]);
+        case INT_LIT:
+            return new IntLitNode(line[n], col[n], value[n]);
+        case STRING_LIT:
+            return new StringLitNode(line[n], col[n], strings[value[n]]);
+        case DOT_ACCESS:
+            return new DotAccessExpNode(exp(kids[k]), id(kids[k + 1]));
+        case ASSIGN_EXP:
+            return new AssignExpNode(exp(kids[k]), exp(kids[k + 1]));
+        case CALL_EXP:
+            if (nkids == 1) {
+                return new CallExpNode(id(kids[k]));
+            }
+            return new CallExpNode(id(kids[k]),
+                                   (ExpListNode)inflate(kids[k + 1]));
+        case UNARY_MINUS:
+            return new UnaryMinusNode(exp(kids[k]));
+        case NOT:
+            return new NotNode(exp(kids[k]));
+        case PLUS:
+            return new PlusNode(exp(kids[k]), exp(kids[k + 1]));
+        case MINUS:
+            return new MinusNode(exp(kids[k]), exp(kids[k + 1]));
+        case TIMES:
+            return new TimesNode(exp(kids[k]), exp(kids[k + 1]));
+        case DIVIDE:
+            return new DivideNode(exp(kids[k]), exp(kids[k + 1]));
+        case EQUALS:
+            return new EqualsNode(exp(kids[k]), exp(kids[k + 1]));
+        case NOT_EQUALS:
+            return new NotEqualsNode(exp(kids[k]), exp(kids[k + 1]));
+        case LESS:
+            return new LessNode(exp(kids[k]), exp(kids[k + 1]));
+        case LESS_EQ:
+            return new LessEqNode(exp(kids[k]), exp(kids[k + 1]));
+        case GREATER:
+            return new GreaterNode(exp(kids[k]), exp(kids[k + 1]));
+        case GREATER_EQ:
+            return new GreaterEqNode(exp(kids[k]), exp(kids[k + 1]));
+        case AND:
+            return new AndNode(exp(kids[k]), exp(kids[k + 1]));
+        case OR:
+            return new OrNode(exp(kids[k]), exp(kids[k + 1]));
+        default:
+            throw new IllegalStateException("bad node kind " + kind[n]);
+        }
+    }
+
+    private ExpNode exp(int n) {
+        return (ExpNode)inflate(n);
+    }
+
+    private IdNode id(int n) {
+        return (IdNode)inflate(n);
+    }
+
+    /**
+     * Builds rows bottom-up: each visit flattens the node's children (which
+     * leave their row numbers on a stack) and then adds the node's own row
+     * with those children.
+     */
+    private class Builder implements ASTVisitor {
+        private int[] stack = new int[64];
+        private int top = 0;
+
+        int pop() {
+            return stack[--top];
+        }
+
+        private void add(ASTnode n, byte k, int ln, int ch, int val) {
+            int mark = top;
+            n.visitChildren(this);
+            if (size == kind.length) {
+                int cap = Math.max(size * 2, 16);
+                kind = Arrays.copyOf(kind, cap);
+                first = Arrays.copyOf(first, cap + 1);
+                line = Arrays.copyOf(line, cap);
+                col = Arrays.copyOf(col, cap);
+                value = Arrays.copyOf(value, cap);
+            }
+            int nkids = top - mark;
+            if (kidsSize + nkids > kids.length) {
+                kids = Arrays.copyOf(kids, Math.max(kids.length * 2 + 16,
+                                                    kidsSize + nkids));
+            }
+            System.arraycopy(stack, mark, kids, kidsSize, nkids);
+            kind[size] = k;
+            first[size] = kidsSize;
+            line[size] = ln;
+            col[size] = ch;
+            value[size] = val;
+            kidsSize += nkids;
+            first[size + 1] = kidsSize;
+            top = mark;
+            if (top == stack.length) {
+                stack = Arrays.copyOf(stack, top * 2);
+            }
+            stack[top++] = size++;
+        }
+
+        private void add(ASTnode n, byte k) {
+            add(n, k, 0, 0, 0);
+        }
+
+        public void visit(ProgramNode n) { add(n, PROGRAM); }
+        public void visit(DeclListNode n) { add(n, DECL_LIST); }
+        public void visit(StmtListNode n) { add(n, STMT_LIST); }
+        public void visit(ExpListNode n) { add(n, EXP_LIST); }
+        public void visit(FormalsListNode n) { add(n, FORMALS_LIST); }
+        public void visit(FnBodyNode n) { add(n, FN_BODY); }
+
+        public void visit(VarDeclNode n) {
+            add(n, VAR_DECL, 0, 0, n.getSize());
+        }
+        public void visit(FnDeclNode n) { add(n, FN_DECL); }
+        public void visit(FormalDeclNode n) { add(n, FORMAL_DECL); }
+        public void visit(RecordDeclNode n) { add(n, RECORD_DECL); }
+
+        public void visit(BoolNode n) { add(n, BOOL); }
+        public void visit(IntNode n) { add(n, INT); }
+        public void visit(VoidNode n) { add(n, VOID); }
+        public void visit(RecordNode n) { add(n, RECORD); }
+
+        public void visit(AssignStmtNode n) { add(n, ASSIGN_STMT); }
+        public void visit(PostIncStmtNode n) { add(n, POST_INC_STMT); }
+        public void visit(PostDecStmtNode n) { add(n, POST_DEC_STMT); }
+        public void visit(IfStmtNode n) { add(n, IF_STMT); }
+        public void visit(IfElseStmtNode n) { add(n, IF_ELSE_STMT); }
+        public void visit(WhileStmtNode n) { add(n, WHILE_STMT); }
+        public void visit(ReadStmtNode n) { add(n, READ_STMT); }
+        public void visit(WriteStmtNode n) { add(n, WRITE_STMT); }
+        public void visit(CallStmtNode n) { add(n, CALL_STMT); }
+        public void visit(ReturnStmtNode n) { add(n, RETURN_STMT); }
+
+        public void visit(TrueNode n) {
+            add(n, TRUE, n.getLineNum(), n.getCharNum(), 0);
+        }
+        public void visit(FalseNode n) {
+            add(n, FALSE, n.getLineNum(), n.getCharNum(), 0);
+        }
+        public void visit(IdNode n) {
+            add(n, ID, n.getLineNum(), n.getCharNum(), n.getIdNum());
+        }
+        public void visit(IntLitNode n) {
+            add(n, INT_LIT, n.getLineNum(), n.getCharNum(), n.getIntVal());
+        }
+        public void visit(StringLitNode n) {
+            if (stringCount == strings.length) {
+                strings = Arrays.copyOf(strings,
+                                        Math.max(stringCount * 2, 16));
+            }
+            strings[stringCount] = n.getText();
+            add(n, STRING_LIT, n.getLineNum(), n.getCharNum(), stringCount++);
+        }
+        public void visit(DotAccessExpNode n) { add(n, DOT_ACCESS); }
+        public void visit(AssignExpNode n) { add(n, ASSIGN_EXP); }
+        public void visit(CallExpNode n) { add(n, CALL_EXP); }
+
+        public void visit(UnaryMinusNode n) { add(n, UNARY_MINUS); }
+        public void visit(NotNode n) { add(n, NOT); }
+
+        public void visit(PlusNode n) { add(n, PLUS); }
+        public void visit(MinusNode n) { add(n, MINUS); }
+        public void visit(TimesNode n) { add(n, TIMES); }
+        public void visit(DivideNode n) { add(n, DIVIDE); }
+        public void visit(EqualsNode n) { add(n, EQUALS); }
+        public void visit(NotEqualsNode n) { add(n, NOT_EQUALS); }
+        public void visit(LessNode n) { add(n, LESS); }
+        public void visit(LessEqNode n) { add(n, LESS_EQ); }
+        public void visit(GreaterNode n) { add(n, GREATER); }
+        public void visit(GreaterEqNode n) { add(n, GREATER_EQ); }
+        public void visit(AndNode n) { add(n, AND); }
+        public void visit(OrNode n) { add(n, OR); }
+    }
+}
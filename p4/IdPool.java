@@ -0,0 +1,172 @@
+/**
+ * IdPool
+ *
+ * Interns identifier names.  The first time a name is seen it is given the
+ * next dense int id (0, 1, 2, ...) and its String is stored once; after that
+ * the same id is returned.  The lexer interns straight out of its character
+ * buffer, so an identifier that has been seen before costs no allocation.
+ *
+ * Each thread interns into its own pool, so ids are only meaningful on the
+ * thread that produced them.  A compilation runs start to finish on one
+ * thread, so this lets several compilations run at once without locking.
+ *
+ * A pool only grows.  So that a thread that runs many compilations, such as
+ * one of Batch's workers, does not keep every name it has ever seen, each
+ * Compilation interns into a new pool of its own: begin installs it and end
+ * puts the thread's previous pool back.
+ */
+class IdPool {
+    private static final ThreadLocal<IdPool> current =
+        ThreadLocal.withInitial(IdPool::new);
+
+    private String[] names = new String[256];
+    private int[] hashes = new int[256];
+    private int count = 0;
+
+    // open-addressing index: slot holds id+1, or 0 if empty
+    private int[] slots = new int[512];
+
+    /**
+     * Gives the calling thread a new, empty pool and returns the one it had,
+     * which must be handed to end when the ids of the new pool are no
+     * longer needed.
+     */
+    static IdPool begin() {
+        IdPool outer = current.get();
+        current.set(new IdPool());
+        return outer;
+    }
+
+    /**
+     * Drops the calling thread's pool and puts back outer, the pool that
+     * the matching begin returned.
+     */
+    static void end(IdPool outer) {
+        current.set(outer);
+    }
+
+    /**
+     * Returns the id for the name held in buf[off .. off+len).
+     */
+    static int intern(char[] buf, int off, int len) {
+        return current.get().internChars(buf, off, len);
+    }
+
+    /**
+     * Returns the id for the given name.
+     */
+    static int intern(String name) {
+        return current.get().internString(name);
+    }
+
+    /**
+     * Returns the id of the given name, or -1 if it has not been interned.
+     * Unlike intern, this never adds the name to the pool.
+     */
+    static int find(String name) {
+        IdPool pool = current.get();
+        int s = pool.probe(name, name.hashCode());
+        return pool.slots[s] - 1;
+    }
+
+    /**
+     * Returns the name that was given the id.
+     */
+    static String name(int id) {
+        return current.get().names[id];
+    }
+
+    /**
+     * Returns the number of distinct names interned so far.
+     */
+    static int size() {
+        return current.get().count;
+    }
+
+    private int internChars(char[] buf, int off, int len) {
+        int h = 0;
+        for (int i = off; i < off + len; i++) {
+            h = 31 * h + buf[i];
+        }
+        int mask = slots.length - 1;
+        int s = mix(h) & mask;
+        while (slots[s] != 0) {
+            int id = slots[s] - 1;
+            if (hashes[id] == h && sameChars(names[id], buf, off, len)) {
+                return id;
+            }
+            s = (s + 1) & mask;
+        }
+        return add(new String(buf, off, len), h, s);
+    }
+
+    private int internString(String name) {
+        int h = name.hashCode();
+        int s = probe(name, h);
+        if (slots[s] != 0) {
+            return slots[s] - 1;
+        }
+        return add(name, h, s);
+    }
+
+    // returns the slot holding name's id, or the empty slot where it would
+    // go; h is name.hashCode()
+    private int probe(String name, int h) {
+        int mask = slots.length - 1;
+        int s = mix(h) & mask;
+        while (slots[s] != 0) {
+            int id = slots[s] - 1;
+            if (hashes[id] == h && names[id].equals(name)) {
+                return s;
+            }
+            s = (s + 1) & mask;
+        }
+        return s;
+    }
+
+    private int add(String name, int h, int slot) {
+        if (count == names.length) {
+            names = java.util.Arrays.copyOf(names, count * 2);
+            hashes = java.util.Arrays.copyOf(hashes, count * 2);
+        }
+        int id = count++;
+        names[id] = name;
+        hashes[id] = h;
+        slots[slot] = id + 1;
+        if (2 * count > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    private void rehash() {
+        int[] newSlots = new int[slots.length * 2];
+        int mask = newSlots.length - 1;
+        for (int id = 0; id < count; id++) {
+            int s = mix(hashes[id]) & mask;
+            while (newSlots[s] != 0) {
+                s = (s + 1) & mask;
+            }
+            newSlots[s] = id + 1;
+        }
+        slots = newSlots;
+    }
+
+    private static boolean sameChars(String name, char[] buf, int off,
+                                     int len) {
+        if (name.length() != len) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (name.charAt(i) != buf[off + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // spread the low bits, since String hashes of short names cluster
+    private static int mix(int h) {
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,662 @@
+import java.io.*;
+import java.util.*;
+
+/****
+ * IncrementalCompilation
+ *
+ * Keeps one program open and recompiles it as it is edited, for an editor
+ * or a daemon that checks a file on every change.  A Compilation lexes,
+ * parses and analyzes the whole file each time; here an edit costs about
+ * as much as the declarations it touches, plus the declarations that use
+ * whatever those now declare differently.
+ *
+ * The text is kept as a list of units, one per top-level declaration.  A
+ * unit runs from the end of the declaration before it through the
+ * SEMICOLON or RCURLY that ends its own; the last unit holds whatever
+ * follows the last declaration.  Each unit keeps its declaration's AST,
+ * the lexical and syntax errors in its text, and the name-analysis errors
+ * in its declaration.
+ *
+ * An edit replaces the text of the units it overlaps, and that text alone
+ * is lexed and parsed again, by DescentParser, into as many units as it
+ * now holds.  A declaration always ends a token, so lexing can start
+ * afresh at a unit.  The region grows by the next unit whenever its parse
+ * could have gone differently with the text after it: when it ends in the
+ * middle of a declaration, or with a declaration that was skipped after a
+ * syntax error (skipping stops only at the start of another declaration).
+ * For the same reason a skipped declaration just before the region is
+ * parsed again with it.
+ *
+ * Each declaration is analyzed against a SymTab of its own whose globals
+ * (see SymTab.setGlobals) are the declarations of the units before it.
+ * The global names looked up are recorded, so when what a unit declares
+ * changes, only the later units that looked up that name are analyzed
+ * again -- and, in turn, the units that use what those declare, if that
+ * changed too.  A declaration counts as changed unless it is the same
+ * kind with the same signature; a record always counts as changed, and so
+ * does a variable of a record type that changed.
+ *
+ * Positions in a unit's AST and messages are the ones it was lexed at.
+ * When edits before it move its text to another line or column, its
+ * messages are moved with it as they are reported.
+ *
+ * Finding the units an edit overlaps, renumbering the units after an edit
+ * that changes how many there are, and reporting are still linear in the
+ * number of units, though not in the length of the text.
+ *
+ * Names are the calling thread's IdPool ids, so an IncrementalCompilation
+ * is used from one thread.
+ *
+ * Usage: java IncrementalCompilation file
+ *
+ * Reads the file and prints its errors and warnings, then reads commands
+ * from standard input, one per line:
+ *
+ *   offset length text   replaces length characters at offset (counted
+ *                        from 0) with text, in which \n, \t and \\ stand
+ *                        for a newline, a tab and a backslash
+ *   write out-file       unparses the program into out-file, if it has
+ *                        no errors
+ *
+ * After reading the file and after each edit it prints the program's
+ * errors and warnings and then "done: r reparsed, a analyzed", the number
+ * of declarations that were parsed and analyzed again.
+ ****/
+
+public class IncrementalCompilation {
+    private static final int[] NONE = new int[0];
+
+    private ArrayList<Unit> units = new ArrayList<Unit>();
+    private int length;             // of the whole text
+    private int errorCount;         // in every unit's messages
+
+    // by IdPool id: the units whose declaration declared the name, and
+    // the units whose analysis looked it up
+    private ArrayList<ArrayList<Unit>> declarers =
+        new ArrayList<ArrayList<Unit>>();
+    private ArrayList<HashSet<Unit>> users = new ArrayList<HashSet<Unit>>();
+
+    // units to analyze again, in order
+    private PriorityQueue<Unit> queue =
+        new PriorityQueue<Unit>((a, b) -> Integer.compare(a.index, b.index));
+
+    private Globals globals = new Globals();
+    private AccessPathCache accessPaths = new AccessPathCache();
+
+    // declarations parsed and analyzed for the last edit
+    private int reparsed;
+    private int analyzed;
+
+    public IncrementalCompilation(SourceText src) {
+        Unit empty = new Unit();
+        empty.chars = new char[2];
+        empty.from = 1;
+        empty.to = 1;
+        empty.lexedLine = 1;
+        empty.lexedColumn = 1;
+        units.add(empty);
+        replace(0, 0, src.getChars(), 1, src.length());
+    }
+
+    /**
+     * Replaces the removed characters at offset with text.
+     */
+    public void edit(int offset, int removed, String text) {
+        char[] chars = text.toCharArray();
+        replace(offset, removed, chars, 0, chars.length);
+    }
+
+    /**
+     * Prints the errors and warnings of the program as it now is, as a
+     * Compilation of it would.  So, as there, name-analysis errors are left
+     * out when the program ends in a syntax error that the parser could
+     * not recover from.
+     */
+    public void report(PrintStream p) {
+        boolean analyzed = !units.get(units.size() - 1).unfinished;
+        Diagnostics all = new Diagnostics();
+        int line = 1;
+        int column = 1;
+        for (Unit u : units) {
+            u.syntax.moveTo(all, u.lexedLine, u.lexedColumn, line, column);
+            if (analyzed) {
+                u.names.moveTo(all, u.lexedLine, u.lexedColumn, line, column);
+            }
+            line += u.newlines;
+            column = u.newlines > 0 ? u.lastColumn : column + u.length();
+        }
+        all.flush(p);
+    }
+
+    /**
+     * Returns true if the program has a fatal error.
+     */
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+
+    /**
+     * Unparses the program into p, unless it has a fatal error.  Returns
+     * false if it did not.
+     */
+    public boolean unparse(PrintWriter p) {
+        if (hasErrors()) {
+            return false;
+        }
+        for (Unit u : units) {
+            if (u.decl != null) {
+                u.decl.unparse(p, 0);
+            }
+        }
+        return true;
+    }
+
+    public int getReparsedCount() {
+        return reparsed;
+    }
+
+    public int getAnalyzedCount() {
+        return analyzed;
+    }
+
+    private void replace(int offset, int removed, char[] text, int from,
+                         int count) {
+        if (offset < 0 || removed < 0 || offset + removed > length) {
+            throw new IndexOutOfBoundsException("no characters " + offset +
+                                                " to " + (offset + removed));
+        }
+        reparsed = 0;
+        analyzed = 0;
+
+        // the units lo .. hi that the edit overlaps or touches, and where
+        // lo starts and hi ends
+        int lo = 0;
+        int start = 0;
+        while (start + units.get(lo).length() < offset) {
+            start += units.get(lo).length();
+            lo++;
+        }
+        int hi = lo;
+        int end = start + units.get(lo).length();
+        while (hi + 1 < units.size() && end <= offset + removed) {
+            end += units.get(++hi).length();
+        }
+        if (lo > 0 && units.get(lo - 1).skipped) {
+            start -= units.get(--lo).length();
+        }
+
+        int line = 1;
+        for (int i = 0; i < lo; i++) {
+            line += units.get(i).newlines;
+        }
+        int column = columnAt(lo);
+
+        ArrayList<Unit> parsed;
+        while (true) {
+            int at = offset - start;
+            int size = end - start - removed + count;
+            char[] chars = new char[size + 2];
+            copy(lo, hi, 0, at, chars, 1);
+            System.arraycopy(text, from, chars, 1 + at, count);
+            copy(lo, hi, at + removed, end - start, chars, 1 + at + count);
+            parsed = parse(chars, size, line, column, hi == units.size() - 1);
+            if (parsed != null) {
+                break;
+            }
+            end += units.get(++hi).length();
+        }
+
+        List<Unit> old = units.subList(lo, hi + 1);
+        ArrayList<Unit> gone = new ArrayList<Unit>(old);
+        old.clear();
+        units.addAll(lo, parsed);
+        int renumber = gone.size() == parsed.size() ? lo + parsed.size()
+                                                   : units.size();
+        for (int i = lo; i < renumber; i++) {
+            units.get(i).index = i;
+        }
+        length += count - removed;
+        for (Unit u : parsed) {
+            if (u.decl != null || u.skipped) {
+                reparsed++;
+            }
+        }
+        reanalyze(gone, lo, parsed.size());
+    }
+
+    // copies characters a .. b of the text of units lo .. hi into dest at
+    // index at
+    private void copy(int lo, int hi, int a, int b, char[] dest, int at) {
+        int start = 0;
+        for (int i = lo; i <= hi && start < b; i++) {
+            Unit u = units.get(i);
+            int from = Math.max(a, start);
+            int to = Math.min(b, start + u.length());
+            if (from < to) {
+                System.arraycopy(u.chars, u.from + from - start, dest, at,
+                                 to - from);
+                at += to - from;
+            }
+            start += u.length();
+        }
+    }
+
+    // the column of the first character of unit i
+    private int columnAt(int i) {
+        int column = 1;
+        while (i-- > 0) {
+            Unit u = units.get(i);
+            for (int k = u.to - 1; k >= u.from; k--) {
+                if (u.chars[k] == '\n') {
+                    return column;
+                }
+                column++;
+            }
+        }
+        return column;
+    }
+
+    /**
+     * Parses the size characters in chars[1 ..], which start at the given
+     * line and column, into units.  Returns null if the text does not end
+     * cleanly after a declaration and the end of the whole text has not
+     * been reached, so the parse may need the unit after it.
+     */
+    private ArrayList<Unit> parse(char[] chars, int size, int line,
+                                  int column, boolean atEnd) {
+        Lines lines = new Lines(chars, size, line, column);
+        Diagnostics diag = new Diagnostics();
+        parser P = new parser(new Yylex(SourceText.wrap(chars, size),
+                                        line, column, diag));
+        P.setDiagnostics(diag);
+        DescentParser dp = new DescentParser(P);
+
+        ArrayList<Unit> list = new ArrayList<Unit>();
+        int from = 1;
+        try {
+            dp.start();
+            while (!dp.atEnd()) {
+                DeclNode d = dp.nextDecl();
+                TokenVal t = (TokenVal)dp.lastToken().value;
+                int to = lines.index(t.lineNum, t.charNum) + 1;
+                list.add(unit(chars, from, to, d, d == null, lines));
+                from = to;
+            }
+        } catch (parser.SyntaxError ex) {
+            if (!atEnd) {
+                return null;
+            }
+            // the rest is one unit, with the error
+            Unit u = unit(chars, from, size + 1, null, true, lines);
+            u.unfinished = true;
+            list.add(u);
+            from = size + 1;
+        } catch (Exception ex) {
+            // the text is in memory, so the lexer does no I/O
+            throw new IllegalStateException(ex);
+        }
+
+        if (!atEnd) {
+            if (from <= size || (!list.isEmpty() &&
+                                 list.get(list.size() - 1).skipped)) {
+                return null;
+            }
+        } else if (from <= size || list.isEmpty() ||
+                   list.get(list.size() - 1).decl != null) {
+            list.add(unit(chars, from, size + 1, null, false, lines));
+        }
+
+        // each unit gets the messages from its first character up to the
+        // next unit's
+        for (int k = 0; k < list.size(); k++) {
+            long lo = k == 0 ? Long.MIN_VALUE : list.get(k).position(lines);
+            long hi = k == list.size() - 1 ? Long.MAX_VALUE
+                                           : list.get(k + 1).position(lines);
+            diag.copyTo(list.get(k).syntax, lo, hi);
+        }
+        return list;
+    }
+
+    private static Unit unit(char[] chars, int from, int to, DeclNode d,
+                             boolean skipped, Lines lines) {
+        Unit u = new Unit();
+        u.chars = chars;
+        u.from = from;
+        u.to = to;
+        u.decl = d;
+        u.skipped = skipped;
+        u.lexedLine = lines.line(from);
+        u.lexedColumn = lines.column(from);
+        u.newlines = lines.line(to) - u.lexedLine;
+        u.lastColumn = lines.column(to);
+        return u;
+    }
+
+    /**
+     * Brings name analysis up to date after the units gone were replaced
+     * by the count units at lo.
+     */
+    private void reanalyze(List<Unit> gone, int lo, int count) {
+        HashMap<Integer, Sym> before = new HashMap<Integer, Sym>();
+        for (Unit u : gone) {
+            if (u.declared >= 0) {
+                before.putIfAbsent(u.declared, u.sym);
+            }
+            forget(u);
+            errorCount -= u.syntax.getErrorCount() +
+                          u.names.getErrorCount();
+        }
+
+        HashMap<Integer, Sym> after = new HashMap<Integer, Sym>();
+        for (int i = lo; i < lo + count; i++) {
+            Unit u = units.get(i);
+            errorCount += u.syntax.getErrorCount();
+            analyze(u);
+            if (u.declared >= 0) {
+                after.putIfAbsent(u.declared, u.sym);
+            }
+        }
+
+        for (Integer id : before.keySet()) {
+            if (!sameDeclaration(before.get(id), after.get(id))) {
+                enqueueUsers(id, lo + count - 1);
+            }
+        }
+        for (Integer id : after.keySet()) {
+            if (!before.containsKey(id)) {
+                enqueueUsers(id, lo + count - 1);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            Unit u = queue.poll();
+            u.queued = false;
+            int id = u.declared;
+            Sym sym = u.sym;
+            analyze(u);
+            if (id != u.declared) {
+                enqueueUsers(id, u.index);
+                enqueueUsers(u.declared, u.index);
+            } else if (!sameDeclaration(sym, u.sym)) {
+                enqueueUsers(id, u.index);
+            }
+        }
+    }
+
+    // queues the units after index that looked up id
+    private void enqueueUsers(int id, int index) {
+        if (id < 0 || id >= users.size() || users.get(id) == null) {
+            return;
+        }
+        for (Unit u : users.get(id)) {
+            if (u.index > index && !u.queued) {
+                u.queued = true;
+                queue.add(u);
+            }
+        }
+    }
+
+    // true if the users of a name declared as a need not be analyzed again
+    // when it is declared as b instead
+    private static boolean sameDeclaration(Sym a, Sym b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (a.getClass() != b.getClass() || a instanceof RecordDefSym) {
+            return false;
+        }
+        if (a instanceof RecordDeclSym &&
+            ((RecordDeclSym)a).getBody() != ((RecordDeclSym)b).getBody()) {
+            return false;
+        }
+        return a.getSignature().equals(b.getSignature());
+    }
+
+    // analyzes u's declaration against the declarations before it
+    private void analyze(Unit u) {
+        forget(u);
+        errorCount -= u.names.getErrorCount();
+        u.names = new Diagnostics();
+        if (u.decl == null) {
+            return;
+        }
+        analyzed++;
+
+        SymTab symtab = new SymTab();
+        symtab.setDiagnostics(u.names);
+        symtab.setAccessPathCache(accessPaths);
+        globals.index = u.index;
+        globals.used = 0;
+        symtab.setGlobals(globals);
+        u.decl.nameAnalysis(symtab, symtab);
+        errorCount += u.names.getErrorCount();
+
+        int[] ids = symtab.getLocalIds();
+        if (ids.length > 0) {
+            u.declared = ids[0];
+            u.sym = symtab.tryLookupLocal(ids[0]);
+            listAt(declarers, u.declared).add(u);
+        }
+
+        int[] used = Arrays.copyOf(globals.ids, globals.used);
+        Arrays.sort(used);
+        int n = 0;
+        for (int i = 0; i < used.length; i++) {
+            if (i == 0 || used[i] != used[i - 1]) {
+                used[n++] = used[i];
+            }
+        }
+        u.used = Arrays.copyOf(used, n);
+        for (int id : u.used) {
+            while (users.size() <= id) {
+                users.add(null);
+            }
+            if (users.get(id) == null) {
+                users.set(id, new HashSet<Unit>());
+            }
+            users.get(id).add(u);
+        }
+    }
+
+    // drops what u's last analysis declared and looked up
+    private void forget(Unit u) {
+        if (u.declared >= 0) {
+            declarers.get(u.declared).remove(u);
+            u.declared = -1;
+            u.sym = null;
+        }
+        for (int id : u.used) {
+            users.get(id).remove(u);
+        }
+        u.used = NONE;
+    }
+
+    private static ArrayList<Unit> listAt(ArrayList<ArrayList<Unit>> lists,
+                                          int id) {
+        while (lists.size() <= id) {
+            lists.add(null);
+        }
+        if (lists.get(id) == null) {
+            lists.set(id, new ArrayList<Unit>(1));
+        }
+        return lists.get(id);
+    }
+
+    /**
+     * The globals seen by the unit being analyzed: for each name, the
+     * first declaration of it in a unit before that one.  Every name
+     * looked up is recorded.
+     */
+    private class Globals implements SymTab.Globals {
+        int index;                  // of the unit being analyzed
+        int[] ids = new int[64];    // names looked up
+        int used;
+
+        public Sym lookup(int id) {
+            if (used == ids.length) {
+                ids = Arrays.copyOf(ids, 2 * used);
+            }
+            ids[used++] = id;
+
+            if (id >= declarers.size() || declarers.get(id) == null) {
+                return null;
+            }
+            Unit first = null;
+            for (Unit d : declarers.get(id)) {
+                if (d.index < index &&
+                    (first == null || d.index < first.index)) {
+                    first = d;
+                }
+            }
+            return first == null ? null : first.sym;
+        }
+    }
+
+    // one top-level declaration and the text before it
+    private static class Unit {
+        char[] chars;           // holds the text at from .. to - 1
+        int from;
+        int to;
+        int lexedLine;          // where the text started when lexed
+        int lexedColumn;
+        int newlines;           // in the text
+        int lastColumn;         // column just after the text, if it has
+                                // a newline
+        int index;              // in units
+
+        DeclNode decl;          // null if there is none
+        boolean skipped;        // the declaration had a syntax error and
+                                // was skipped
+        boolean unfinished;     // the text ended inside the declaration
+        Diagnostics syntax = new Diagnostics();
+        Diagnostics names = new Diagnostics();
+
+        int declared = -1;      // global name declared, or -1
+        Sym sym;                // and its declaration
+        int[] used = NONE;      // global names looked up, ascending
+        boolean queued;
+
+        int length() {
+            return to - from;
+        }
+
+        long position(Lines lines) {
+            return Diagnostics.position(lines.line(from),
+                                        lines.column(from));
+        }
+    }
+
+    /**
+     * Line and column numbers for the text being parsed, in chars[1 ..],
+     * which starts at line first and column firstColumn.
+     */
+    private static class Lines {
+        private int first;
+        private int firstColumn;
+        private int[] starts;       // index after each newline, ascending
+
+        Lines(char[] chars, int size, int first, int firstColumn) {
+            this.first = first;
+            this.firstColumn = firstColumn;
+            int n = 0;
+            for (int i = 1; i <= size; i++) {
+                if (chars[i] == '\n') {
+                    n++;
+                }
+            }
+            starts = new int[n];
+            n = 0;
+            for (int i = 1; i <= size; i++) {
+                if (chars[i] == '\n') {
+                    starts[n++] = i + 1;
+                }
+            }
+        }
+
+        int line(int index) {
+            return first + after(index);
+        }
+
+        int column(int index) {
+            int n = after(index);
+            return n == 0 ? firstColumn + index - 1
+                          : index - starts[n - 1] + 1;
+        }
+
+        int index(int line, int column) {
+            return line == first ? 1 + column - firstColumn
+                                 : starts[line - first - 1] + column - 1;
+        }
+
+        // how many lines start at or before index
+        private int after(int index) {
+            int i = Arrays.binarySearch(starts, index);
+            return i >= 0 ? i + 1 : -i - 1;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: java IncrementalCompilation file");
+            System.exit(-1);
+        }
+        SourceText src;
+        try {
+            src = SourceText.read(new File(args[0]));
+        } catch (FileNotFoundException ex) {
+            System.err.println("file " + args[0] + " not found");
+            System.exit(-1);
+            return;
+        }
+
+        PrintStream out = System.out;
+        IncrementalCompilation c = new IncrementalCompilation(src);
+        c.report(out);
+        out.println("done: " + c.getReparsedCount() + " reparsed, " +
+                    c.getAnalyzedCount() + " analyzed");
+
+        BufferedReader in =
+            new BufferedReader(new InputStreamReader(System.in));
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.startsWith("write ")) {
+                UnparseWriter unparsed = new UnparseWriter();
+                if (c.unparse(unparsed)) {
+                    try (OutputStream f =
+                             new FileOutputStream(line.substring(6))) {
+                        unparsed.writeTo(f);
+                    }
+                    out.println("done: written");
+                } else {
+                    out.println("done: not written, the program has errors");
+                }
+                continue;
+            }
+
+            String[] f = line.split(" ", 3);
+            try {
+                c.edit(Integer.parseInt(f[0]), Integer.parseInt(f[1]),
+                       f.length > 2 ? unescape(f[2]) : "");
+            } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+                out.println("bad command: " + line);
+                continue;
+            }
+            c.report(out);
+            out.println("done: " + c.getReparsedCount() + " reparsed, " +
+                        c.getAnalyzedCount() + " analyzed");
+        }
+    }
+
+    private static String unescape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (ch == '\\' && i + 1 < s.length()) {
+                ch = s.charAt(++i);
+                ch = ch == 'n' ? '\n' : ch == 't' ? '\t' : ch;
+            }
+            sb.append(ch);
+        }
+        return sb.toString();
+    }
+}
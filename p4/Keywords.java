@@ -0,0 +1,62 @@
+/**
+ * Keywords
+ *
+ * Classifies identifier text as a keyword.  The lexer has a single rule for
+ * identifiers and keywords, which keeps its DFA small, and asks lookup which
+ * keyword, if any, the text spells.
+ *
+ * The hash (length + 6 * first char + 2 * last char) mod 16 is perfect for
+ * the brevis keywords: no two of them land in the same slot.  So a lookup is
+ * one hash, one slot and at most one comparison.  If the keyword set
+ * changes, the multipliers must be chosen again; the static initializer
+ * checks that the hash is still perfect.
+ */
+class Keywords {
+    private static final String[] WORDS = {
+        "boolean", "integer", "void", "record", "if", "else", "while",
+        "scan", "print", "return", "true", "false"
+    };
+    private static final int[] SYMS = {
+        sym.BOOL, sym.INT, sym.VOID, sym.RECORD, sym.IF, sym.ELSE, sym.WHILE,
+        sym.SCAN, sym.PRINT, sym.RETURN, sym.TRUE, sym.FALSE
+    };
+
+    // slot -> keyword text and token kind; null text for an empty slot
+    private static final char[][] slotText = new char[16][];
+    private static final int[] slotSym = new int[16];
+
+    static {
+        for (int i = 0; i < WORDS.length; i++) {
+            char[] w = WORDS[i].toCharArray();
+            int s = hash(w, 0, w.length);
+            if (slotText[s] != null) {
+                throw new AssertionError("keyword hash is not perfect: " +
+                                         WORDS[i]);
+            }
+            slotText[s] = w;
+            slotSym[s] = SYMS[i];
+        }
+    }
+
+    /**
+     * Returns the token kind (a sym constant) of the keyword spelled by
+     * buf[off .. off+len), or -1 if it is not a keyword.
+     */
+    static int lookup(char[] buf, int off, int len) {
+        int s = hash(buf, off, len);
+        char[] w = slotText[s];
+        if (w == null || w.length != len) {
+            return -1;
+        }
+        for (int i = 0; i < len; i++) {
+            if (w[i] != buf[off + i]) {
+                return -1;
+            }
+        }
+        return slotSym[s];
+    }
+
+    private static int hash(char[] buf, int off, int len) {
+        return (len + 6 * buf[off] + 2 * buf[off + len - 1]) & 15;
+    }
+}
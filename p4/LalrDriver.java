@@ -0,0 +1,306 @@
+import java.util.*;
+import java_cup.runtime.*;
+
+/**
+ * LalrDriver
+ *
+ * Runs the LALR(1) automaton that CUP builds for brevis.cup in place of
+ * lr_parser's own parse loop.  The tables are CUP's, unpacked once per JVM
+ * into dense arrays, so each shift, reduce or goto is a single index.
+ * CUP's rows are lists of (symbol, action) pairs searched on every step.
+ * Parse states are kept on an int stack rather than in the Symbols.
+ *
+ * The semantic actions are CUP's generated ones, run through
+ * parser.do_action unchanged.  They read their right-hand sides out of a
+ * java.util.Stack of Symbols, so the value stack is a SymbolStack: a Stack
+ * whose element array is used directly, without Vector's locking.
+ *
+ * Syntax errors are reported through the parser's syntax_error and
+ * recovered from with lr_parser's algorithm, so both drivers report the
+ * same errors.  The stack is popped to a state that can shift the error
+ * token, the error token is shifted, and input tokens are dropped until
+ * the next SYNC_SIZE of them parse from there.  If no such state or
+ * tokens are found, the parser's unrecovered_syntax_error ends the parse.
+ */
+class LalrDriver {
+    // dense tables, shared by every parse:
+    //   action[state * nTerms + terminal]: 0 error, s+1 shift to s,
+    //                                      -(p+1) reduce by production p
+    //   go[state * nNonTerms + nonterminal]: state to go to after a reduce
+    //   lhs[p], rhsLength[p]: left-hand side and length of production p
+    private static final int nTerms;
+    private static final int nNonTerms;
+    private static final short[] action;
+    private static final short[] go;
+    private static final short[] lhs;
+    private static final short[] rhsLength;
+
+    static {
+        short[][] prods = parser._production_table;
+        short[][] actions = parser._action_table;
+        short[][] gotos = parser._reduce_table;
+
+        lhs = new short[prods.length];
+        rhsLength = new short[prods.length];
+        int maxNonTerm = 0;
+        for (int p = 0; p < prods.length; p++) {
+            lhs[p] = prods[p][0];
+            rhsLength[p] = prods[p][1];
+            maxNonTerm = Math.max(maxNonTerm, lhs[p]);
+        }
+        nNonTerms = maxNonTerm + 1;
+
+        int maxTerm = 0;
+        for (short[] row : actions) {
+            for (int i = 0; i + 1 < row.length; i += 2) {
+                maxTerm = Math.max(maxTerm, row[i]);
+            }
+        }
+        nTerms = maxTerm + 1;
+
+        // a row is (symbol, action) pairs ending in (-1, default action)
+        action = new short[actions.length * nTerms];
+        for (int s = 0; s < actions.length; s++) {
+            short[] row = actions[s];
+            Arrays.fill(action, s * nTerms, (s + 1) * nTerms,
+                        row[row.length - 1]);
+            for (int i = 0; i + 1 < row.length && row[i] >= 0; i += 2) {
+                action[s * nTerms + row[i]] = row[i + 1];
+            }
+        }
+
+        // likewise (nonterminal, state) pairs ending in (-1, default)
+        go = new short[gotos.length * nNonTerms];
+        for (int s = 0; s < gotos.length; s++) {
+            short[] row = gotos[s];
+            Arrays.fill(go, s * nNonTerms, (s + 1) * nNonTerms,
+                        row[row.length - 1]);
+            for (int i = 0; i + 1 < row.length && row[i] >= 0; i += 2) {
+                go[s * nNonTerms + row[i]] = row[i + 1];
+            }
+        }
+    }
+
+    // tokens that must parse after an error before the parse goes on
+    // (lr_parser's error_sync_size)
+    private static final int SYNC_SIZE = 3;
+
+    private parser p;
+    private int[] states = new int[256];
+    private int top;
+    private SymbolStack values = new SymbolStack();
+
+    // during error recovery: the tokens being tried, and the next token
+    private Symbol[] lookahead = new Symbol[SYNC_SIZE];
+    private Symbol token;
+
+    // the start production's Symbol, if it was reduced during recovery
+    private Symbol accepted;
+
+    public LalrDriver(parser p) {
+        this.p = p;
+    }
+
+    /**
+     * Parses the parser's input.  The parser's actions must already be
+     * initialized.  Returns the Symbol for the start production, as
+     * lr_parser.parse does.
+     */
+    public Symbol parse() throws Exception {
+        int top = 0;
+        states[0] = p.start_state();
+        values.clear();
+        values.push(p.getSymbolFactory().startSymbol("START", 0,
+                                                     p.start_state()));
+        Symbol token = p.scan();
+
+        while (true) {
+            int a = action[states[top] * nTerms + token.sym];
+            if (a > 0) {
+                // shift
+                if (++top == states.length) {
+                    states = Arrays.copyOf(states, 2 * top);
+                }
+                states[top] = a - 1;
+                token.parse_state = a - 1;
+                values.push(token);
+                token = p.scan();
+            } else if (a < 0) {
+                // reduce
+                int prod = -a - 1;
+                Symbol result = p.do_action(prod, p, values, top);
+                top -= rhsLength[prod];
+                values.pop(rhsLength[prod]);
+                if (prod == p.start_production()) {
+                    return result;
+                }
+                int next = go[states[top] * nNonTerms + lhs[prod]];
+                if (++top == states.length) {
+                    states = Arrays.copyOf(states, 2 * top);
+                }
+                states[top] = next;
+                result.parse_state = next;
+                values.push(result);
+            } else {
+                p.syntax_error(token);
+                this.top = top;
+                this.token = token;
+                if (!recover()) {
+                    p.unrecovered_syntax_error(token);
+                    return null;
+                }
+                if (accepted != null) {
+                    return accepted;
+                }
+                top = this.top;
+                token = this.token;
+            }
+        }
+    }
+
+    /**
+     * Recovers from a syntax error at token, as lr_parser.error_recovery
+     * does.  Returns false if there is no way to go on.
+     */
+    private boolean recover() throws Exception {
+        if (!shiftError()) {
+            return false;
+        }
+        for (int i = 0; i < SYNC_SIZE; i++) {
+            lookahead[i] = token;
+            token = p.scan();
+        }
+        while (!parsesAhead()) {
+            if (lookahead[0].sym == p.EOF_sym()) {
+                return false;
+            }
+            System.arraycopy(lookahead, 1, lookahead, 0, SYNC_SIZE - 1);
+            lookahead[SYNC_SIZE - 1] = token;
+            token = p.scan();
+        }
+        parseAhead();
+        return true;
+    }
+
+    // pops the stack down to a state that can shift the error token, and
+    // shifts it; returns false if the stack empties first
+    private boolean shiftError() {
+        int errorSym = p.error_sym();
+        Symbol right = values.peek();
+        Symbol left = right;
+        while (action[states[top] * nTerms + errorSym] <= 0) {
+            left = values.peek();
+            values.pop(1);
+            if (--top < 0) {
+                return false;
+            }
+        }
+        int state = action[states[top] * nTerms + errorSym] - 1;
+        Symbol error = p.getSymbolFactory().newSymbol("ERROR", errorSym,
+                                                      left, right);
+        error.parse_state = state;
+        push(state, error);
+        return true;
+    }
+
+    // returns true if the lookahead tokens parse from the current stack,
+    // without running any actions
+    private boolean parsesAhead() {
+        int[] v = Arrays.copyOf(states, top + 1 + 2 * SYNC_SIZE);
+        int vtop = top;
+        int pos = 0;
+        while (true) {
+            int a = action[v[vtop] * nTerms + lookahead[pos].sym];
+            if (a == 0) {
+                return false;
+            } else if (a > 0) {
+                if (++vtop == v.length) {
+                    v = Arrays.copyOf(v, 2 * vtop);
+                }
+                v[vtop] = a - 1;
+                if (++pos == SYNC_SIZE) {
+                    return true;
+                }
+            } else {
+                int prod = -a - 1;
+                if (prod == p.start_production()) {
+                    return true;
+                }
+                vtop -= rhsLength[prod];
+                int next = go[v[vtop] * nNonTerms + lhs[prod]];
+                if (++vtop == v.length) {
+                    v = Arrays.copyOf(v, 2 * vtop);
+                }
+                v[vtop] = next;
+            }
+        }
+    }
+
+    // parses the lookahead tokens for real, running the actions
+    private void parseAhead() throws Exception {
+        int pos = 0;
+        while (true) {
+            Symbol t = lookahead[pos];
+            int a = action[states[top] * nTerms + t.sym];
+            if (a > 0) {
+                t.parse_state = a - 1;
+                push(a - 1, t);
+                if (++pos == SYNC_SIZE) {
+                    return;
+                }
+            } else {
+                // parsesAhead has checked that this is not an error
+                int prod = -a - 1;
+                Symbol result = p.do_action(prod, p, values, top);
+                top -= rhsLength[prod];
+                values.pop(rhsLength[prod]);
+                if (prod == p.start_production()) {
+                    accepted = result;
+                    return;
+                }
+                int next = go[states[top] * nNonTerms + lhs[prod]];
+                result.parse_state = next;
+                push(next, result);
+            }
+        }
+    }
+
+    private void push(int state, Symbol s) {
+        if (++top == states.length) {
+            states = Arrays.copyOf(states, 2 * top);
+        }
+        states[top] = state;
+        values.push(s);
+    }
+
+    /**
+     * The value stack.  The actions only call elementAt and peek; those
+     * and the driver's own push and pop skip Vector's synchronization.
+     */
+    @SuppressWarnings("serial")
+    private static class SymbolStack extends Stack<Symbol> {
+        public Symbol push(Symbol s) {
+            if (elementCount == elementData.length) {
+                elementData = Arrays.copyOf(elementData,
+                                            2 * elementCount + 16);
+            }
+            elementData[elementCount++] = s;
+            return s;
+        }
+
+        // pops n entries
+        void pop(int n) {
+            while (n-- > 0) {
+                elementData[--elementCount] = null;
+            }
+        }
+
+        public Symbol peek() {
+            return (Symbol)elementData[elementCount - 1];
+        }
+
+        public Symbol elementAt(int i) {
+            return (Symbol)elementData[i];
+        }
+    }
+}
@@ -0,0 +1,169 @@
+import java.io.*;
+import java.util.*;
+import java_cup.runtime.Symbol;
+
+/****
+ * Benchmark: the lexer on literal-dense input, and its integer-literal
+ * conversion against the one it replaced.
+ *
+ * Usage: java LexBench [lines [seed]]
+ *
+ * Generates a program of that many lines (default 100000, from seed 1),
+ * each a print of a sum of five integer literals.  A literal has one to
+ * three digits half the time, four to nine otherwise, and one in twenty
+ * is too large for an int.  Then it prints
+ *
+ *   - the nanoseconds per token of the whole lexer over the program, and
+ *   - the nanoseconds per literal of converting the program's literals,
+ *     both with the {DIGIT}+ rule's loop over the lexer buffer and with
+ *     the old Double.parseDouble and Integer.parseInt of a new String.
+ *
+ * Every measurement is taken after WARMUP untimed rounds.  The two
+ * conversions are checked to agree on every literal.
+ ****/
+
+public class LexBench {
+    private static final int LITERALS_PER_LINE = 5;
+    private static final int WARMUP = 5;
+
+    // keeps the JIT from dropping the conversions
+    private static long sink;
+
+    public static void main(String[] args) throws Exception {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+        // the program, and where each literal is in it
+        Random rnd = new Random(seed);
+        StringBuilder sb = new StringBuilder();
+        int[] starts = new int[lines * LITERALS_PER_LINE];
+        int[] ends = new int[starts.length];
+        int n = 0;
+        for (int i = 0; i < lines; i++) {
+            sb.append("print <- ");
+            for (int k = 0; k < LITERALS_PER_LINE; k++) {
+                if (k > 0) {
+                    sb.append(" + ");
+                }
+                starts[n] = sb.length();
+                sb.append(literal(rnd));
+                ends[n++] = sb.length();
+            }
+            sb.append(";\n");
+        }
+        String program = sb.toString();
+        char[] buffer = program.toCharArray();
+
+        for (int i = 0; i < n; i++) {
+            if (convertNew(buffer, starts[i], ends[i]) !=
+                convertOld(buffer, starts[i], ends[i])) {
+                throw new IllegalStateException("conversions differ on " +
+                    program.substring(starts[i], ends[i]));
+            }
+        }
+
+        long lexNs = 0;
+        int tokens = 0;
+        for (int round = 0; round <= WARMUP; round++) {
+            long start = System.nanoTime();
+            tokens = lex(program);
+            lexNs = System.nanoTime() - start;
+        }
+
+        long newNs = 0;
+        long oldNs = 0;
+        for (int round = 0; round <= WARMUP; round++) {
+            newNs = timeNew(buffer, starts, ends, n);
+            oldNs = timeOld(buffer, starts, ends, n);
+        }
+
+        System.out.println(lines + " lines, " + tokens + " tokens, " + n +
+                           " integer literals");
+        System.out.printf("lexer                 %7.1f ns/token%n",
+                          lexNs / (double)tokens);
+        System.out.printf("literal, from buffer  %7.1f ns/literal%n",
+                          newNs / (double)n);
+        System.out.printf("literal, old parse    %7.1f ns/literal%n",
+                          oldNs / (double)n);
+    }
+
+    // the digits of one literal
+    private static String literal(Random rnd) {
+        if (rnd.nextInt(20) == 0) {
+            return Long.toString(Integer.MAX_VALUE + 1L +
+                                 rnd.nextInt(Integer.MAX_VALUE));
+        }
+        int digits = rnd.nextBoolean() ? 1 + rnd.nextInt(3)
+                                       : 4 + rnd.nextInt(6);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < digits; i++) {
+            sb.append((char)('0' + rnd.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+    // scans all of program and returns the number of tokens
+    private static int lex(String program) throws IOException {
+        Yylex scanner = new Yylex(new StringReader(program),
+                                  new Diagnostics());
+        int tokens = 0;
+        for (Symbol s = scanner.next_token(); s.sym != sym.EOF;
+             s = scanner.next_token()) {
+            tokens++;
+        }
+        return tokens;
+    }
+
+    private static long timeNew(char[] buffer, int[] starts, int[] ends,
+                                int n) {
+        long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += convertNew(buffer, starts[i], ends[i]);
+        }
+        long time = System.nanoTime() - start;
+        sink += sum;
+        return time;
+    }
+
+    private static long timeOld(char[] buffer, int[] starts, int[] ends,
+                                int n) {
+        long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += convertOld(buffer, starts[i], ends[i]);
+        }
+        long time = System.nanoTime() - start;
+        sink += sum;
+        return time;
+    }
+
+    /**
+     * The conversion in brevis.jlex's {DIGIT}+ rule, without the warning.
+     */
+    private static int convertNew(char[] buffer, int start, int end) {
+        int intVal = 0;
+        for (int i = start; i < end; i++) {
+            int d = buffer[i] - '0';
+            if (intVal > (Integer.MAX_VALUE - d) / 10) {
+                return Integer.MAX_VALUE;
+            }
+            intVal = intVal * 10 + d;
+        }
+        return intVal;
+    }
+
+    /**
+     * The conversion the {DIGIT}+ rule did before it scanned the buffer,
+     * kept here only to be measured.  yytext() made a new String for each
+     * call.
+     */
+    private static int convertOld(char[] buffer, int start, int end) {
+        double val = Double.parseDouble(new String(buffer, start,
+                                                   end - start));
+        if (val > Integer.MAX_VALUE) {
+            return Integer.MAX_VALUE;
+        }
+        return Integer.parseInt(new String(buffer, start, end - start));
+    }
+}
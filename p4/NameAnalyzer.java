@@ -0,0 +1,179 @@
+import java.util.*;
+
+/**
+ * NameAnalyzer
+ *
+ * The name-analysis pass, in the form a Walk runs.  Declarations are added
+ * to the symbol table as they are reached, scopes are opened and closed
+ * around function bodies and the blocks of if and while statements, and
+ * every identifier that is used (rather than declared) is linked to its
+ * symbol or reported as undeclared.  The work done at each declaration
+ * and identifier is in the node classes; this class only decides where.
+ *
+ * The identifiers in declarations, in read and write statements, and in
+ * dot-accesses are not looked up here.  A dot-access resolves its whole
+ * chain, root included, when it is reached.
+ */
+class NameAnalyzer implements ASTVisitor {
+    private SymTab symtab;
+    private SymTab globalSymTab;   // see DeclNode.nameAnalysis
+
+    // the function whose formals are being declared
+    private FnSym function = null;
+
+    // the tables of the records being declared, and the tables that were
+    // current outside them
+    private Deque<SymTab> outer = new ArrayDeque<SymTab>();
+
+    // identifiers are only looked up while this is 0
+    private int noLookup = 0;
+
+    public NameAnalyzer(SymTab symtab, SymTab globalSymTab) {
+        this.symtab = symtab;
+        this.globalSymTab = globalSymTab;
+    }
+
+    // ---- declarations ----
+
+    public void visit(VarDeclNode n) {
+        n.declare(symtab, globalSymTab);
+        noLookup++;
+    }
+
+    public void leave(VarDeclNode n) {
+        noLookup--;
+    }
+
+    // type, name, formals, body
+    public void visit(FnDeclNode n) {
+        function = n.declare(symtab);
+        noLookup++;
+    }
+
+    public void between(FnDeclNode n, int child) {
+        if (child == 2) {
+            noLookup--;
+        }
+    }
+
+    public void leave(FnDeclNode n) {
+        n.closeScope(symtab);
+    }
+
+    public void visit(FormalDeclNode n) {
+        if (function == null) {
+            // formals are only ever analyzed with their function
+            throw new IllegalStateException("formal analyzed as a " +
+                                            "declaration");
+        }
+        n.declare(symtab, function);
+        noLookup++;
+    }
+
+    public void leave(FormalDeclNode n) {
+        noLookup--;
+    }
+
+    // the fields are declared in a table of their own, with record types
+    // looked up in the table the record is declared in
+    public void visit(RecordDeclNode n) {
+        outer.push(globalSymTab);
+        outer.push(symtab);
+        globalSymTab = symtab;
+        symtab = n.fieldTable(symtab);
+        noLookup++;
+    }
+
+    public void leave(RecordDeclNode n) {
+        SymTab fields = symtab;
+        symtab = outer.pop();
+        globalSymTab = outer.pop();
+        n.declare(symtab, fields);
+        noLookup--;
+    }
+
+    // ---- statements ----
+
+    // condition, declarations, statements
+    public void between(IfStmtNode n, int child) {
+        if (child == 1) {
+            symtab.addScope();
+        }
+    }
+
+    public void leave(IfStmtNode n) {
+        if (!symtab.tryRemoveScope()) {
+            throw new IllegalStateException("no scope to close in IfStmtNode");
+        }
+    }
+
+    // condition, then declarations and statements, else declarations and
+    // statements
+    public void between(IfElseStmtNode n, int child) {
+        if (child == 1) {
+            symtab.addScope();
+        } else if (child == 3) {
+            if (!symtab.tryRemoveScope()) {
+                throw new IllegalStateException("no scope to close in " +
+                                                "IfElseStmtNode (then)");
+            }
+            symtab.addScope();
+        }
+    }
+
+    public void leave(IfElseStmtNode n) {
+        if (!symtab.tryRemoveScope()) {
+            throw new IllegalStateException("no scope to close in " +
+                                            "IfElseStmtNode (else)");
+        }
+    }
+
+    public void between(WhileStmtNode n, int child) {
+        if (child == 1) {
+            symtab.addScope();
+        }
+    }
+
+    public void leave(WhileStmtNode n) {
+        if (!symtab.tryRemoveScope()) {
+            throw new IllegalStateException("no scope to close in " +
+                                            "WhileStmtNode");
+        }
+    }
+
+    // read and write statements are not analyzed
+    public void visit(ReadStmtNode n) {
+        noLookup++;
+    }
+
+    public void leave(ReadStmtNode n) {
+        noLookup--;
+    }
+
+    public void visit(WriteStmtNode n) {
+        noLookup++;
+    }
+
+    public void leave(WriteStmtNode n) {
+        noLookup--;
+    }
+
+    // ---- expressions ----
+
+    public void visit(IdNode n) {
+        if (noLookup == 0) {
+            n.nameAnalysis(symtab);
+        }
+    }
+
+    public void visit(DotAccessExpNode n) {
+        if (noLookup == 0) {
+            n.nameAnalysis(symtab);
+        }
+        noLookup++;
+    }
+
+    public void leave(DotAccessExpNode n) {
+        noLookup--;
+    }
+}
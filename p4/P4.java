@@ -38,6 +38,21 @@ import java_cup.runtime.*;
  * There should be 2 command-line arguments:
  * 1. the file to be parsed
  * 2. the output file into which the AST built by the parser should be unparsed
+ *
+ * These system properties select other modes:
+ *   -Dbrevis.stream    analyze and unparse each declaration as it is parsed
+ *   -Dbrevis.wholefile read the whole input into one array and lex it in
+ *                     place
+ *   -Dbrevis.mapinput  like wholefile, but decode from a memory mapping
+ *   -Dbrevis.compact   keep the program as a FlatAST while parsing
+ *   -Dbrevis.mmap      write the output file through a mapped buffer
+ *   -Dbrevis.stats     print memory and name-analysis statistics
+ *   -Dbrevis.cupdriver parse with CUP's own lr_parser loop rather than
+ *                     LalrDriver
+ *   -Dbrevis.descent   parse with the hand-written DescentParser
+ *
+ * To compile many files at once, use Batch.  To keep a file open and
+ * recompile it as it is edited, use IncrementalCompilation.
  ****/
 
 public class P4 {
@@ -51,48 +66,9 @@ public class P4 {
             System.exit(-1);
         }
 
-        // open input file
-        FileReader inFile = null;
-        try {
-            inFile = new FileReader(args[0]);
-        } catch (FileNotFoundException ex) {
-            System.err.println("file " + args[0] + " not found");
+        Compilation c = new Compilation(new File(args[0]), new File(args[1]));
+        if (c.run(System.out, System.err) != 0) {
             System.exit(-1);
         }
-
-        // open output file
-        PrintWriter outFile = null;
-        try {
-            outFile = new PrintWriter(args[1]);
-        } catch (FileNotFoundException ex) {
-            System.err.println("file " + args[1] +
-                               " could not be opened for writing");
-            System.exit(-1);
-        }
-
-        parser P = new parser(new Yylex(inFile));
-
-        Symbol root = null; // the parser will return a Symbol whose value
-                            // field is the translation of the root nonterminal
-                            // (i.e., of the nonterminal "program")
-
-        try {
-            root = P.parse(); // do the parse
-            System.out.println ("program parsed correctly");
-        } catch (Exception ex){
-            System.err.println("exception occured during parse: " + ex);
-            System.exit(-1);
-        }
-		
-		// ****** Add name analysis part here ******
-        ((ProgramNode)root.value).nameAnalysis();
-
-	if (!(ErrMsg.isFatal)){	
-	        ((ASTnode)root.value).unparse(outFile, 0);
-	}
-        outFile.close();
-
-
-        return;
     }
 }
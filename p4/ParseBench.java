@@ -0,0 +1,91 @@
+import java.io.*;
+
+/****
+ * Benchmark: parse, name analysis and unparse of a large program, and the
+ * heap the parsed AST holds.
+ *
+ * Usage: java ParseBench [functions [runs]]
+ *
+ * Compiles the program that BenchProgram generates with that many
+ * functions (default 3000, about 170k lines), in memory, runs times
+ * (default 3).  Each run analyzes and unparses the tree once in two
+ * walks, then again in the single fused walk that P4 uses, and checks
+ * that both give the same text.  It prints the fastest time of each
+ * phase.  It also
+ * prints the live heap after the parse: the growth from before the parse
+ * to after it, each measured after a System.gc.  That is mostly the AST
+ * and its lists.
+ *
+ * To compare with a build that has no ParseBench, write the same program
+ * with BenchProgram and compile it there with java -Dbrevis.stats P4.
+ * That prints the heap after the parse too.
+ ****/
+
+public class ParseBench {
+    public static void main(String[] args) throws Exception {
+        int functions = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        String program = BenchProgram.generate(functions, 1);
+
+        long parseNs = Long.MAX_VALUE;
+        long analysisNs = Long.MAX_VALUE;
+        long unparseNs = Long.MAX_VALUE;
+        long fusedNs = Long.MAX_VALUE;
+        long heap = 0;
+        for (int run = 0; run < runs; run++) {
+            Diagnostics diag = new Diagnostics();
+            long before = usedHeap();
+
+            long start = System.nanoTime();
+            parser P = new parser(new Yylex(new StringReader(program), diag));
+            P.setDiagnostics(diag);
+            ProgramNode root = (ProgramNode)P.parse().value;
+            long parsed = System.nanoTime();
+
+            heap = usedHeap() - before;
+
+            long analysisStart = System.nanoTime();
+            root.nameAnalysis(diag);
+            long analyzed = System.nanoTime();
+
+            UnparseWriter unparsed = new UnparseWriter();
+            root.unparse(unparsed, 0);
+            long end = System.nanoTime();
+
+            UnparseWriter fused = new UnparseWriter();
+            long fusedStart = System.nanoTime();
+            root.nameAnalysisAndUnparse(diag, fused);
+            long fusedEnd = System.nanoTime();
+
+            if (diag.hasErrors()) {
+                throw new IllegalStateException("generated program has " +
+                                                "errors");
+            }
+            if (!fused.toString().equals(unparsed.toString())) {
+                throw new IllegalStateException("fused walk unparsed " +
+                                                "differently");
+            }
+            parseNs = Math.min(parseNs, parsed - start);
+            analysisNs = Math.min(analysisNs, analyzed - analysisStart);
+            unparseNs = Math.min(unparseNs, end - analyzed);
+            fusedNs = Math.min(fusedNs, fusedEnd - fusedStart);
+        }
+
+        System.out.println(functions + " functions, " +
+                           program.length() / 1024 + " KB, best of " +
+                           runs + " runs");
+        System.out.println("parse           " + parseNs / 1000000 + " ms");
+        System.out.println("name analysis   " + analysisNs / 1000000 + " ms");
+        System.out.println("unparse         " + unparseNs / 1000000 + " ms");
+        System.out.println("both, fused     " + fusedNs / 1000000 + " ms");
+        System.out.printf("heap after parse %.1f MB%n",
+                          heap / (1024.0 * 1024.0));
+    }
+
+    // the heap in use after a collection
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,168 @@
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+
+/**
+ * ParseTables
+ *
+ * Decodes the parser's production, action and reduce-goto tables when the
+ * parser class is loaded.  CUP packs each table into string literals, one
+ * char per entry, and decodes them with lr_parser.unpackFromStrings, which
+ * goes through a StringBuffer one synchronized charAt at a time.  That
+ * runs in the interpreter on every launch, before anything is parsed.
+ *
+ * The build runs this class's main on the generated parser.java to make
+ * the parser call unpack instead.  unpack decodes the same strings from
+ * one char array and takes about a quarter of the time.  The tables stay
+ * in the class file's constant pool, so loading them costs no extra I/O.
+ *
+ * The same step splits the action code.  CUP puts up to 300 actions in one
+ * method, and for brevis that method's bytecode is over HotSpot's 8000-byte
+ * limit, so it is never compiled and every reduce runs in the interpreter.
+ * The build puts each group of ACTIONS_PER_PART actions in a method of its
+ * own and has do_action pick the group with one more switch.
+ */
+class ParseTables {
+    private static final String CUP_UNPACK = "unpackFromStrings(new String[] {";
+    private static final String UNPACK = "ParseTables.unpack(new String[] {";
+
+    private static final int ACTIONS_PER_PART = 8;
+    private static final String PART = "CUP$parser$do_action_part";
+    private static final String CASE_SEP =
+        "          /*. . . . . . . . . . . . . . . . . . . .*/\n";
+    private static final String DEFAULT_SEP =
+        "          /* . . . . . .*/\n";
+    private static final String METHOD_END = "    } /* end of method */\n";
+    private static final String DISPATCH =
+        "  /** Method splitting the generated action code into several parts. */";
+    private static final String DISPATCH_END = "\n    }\n";
+
+    /**
+     * Decodes a table packed by CUP: the number of rows and then, for each
+     * row, its length and its entries, each entry plus 2, with lengths
+     * taking two chars, high half first.
+     */
+    static short[][] unpack(String[] sa) {
+        int len = 0;
+        for (String s : sa) {
+            len += s.length();
+        }
+        char[] c = new char[len];
+        len = 0;
+        for (String s : sa) {
+            s.getChars(0, s.length(), c, len);
+            len += s.length();
+        }
+
+        int n = 0;
+        short[][] table = new short[(c[n] << 16) | c[n + 1]][];
+        n += 2;
+        for (int i = 0; i < table.length; i++) {
+            short[] row = new short[(c[n] << 16) | c[n + 1]];
+            n += 2;
+            for (int j = 0; j < row.length; j++) {
+                row[j] = (short)(c[n++] - 2);
+            }
+            table[i] = row;
+        }
+        return table;
+    }
+
+    /**
+     * Build step: java ParseTables parser.java
+     *
+     * Points the tables of a freshly generated parser.java at unpack.  A
+     * parser.java that has already been converted is left as it is.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: java ParseTables parser.java");
+            System.exit(-1);
+        }
+        Path src = Paths.get(args[0]);
+        String text = new String(Files.readAllBytes(src),
+                                 StandardCharsets.UTF_8);
+        String converted = splitActions(text.replace(CUP_UNPACK, UNPACK));
+        if (!converted.equals(text)) {
+            Files.write(src, converted.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Splits CUP's action method into methods of ACTIONS_PER_PART actions
+     * each.  Only a parser whose actions are all in CUP's first part method
+     * is split; anything else, including a parser that has already been
+     * split, is returned as it is.
+     */
+    private static String splitActions(String text) {
+        String first = PART + String.format("%08d", 0) + "(";
+        String second = PART + String.format("%08d", 1) + "(";
+        int method = text.indexOf(first);
+        if (method < 0 || text.contains(second)) {
+            return text;
+        }
+        int start = text.lastIndexOf("  /**", method);
+        int cases = text.indexOf(CASE_SEP, method);
+        int tail = text.indexOf(DEFAULT_SEP, cases);
+        int end = text.indexOf(METHOD_END, tail) + METHOD_END.length();
+        int dispatch = text.indexOf(DISPATCH, end);
+        int dispatchEnd = text.indexOf(DISPATCH_END, dispatch);
+        if (start < 0 || cases < 0 || tail < 0 || dispatchEnd < 0) {
+            return text;
+        }
+
+        // after the comment, everything up to the switch's opening brace is
+        // the same in every part but for the method's number
+        String headStart = text.substring(text.indexOf("\n", start) + 1,
+                                          method + PART.length());
+        String headEnd = text.substring(method + first.length() - 1, cases);
+        String[] actions = text.substring(cases + CASE_SEP.length(), tail)
+                               .split(java.util.regex.Pattern.quote(CASE_SEP));
+        String defaultCase = text.substring(tail, end);
+
+        StringBuilder out = new StringBuilder(text.length() + 16384);
+        out.append(text, 0, start);
+        int parts = (actions.length + ACTIONS_PER_PART - 1) / ACTIONS_PER_PART;
+        for (int part = 0; part < parts; part++) {
+            int lo = part * ACTIONS_PER_PART;
+            int hi = Math.min(lo + ACTIONS_PER_PART, actions.length);
+            out.append("  /** Method " + part +
+                       " with the actual generated action code for actions " +
+                       lo + " to " + (hi - 1) + ". */\n");
+            out.append(headStart).append(String.format("%08d", part))
+               .append(headEnd);
+            for (int a = lo; a < hi; a++) {
+                out.append(CASE_SEP).append(actions[a]);
+            }
+            out.append(defaultCase).append("\n");
+        }
+
+        out.append(DISPATCH).append("\n");
+        out.append("  public final java_cup.runtime.Symbol CUP$parser$do_action(\n" +
+                   "    int                        CUP$parser$act_num,\n" +
+                   "    java_cup.runtime.lr_parser CUP$parser$parser,\n" +
+                   "    java.util.Stack            CUP$parser$stack,\n" +
+                   "    int                        CUP$parser$top)\n" +
+                   "    throws java.lang.Exception\n" +
+                   "    {\n" +
+                   "      switch (CUP$parser$act_num / " + ACTIONS_PER_PART +
+                   ")\n" +
+                   "        {\n");
+        for (int part = 0; part < parts; part++) {
+            out.append("          case " + part + ":\n" +
+                       "            return " + PART +
+                       String.format("%08d", part) + "(\n" +
+                       "                               CUP$parser$act_num,\n" +
+                       "                               CUP$parser$parser,\n" +
+                       "                               CUP$parser$stack,\n" +
+                       "                               CUP$parser$top);\n");
+        }
+        out.append("          default:\n" +
+                   "            throw new Exception(\n" +
+                   "               \"Invalid action number \"+CUP$parser$act_num+\"found in internal parse table\");\n" +
+                   "        }\n");
+        out.append(METHOD_END);
+        out.append(text, dispatchEnd + DISPATCH_END.length(), text.length());
+        return out.toString();
+    }
+}
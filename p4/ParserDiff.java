@@ -0,0 +1,304 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/****
+ * Differential test of DescentParser against the CUP parser.
+ *
+ * Usage: java ParserDiff [-n programs] [-seed seed] [-keep dir]
+ *
+ * Generates random brevis programs (default 2000, from seed 1) and
+ * compiles each one twice: with the CUP parser and with -Dbrevis.descent.
+ * The two parsers are driven by the same grammar, so for a program
+ * without syntax errors both compilations must agree exactly: same exit
+ * status, same progress output, same errors and warnings, and the same
+ * unparsed program.  About a third of the programs are mutated a token or
+ * two to produce syntax errors.  For those, only the first syntax error
+ * must be the same, because the two parsers recover differently (see
+ * DescentParser).
+ *
+ * Every program where the parsers disagree is listed.  If there is a
+ * -keep directory, the program is also saved there as diffN.brevis.  The
+ * exit status is 0 if the parsers agreed on every program and 1
+ * otherwise.
+ ****/
+
+public class ParserDiff {
+    private static final String[] IDS =
+        {"a", "b", "c", "x", "y", "rec", "f", "g"};
+    private static final String[] BINARY =
+        {"+", "-", "*", "/", "&&", "||", "==", "\\=", "<", ">", "<=", ">="};
+    private static final String[] NOISE =
+        {";", "(", ")", "{", "}", "=", "<", "+", "\\", "x", "integer",
+         "record", ".", ",", "++"};
+
+    private Random rnd;
+
+    private ParserDiff(long seed) {
+        rnd = new Random(seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int programs = 2000;
+        long seed = 1;
+        File keep = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-n") && i + 1 < args.length) {
+                programs = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-seed") && i + 1 < args.length) {
+                seed = Long.parseLong(args[++i]);
+            } else if (args[i].equals("-keep") && i + 1 < args.length) {
+                keep = new File(args[++i]);
+                keep.mkdirs();
+            } else {
+                System.err.println("usage: java ParserDiff [-n programs] " +
+                                   "[-seed seed] [-keep dir]");
+                System.exit(-1);
+            }
+        }
+
+        File in = File.createTempFile("parserdiff", ".brevis");
+        File out = File.createTempFile("parserdiff", ".out");
+        in.deleteOnExit();
+        out.deleteOnExit();
+
+        ParserDiff gen = new ParserDiff(seed);
+        int withErrors = 0;
+        int differ = 0;
+        for (int n = 0; n < programs; n++) {
+            String program = gen.program();
+            Files.write(in.toPath(), program.getBytes());
+            String[] cup = compile(in, out, false);
+            String[] descent = compile(in, out, true);
+
+            boolean syntaxErrors = cup[2].contains("Syntax error");
+            boolean same;
+            if (syntaxErrors) {
+                withErrors++;
+                same = firstSyntaxError(cup[2])
+                           .equals(firstSyntaxError(descent[2]));
+            } else {
+                same = Arrays.equals(cup, descent);
+            }
+            if (!same) {
+                differ++;
+                String name = "program " + n;
+                if (keep != null) {
+                    File f = new File(keep, "diff" + n + ".brevis");
+                    Files.write(f.toPath(), program.getBytes());
+                    name = f.getPath();
+                }
+                System.out.println("parsers differ on " + name);
+            }
+        }
+        System.out.println(programs + " programs, " + withErrors +
+                           " with syntax errors; parsers differ on " +
+                           differ);
+        System.exit(differ == 0 ? 0 : 1);
+    }
+
+    // compiles in into out with one parser; returns the exit status, the
+    // progress output, the messages and the unparsed program
+    private static String[] compile(File in, File out, boolean descent)
+        throws IOException {
+        if (descent) {
+            System.setProperty("brevis.descent", "");
+        } else {
+            System.clearProperty("brevis.descent");
+        }
+        ByteArrayOutputStream progress = new ByteArrayOutputStream();
+        ByteArrayOutputStream messages = new ByteArrayOutputStream();
+        int status;
+        try {
+            status = new Compilation(in, out).run(new PrintStream(progress),
+                                                  new PrintStream(messages));
+        } catch (RuntimeException ex) {
+            status = -2;
+            messages.write(ex.toString().getBytes());
+        }
+        return new String[] {Integer.toString(status), progress.toString(),
+                             messages.toString(),
+                             new String(Files.readAllBytes(out.toPath()))};
+    }
+
+    // the first line of the messages that reports a syntax error
+    private static String firstSyntaxError(String messages) {
+        for (String line : messages.split("\n")) {
+            if (line.contains("Syntax error")) {
+                return line;
+            }
+        }
+        return "";
+    }
+
+    // a program of one to six declarations, mutated three times in ten
+    private String program() {
+        StringBuilder sb = new StringBuilder();
+        int decls = 1 + rnd.nextInt(6);
+        for (int i = 0; i < decls; i++) {
+            sb.append(decl()).append('\n');
+        }
+        String program = sb.toString();
+        if (rnd.nextDouble() < 0.3) {
+            program = mutate(program);
+        }
+        return program;
+    }
+
+    // deletes, inserts or swaps a token or two
+    private String mutate(String program) {
+        List<String> toks = new ArrayList<String>(
+            Arrays.asList(program.replace("\n", " \n ").split(" ")));
+        int changes = 1 + rnd.nextInt(2);
+        for (int c = 0; c < changes; c++) {
+            int i = rnd.nextInt(toks.size());
+            double m = rnd.nextDouble();
+            if (m < 0.4) {
+                toks.remove(i);
+            } else if (m < 0.7) {
+                toks.add(i, pick(NOISE));
+            } else {
+                Collections.swap(toks, i, rnd.nextInt(toks.size()));
+            }
+            if (toks.isEmpty()) {
+                break;
+            }
+        }
+        return String.join(" ", toks);
+    }
+
+    private String decl() {
+        double k = rnd.nextDouble();
+        if (k < 0.3) {
+            return varDecl();
+        }
+        if (k < 0.45) {
+            StringBuilder sb = new StringBuilder("record " + pick(IDS) +
+                                                 " (\n");
+            int fields = 1 + rnd.nextInt(3);
+            for (int i = 0; i < fields; i++) {
+                sb.append(varDecl()).append('\n');
+            }
+            return sb.append(");").toString();
+        }
+        StringBuilder formals = new StringBuilder();
+        int n = rnd.nextInt(4);
+        for (int i = 0; i < n; i++) {
+            formals.append(i > 0 ? ", " : "").append(type()).append(' ')
+                   .append(pick(IDS));
+        }
+        return type() + " " + pick(IDS) + "(" + formals + ") {\n" + body(2) +
+               "}";
+    }
+
+    private String varDecl() {
+        if (rnd.nextDouble() < 0.2) {
+            return "record " + pick(IDS) + " " + pick(IDS) + ";";
+        }
+        return type() + " " + pick(IDS) + ";";
+    }
+
+    private String type() {
+        return pick(new String[] {"integer", "boolean", "void"});
+    }
+
+    private String body(int depth) {
+        StringBuilder sb = new StringBuilder();
+        int decls = rnd.nextInt(3);
+        for (int i = 0; i < decls; i++) {
+            sb.append(varDecl()).append('\n');
+        }
+        int stmts = rnd.nextInt(5);
+        for (int i = 0; i < stmts; i++) {
+            sb.append(stmt(depth)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private String stmt(int depth) {
+        double k = rnd.nextDouble();
+        if (k < 0.25) {
+            return loc() + " = " + exp(3) + ";";
+        } else if (k < 0.3) {
+            return loc() + (rnd.nextBoolean() ? "++;" : "--;");
+        } else if (k < 0.4 && depth > 0) {
+            return "if " + exp(3) + " {" + body(depth - 1) + "}";
+        } else if (k < 0.5 && depth > 0) {
+            return "if " + exp(3) + " {" + body(depth - 1) + "} else {" +
+                   body(depth - 1) + "}";
+        } else if (k < 0.6 && depth > 0) {
+            return "while " + exp(3) + " {" + body(depth - 1) + "}";
+        } else if (k < 0.67) {
+            return "scan -> " + loc() + ";";
+        } else if (k < 0.74) {
+            return "print <- " + exp(3) + ";";
+        } else if (k < 0.84) {
+            return call(3, 2) + ";";
+        } else if (k < 0.92) {
+            return "return " + exp(3) + ";";
+        }
+        return "return;";
+    }
+
+    // an expression nested at most depth operators deep
+    private String exp(int depth) {
+        if (depth <= 0 || rnd.nextDouble() < 0.25) {
+            if (depth > 0 && rnd.nextDouble() < 0.15) {
+                return call(2, depth - 1);
+            }
+            switch (rnd.nextInt(6)) {
+            case 0:  return loc();
+            case 1:  return Integer.toString(rnd.nextInt(100));
+            case 2:  return "true";
+            case 3:  return "false";
+            case 4:  return "\"s\"";
+            default: return pick(IDS) + "()";
+            }
+        }
+        double k = rnd.nextDouble();
+        if (k < 0.55) {
+            String op = pick(BINARY);
+            String left = exp(depth - 1);
+            String right = exp(depth - 1);
+            // comparisons are nonassociative, so mostly parenthesize them
+            if (op.matches("==|\\\\=|<|>|<=|>=") && rnd.nextDouble() < 0.9) {
+                left = "(" + left + ")";
+                right = "(" + right + ")";
+            }
+            return left + " " + op + " " + right;
+        }
+        if (k < 0.65) {
+            return "\\" + exp(depth - 1);
+        }
+        if (k < 0.75) {
+            return "-" + exp(depth - 1);
+        }
+        if (k < 0.88) {
+            return "(" + exp(depth - 1) + ")";
+        }
+        return loc() + " = " + exp(depth - 1);
+    }
+
+    // a call with up to maxArgs arguments of the given depth
+    private String call(int maxArgs, int depth) {
+        StringBuilder sb = new StringBuilder(pick(IDS)).append('(');
+        int n = rnd.nextInt(maxArgs + 1);
+        for (int i = 0; i < n; i++) {
+            sb.append(i > 0 ? ", " : "").append(exp(depth));
+        }
+        return sb.append(')').toString();
+    }
+
+    private String loc() {
+        StringBuilder sb = new StringBuilder(pick(IDS));
+        int dots = rnd.nextInt(5) < 3 ? 0 : 1 + rnd.nextInt(2);
+        for (int i = 0; i < dots; i++) {
+            sb.append('.').append(pick(IDS));
+        }
+        return sb.toString();
+    }
+
+    private String pick(String[] choices) {
+        return choices[rnd.nextInt(choices.length)];
+    }
+}
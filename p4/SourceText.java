@@ -0,0 +1,134 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+
+/**
+ * SourceText
+ *
+ * A whole source file decoded into one char array, for the lexer's
+ * whole-file mode (see Yylex(SourceText, Diagnostics)).  The array has one
+ * spare slot before the text and a '\n' after it:
+ *
+ *   chars[0]                    spare
+ *   chars[1 .. length]          the file
+ *   chars[length + 1]           '\n'
+ *
+ * The lexer scans the array in place.  When it runs off the end it moves
+ * the unfinished token to the front of its buffer; because the text ends
+ * in a newline, which is always a token by itself, that is never more
+ * than one character and lands in the spare slot.  So token slices taken
+ * from the array stay valid for as long as the array lives.
+ */
+class SourceText {
+    private char[] chars;
+    private int length;
+
+    private SourceText(char[] chars, int length) {
+        this.chars = chars;
+        this.length = length;
+    }
+
+    /**
+     * Reads and decodes the whole file, using the platform charset as
+     * FileReader does.
+     */
+    public static SourceText read(File file) throws IOException {
+        byte[] bytes;
+        try (InputStream in = new FileInputStream(file)) {
+            bytes = in.readAllBytes();
+        }
+        return decode(ByteBuffer.wrap(bytes), Charset.defaultCharset());
+    }
+
+    /**
+     * Like read, but maps the file into memory and decodes straight out of
+     * the mapping, so the bytes are never copied into the Java heap.
+     */
+    public static SourceText map(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel ch = raf.getChannel()) {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE - 2) {
+                throw new IOException("file " + file + " is too large");
+            }
+            MappedByteBuffer bytes =
+                ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return decode(bytes, Charset.defaultCharset());
+        }
+    }
+
+    /**
+     * Decodes bytes into a new SourceText.  For charsets that agree with
+     * ASCII on the bytes below 0x80, the leading run of such bytes is
+     * widened to chars directly, and only the rest (if any) goes through a
+     * CharsetDecoder.
+     */
+    public static SourceText decode(ByteBuffer bytes, Charset cs)
+        throws IOException {
+        CharsetDecoder dec = cs.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        int max = (int)Math.ceil(bytes.remaining() *
+                                 (double)dec.maxCharsPerByte());
+        char[] chars = new char[max + 2];
+
+        int length = 0;
+        if (isAsciiCompatible(cs)) {
+            int pos = bytes.position();
+            int n = bytes.remaining();
+            while (length < n) {
+                byte b = bytes.get(pos + length);
+                if (b < 0) {
+                    break;
+                }
+                chars[1 + length] = (char)b;
+                length++;
+            }
+            bytes.position(pos + length);
+        }
+
+        if (bytes.hasRemaining()) {
+            CharBuffer out = CharBuffer.wrap(chars, 1 + length, max - length);
+            CoderResult r = dec.decode(bytes, out, true);
+            if (r.isError()) {
+                r.throwException();
+            }
+            dec.flush(out);
+            length = out.position() - 1;
+        }
+        chars[length + 1] = '\n';
+        return new SourceText(chars, length);
+    }
+
+    /**
+     * Returns a SourceText over chars, whose slots 1 .. length hold the
+     * text.  chars must have room for the '\n' after it, which is stored
+     * here.
+     */
+    static SourceText wrap(char[] chars, int length) {
+        chars[length + 1] = '\n';
+        return new SourceText(chars, length);
+    }
+
+    private static boolean isAsciiCompatible(Charset cs) {
+        return cs.equals(StandardCharsets.UTF_8) ||
+               cs.equals(StandardCharsets.US_ASCII) ||
+               cs.equals(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Returns the array holding the text; see the class comment for the
+     * layout.
+     */
+    char[] getChars() {
+        return chars;
+    }
+
+    /**
+     * Returns the number of characters in the file.
+     */
+    int length() {
+        return length;
+    }
+}
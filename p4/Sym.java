@@ -36,6 +36,7 @@ public class Sym {
 	private String type;
 	private String name;
 	private String kind;
+	protected String signature;     // cached by getSignature
 	
 	public Sym(String type) {
 		this.type = type;	
@@ -61,6 +62,16 @@ public class Sym {
 		return kind;
 	} 
 	
+	/**
+	 * Returns the bracketed type the unparser prints after a use of this
+	 * symbol, e.g. "[integer]".  Built once and cached.
+	 */
+	public String getSignature() {
+		if (signature == null)
+			signature = "[" + type + "]";
+		return signature;
+	}
+
 	public String toString() {
 		return "type:" + type + " name:" + name;
 	}
@@ -91,6 +102,7 @@ class FnSym extends Sym {
 
 	public void addFormals(String type){
 		this.formals.add(type);
+		signature = null;
 	}
 
 	public String getRetType(){
@@ -102,16 +114,18 @@ class FnSym extends Sym {
 	}
 
 	public String getFormalsString(){
-		String formalsList = "";
-		for(int i = 0; i < formals.size(); i++){
-			if(i == 0){
-				formalsList = formals.get(i);
-			} else {
-				formalsList = formalsList + "," + formals.get(i);
-			}
-		}
-		return formalsList;
-	}		
+		return String.join(",", formals);
+	}
+
+	/**
+	 * Returns "[formals->returnType]", e.g. "[integer,boolean->void]".
+	 * Built once and cached until another formal is added.
+	 */
+	public String getSignature(){
+		if (signature == null)
+			signature = "[" + getFormalsString() + "->" + returnType + "]";
+		return signature;
+	}	
 	
 }
 
@@ -138,9 +152,10 @@ class RecordDeclSym extends Sym {
 }
 
 /**
- * (Class representing a RecordDef Sym which consists of a symtab. You should avoid
- * wordiness and redundancy. If necessary, additional paragraphs should
- * be preceded by <p>, the html tag for a new paragraph.)
+ * (Class representing a RecordDef Sym, i.e., the definition of a record type.
+ * Once the record body has been analyzed its symtab is frozen into a compact
+ * field layout: the fields in declaration order, each with an offset, plus
+ * the field ids sorted so a field name resolves by binary search.)
  *
  * <p>Bugs: (a list of bugs and other problems)
  *
@@ -148,22 +163,62 @@ class RecordDeclSym extends Sym {
  */
 
 class RecordDefSym extends Sym {
-	private SymTab symtab;
+	private Sym[] fields;      // in declaration order
+	private int[] offsets;     // offset of each field, in slots
+	private int size;          // total size, in slots
+	private int[] sortedIds;   // field ids, ascending
+	private int[] sortedIndex; // field index for each entry of sortedIds
 
 	public RecordDefSym(SymTab symtab, String type){
 		super(type);
-		this.symtab = symtab;
-	}
-	
-	public SymTab getSymTab(){
-		return this.symtab;
+		int[] ids = symtab.getLocalIds();
+		fields = new Sym[ids.length];
+		offsets = new int[ids.length];
+		long[] keyed = new long[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			fields[i] = symtab.tryLookupLocal(ids[i]);
+			offsets[i] = size;
+			size += slotsFor(fields[i]);
+			keyed[i] = ((long)ids[i] << 32) | i;
+		}
+		Arrays.sort(keyed);
+		sortedIds = new int[ids.length];
+		sortedIndex = new int[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			sortedIds[i] = (int)(keyed[i] >>> 32);
+			sortedIndex[i] = (int)keyed[i];
+		}
 	}
-}
-
-
 
+	/**
+	 * Returns the index of the field with the given IdPool id, or -1 if the
+	 * record has no such field.
+	 */
+	public int indexOf(int id){
+		int i = Arrays.binarySearch(sortedIds, id);
+		return i < 0 ? -1 : sortedIndex[i];
+	}
 
+	public Sym getField(int index){
+		return fields[index];
+	}
 
+	public int getOffset(int index){
+		return offsets[index];
+	}
 
+	public int getFieldCount(){
+		return fields.length;
+	}
 
+	public int getSize(){
+		return size;
+	}
 
+	private static int slotsFor(Sym field){
+		if (field instanceof RecordDeclSym && ((RecordDeclSym)field).getBody() != null) {
+			return ((RecordDeclSym)field).getBody().getSize();
+		}
+		return 1;
+	}
+}
@@ -1,65 +1,290 @@
 import java.util.*;
 
+/**
+ * Scoped symbol table.
+ *
+ * Names are keyed by their IdPool id.  All scopes share a single
+ * open-addressing table that maps each id to a chain of bindings, innermost
+ * first.  Each binding remembers the scope depth it was declared at, and
+ * every scope keeps an undo log of the ids declared in it so that
+ * removeScope can pop exactly those bindings.  This makes lookupGlobal a
+ * single probe no matter how deeply scopes are nested.
+ */
 public class SymTab {
-	private List<HashMap<String, Sym>> list;
-	
+	private int[] keys;             // id+1 per slot, 0 if the slot is empty
+	private Binding[] vals;         // innermost binding, null if none
+	private int used;               // number of non-empty slots
+
+	private int[] undoLog;          // ids declared, in declaration order
+	private int logSize;
+	private int[] scopeStart;       // undoLog index where each scope begins
+	private int depth;              // number of open scopes
+
+	private Globals globals;               // possibly null
+	private AccessPathCache accessPaths;  // possibly null
+	private Diagnostics diagnostics;      // where name analysis reports
+
 	public SymTab() {
-		list = new LinkedList<HashMap<String, Sym>>();
-		list.add(new HashMap<String, Sym>());
+		keys = new int[16];
+		vals = new Binding[16];
+		undoLog = new int[16];
+		scopeStart = new int[8];
+		addScope();
 	}
-	
-	public void addDecl(String name, Sym sym) 
-	throws SymDuplicationException, SymTabEmptyException {
-		if (name == null || sym == null)
+
+	// status codes returned by tryAddDecl
+	public static final int ADDED = 0;
+	public static final int DUPLICATE = 1;
+	public static final int EMPTY = 2;
+
+	/**
+	 * Adds id to the innermost scope unless it is already declared there.
+	 * Returns ADDED, DUPLICATE or EMPTY (no scope open) instead of throwing.
+	 */
+	public int tryAddDecl(int id, Sym sym) {
+		if (id < 0 || sym == null)
 			throw new IllegalArgumentException();
-		
-		if (list.isEmpty())
+
+		if (depth == 0)
+			return EMPTY;
+
+		int s = slot(id);
+		Binding b = vals[s];
+		if (b != null && b.depth == depth)
+			return DUPLICATE;
+		if (depth == 1 && globals != null && globals.lookup(id) != null)
+			return DUPLICATE;
+
+		if (keys[s] == 0) {
+			keys[s] = id + 1;
+			used++;
+		}
+		vals[s] = new Binding(sym, depth, b);
+		if (logSize == undoLog.length)
+			undoLog = Arrays.copyOf(undoLog, logSize * 2);
+		undoLog[logSize++] = id;
+		if (2 * used > keys.length)
+			rehash();
+		return ADDED;
+	}
+
+	/**
+	 * Returns the binding of id in the innermost scope, or null if there is
+	 * none (including when no scope is open).
+	 */
+	public Sym tryLookupLocal(int id) {
+		if (depth == 0)
+			return null;
+
+		Binding b = vals[slot(id)];
+		if (b != null && b.depth == depth)
+			return b.sym;
+		if (depth == 1 && globals != null)
+			return globals.lookup(id);
+		return null;
+	}
+
+	/**
+	 * Returns the innermost visible binding of id, or null if there is none
+	 * (including when no scope is open).
+	 */
+	public Sym tryLookupGlobal(int id) {
+		if (depth == 0)
+			return null;
+
+		Binding b = vals[slot(id)];
+		if (b != null)
+			return b.sym;
+		if (globals != null)
+			return globals.lookup(id);
+		return null;
+	}
+
+	/**
+	 * Removes the innermost scope.  Returns false if no scope is open.
+	 */
+	public boolean tryRemoveScope() {
+		if (depth == 0)
+			return false;
+
+		int start = scopeStart[--depth];
+		while (logSize > start) {
+			int s = slot(undoLog[--logSize]);
+			vals[s] = vals[s].next;
+		}
+		return true;
+	}
+
+	public boolean isEmpty() {
+		return depth == 0;
+	}
+
+	/**
+	 * Sets global declarations made outside this table.  They are seen as
+	 * though they had been declared first in the outermost scope: lookups
+	 * that find no binding here fall back to them, and declaring one of
+	 * their names in the outermost scope is a duplicate.
+	 */
+	public void setGlobals(Globals globals) {
+		this.globals = globals;
+	}
+
+	/**
+	 * Sets the cache used to resolve chained dot-accesses that are analyzed
+	 * against this table.
+	 */
+	public void setAccessPathCache(AccessPathCache cache) {
+		accessPaths = cache;
+	}
+
+	public AccessPathCache getAccessPathCache() {
+		return accessPaths;
+	}
+
+	/**
+	 * Sets where errors found while analyzing against this table go.
+	 */
+	public void setDiagnostics(Diagnostics diagnostics) {
+		this.diagnostics = diagnostics;
+	}
+
+	public Diagnostics getDiagnostics() {
+		return diagnostics;
+	}
+
+	/**
+	 * Returns the ids declared in the innermost scope, in declaration order.
+	 */
+	public int[] getLocalIds() {
+		if (depth == 0)
+			return new int[0];
+		return Arrays.copyOfRange(undoLog, scopeStart[depth - 1], logSize);
+	}
+
+	public void addScope() {
+		if (depth == scopeStart.length)
+			scopeStart = Arrays.copyOf(scopeStart, depth * 2);
+		scopeStart[depth++] = logSize;
+	}
+
+	// The methods below are the original exception-based interface, kept
+	// as a thin layer over the try* methods above.
+
+	public void addDecl(int id, Sym sym)
+	throws SymDuplicationException, SymTabEmptyException {
+		int status = tryAddDecl(id, sym);
+		if (status == EMPTY)
 			throw new SymTabEmptyException();
-		
-		HashMap<String, Sym> symTab = list.get(0);
-		if (symTab.containsKey(name))
+		if (status == DUPLICATE)
 			throw new SymDuplicationException();
-		
-		symTab.put(name, sym);
 	}
-	
-	public void addScope() {
-		list.add(0, new HashMap<String, Sym>());
+
+	public void addDecl(String name, Sym sym)
+	throws SymDuplicationException, SymTabEmptyException {
+		if (name == null)
+			throw new IllegalArgumentException();
+		addDecl(IdPool.intern(name), sym);
 	}
-	
-	public Sym lookupLocal(String name) 
+
+	public Sym lookupLocal(int id)
 	throws SymTabEmptyException {
-		if (list.isEmpty())
+		if (depth == 0)
 			throw new SymTabEmptyException();
-		
-		HashMap<String, Sym> symTab = list.get(0); 
-		return symTab.get(name);
+		return tryLookupLocal(id);
 	}
-	
-	public Sym lookupGlobal(String name) 
+
+	// a name that was never interned cannot be declared, and is not
+	// interned just to look it up
+	public Sym lookupLocal(String name)
 	throws SymTabEmptyException {
-		if (list.isEmpty())
+		if (depth == 0)
 			throw new SymTabEmptyException();
-		
-		for (HashMap<String, Sym> symTab : list) {
-			Sym sym = symTab.get(name);
-			if (sym != null)
-				return sym;
-		}
-		return null;
+		int id = IdPool.find(name);
+		return id < 0 ? null : tryLookupLocal(id);
+	}
+
+	public Sym lookupGlobal(int id)
+	throws SymTabEmptyException {
+		if (depth == 0)
+			throw new SymTabEmptyException();
+		return tryLookupGlobal(id);
+	}
+
+	public Sym lookupGlobal(String name)
+	throws SymTabEmptyException {
+		if (depth == 0)
+			throw new SymTabEmptyException();
+		int id = IdPool.find(name);
+		return id < 0 ? null : tryLookupGlobal(id);
 	}
-	
+
 	public void removeScope() throws SymTabEmptyException {
-		if (list.isEmpty())
+		if (!tryRemoveScope())
 			throw new SymTabEmptyException();
-		list.remove(0);
 	}
-	
+
 	public void print() {
 		System.out.print("\n--- Symbol Table ---\n");
-		for (HashMap<String, Sym> symTab : list) {
+		for (int d = depth; d > 0; d--) {
+			HashMap<String, Sym> symTab = new HashMap<String, Sym>();
+			int end = (d == depth) ? logSize : scopeStart[d];
+			for (int i = scopeStart[d - 1]; i < end; i++) {
+				Binding b = vals[slot(undoLog[i])];
+				while (b.depth != d)
+					b = b.next;
+				symTab.put(IdPool.name(undoLog[i]), b.sym);
+			}
 			System.out.println(symTab.toString());
 		}
 		System.out.println();
 	}
+
+	// finds the slot for id: either the one holding it or the empty slot
+	// where it would go.  Slots are never freed, so probing stays valid
+	// after removeScope empties a chain.
+	private int slot(int id) {
+		int mask = keys.length - 1;
+		int h = id * 0x9E3779B9;
+		int s = (h ^ (h >>> 16)) & mask;
+		while (keys[s] != 0 && keys[s] != id + 1)
+			s = (s + 1) & mask;
+		return s;
+	}
+
+	private void rehash() {
+		int[] oldKeys = keys;
+		Binding[] oldVals = vals;
+		keys = new int[oldKeys.length * 2];
+		vals = new Binding[oldKeys.length * 2];
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != 0) {
+				int s = slot(oldKeys[i] - 1);
+				keys[s] = oldKeys[i];
+				vals[s] = oldVals[i];
+			}
+		}
+	}
+
+	/**
+	 * Global declarations kept outside a SymTab; see setGlobals.
+	 */
+	public interface Globals {
+		/**
+		 * Returns the declaration of id, or null if there is none.
+		 */
+		Sym lookup(int id);
+	}
+
+	// one entry in a name's chain of bindings
+	private static class Binding {
+		Sym sym;
+		int depth;
+		Binding next;   // binding shadowed by this one, possibly null
+
+		Binding(Sym sym, int depth, Binding next) {
+			this.sym = sym;
+			this.depth = depth;
+			this.next = next;
+		}
+	}
 }
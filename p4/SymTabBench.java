@@ -0,0 +1,136 @@
+import java.util.*;
+
+/****
+ * Benchmark: SymTab against the list-of-HashMaps table it replaced.
+ *
+ * Usage: java SymTabBench [max-depth [lookups]]
+ *
+ * For each nesting depth 1, 2, 4, ... up to max-depth (default 64), both
+ * tables get that many scopes of NAMES_PER_SCOPE names each.  Then the
+ * same mix of names is looked up in each: a third declared in the
+ * outermost scope, a third in the innermost, and a third declared
+ * nowhere.  One line per depth gives the nanoseconds per lookupGlobal of
+ * each table.  Every measurement is taken after WARMUP untimed rounds, so
+ * both tables are compiled by then.
+ *
+ * The old table is kept here, as ListSymTab, only to be measured.
+ ****/
+
+public class SymTabBench {
+    private static final int NAMES_PER_SCOPE = 8;
+    private static final int WARMUP = 5;
+
+    // keeps the JIT from dropping the lookups
+    private static int sink;
+
+    public static void main(String[] args) throws Exception {
+        int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+
+        System.out.println("depth   SymTab ns/lookup   old ns/lookup");
+        for (int depth = 1; depth <= maxDepth; depth *= 2) {
+            String[][] names = new String[depth][NAMES_PER_SCOPE];
+            int[][] ids = new int[depth][NAMES_PER_SCOPE];
+            for (int d = 0; d < depth; d++) {
+                for (int k = 0; k < NAMES_PER_SCOPE; k++) {
+                    names[d][k] = "v" + d + "_" + k;
+                    ids[d][k] = IdPool.intern(names[d][k]);
+                }
+            }
+
+            SymTab table = new SymTab();
+            ListSymTab old = new ListSymTab();
+            Sym sym = new Sym("integer");
+            for (int d = 0; d < depth; d++) {
+                if (d > 0) {
+                    table.addScope();
+                    old.addScope();
+                }
+                for (int k = 0; k < NAMES_PER_SCOPE; k++) {
+                    table.tryAddDecl(ids[d][k], sym);
+                    old.addDecl(names[d][k], sym);
+                }
+            }
+
+            // the names to look up, and their ids
+            String[] mix = new String[3 * NAMES_PER_SCOPE];
+            int[] mixIds = new int[mix.length];
+            for (int k = 0; k < NAMES_PER_SCOPE; k++) {
+                mix[3 * k] = names[0][k];
+                mix[3 * k + 1] = names[depth - 1][k];
+                mix[3 * k + 2] = "missing" + k;
+            }
+            for (int i = 0; i < mix.length; i++) {
+                mixIds[i] = IdPool.intern(mix[i]);
+            }
+
+            long newNs = 0;
+            long oldNs = 0;
+            for (int round = 0; round <= WARMUP; round++) {
+                newNs = timeNew(table, mixIds, lookups);
+                oldNs = timeOld(old, mix, lookups);
+            }
+            System.out.printf("%5d   %16.1f   %13.1f%n", depth,
+                              newNs / (double)lookups,
+                              oldNs / (double)lookups);
+        }
+    }
+
+    private static long timeNew(SymTab table, int[] ids, int lookups) {
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < lookups; i++) {
+            if (table.tryLookupGlobal(ids[i % ids.length]) != null) {
+                found++;
+            }
+        }
+        long time = System.nanoTime() - start;
+        sink += found;
+        return time;
+    }
+
+    private static long timeOld(ListSymTab table, String[] names,
+                                int lookups) {
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < lookups; i++) {
+            if (table.lookupGlobal(names[i % names.length]) != null) {
+                found++;
+            }
+        }
+        long time = System.nanoTime() - start;
+        sink += found;
+        return time;
+    }
+
+    /**
+     * The symbol table as it was before SymTab kept every scope in one
+     * hash table: a list of HashMaps, innermost first, searched in turn.
+     */
+    private static class ListSymTab {
+        private List<HashMap<String, Sym>> list =
+            new LinkedList<HashMap<String, Sym>>();
+
+        ListSymTab() {
+            list.add(new HashMap<String, Sym>());
+        }
+
+        void addDecl(String name, Sym sym) {
+            list.get(0).put(name, sym);
+        }
+
+        void addScope() {
+            list.add(0, new HashMap<String, Sym>());
+        }
+
+        Sym lookupGlobal(String name) {
+            for (HashMap<String, Sym> symTab : list) {
+                Sym sym = symTab.get(name);
+                if (sym != null) {
+                    return sym;
+                }
+            }
+            return null;
+        }
+    }
+}
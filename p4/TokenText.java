@@ -0,0 +1,60 @@
+import java.io.*;
+
+/**
+ * TokenText
+ *
+ * The text of a token, as a slice of the array the lexer read it from.
+ * No String is made for it unless toString is called, and then only once;
+ * unparsing writes the slice straight from the array.  A TokenText can
+ * also just wrap a String.
+ */
+class TokenText implements CharSequence {
+    private char[] buf;
+    private int start;
+    private int len;
+    private String str;     // null until needed, unless made from a String
+
+    public TokenText(char[] buf, int start, int len) {
+        this.buf = buf;
+        this.start = start;
+        this.len = len;
+    }
+
+    public TokenText(String str) {
+        this.str = str;
+        this.len = str.length();
+    }
+
+    public int length() {
+        return len;
+    }
+
+    public char charAt(int index) {
+        if (index < 0 || index >= len) {
+            throw new IndexOutOfBoundsException();
+        }
+        return (str != null) ? str.charAt(index) : buf[start + index];
+    }
+
+    public CharSequence subSequence(int from, int to) {
+        return toString().subSequence(from, to);
+    }
+
+    /**
+     * Writes the text to p without making a String.
+     */
+    public void print(PrintWriter p) {
+        if (str != null) {
+            p.print(str);
+        } else {
+            p.write(buf, start, len);
+        }
+    }
+
+    public String toString() {
+        if (str == null) {
+            str = new String(buf, start, len);
+        }
+        return str;
+    }
+}
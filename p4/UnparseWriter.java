@@ -0,0 +1,196 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.util.*;
+
+/**
+ * UnparseWriter
+ *
+ * The sink the unparser writes into.  It is a PrintWriter, so every
+ * unparse method can use it unchanged, but all text goes into one growable
+ * char buffer without locking or per-call String allocation.  When
+ * unparsing is done the buffer is written out in one go, to a Writer, an
+ * OutputStream, or a memory-mapped file.  Pure-ASCII output is copied to
+ * bytes directly instead of going through a CharsetEncoder.
+ *
+ * The buffer can be reused: reset() empties it without shrinking it.
+ */
+class UnparseWriter extends PrintWriter {
+    // indentation strings are slices of this array
+    private static final char[] SPACES = new char[256];
+    static {
+        Arrays.fill(SPACES, ' ');
+    }
+
+    private char[] buf;
+    private int len = 0;
+
+    public UnparseWriter() {
+        this(8192);
+    }
+
+    public UnparseWriter(int capacity) {
+        super(Writer.nullWriter());
+        buf = new char[Math.max(capacity, 16)];
+    }
+
+    /**
+     * Appends indent spaces.
+     */
+    public void indent(int indent) {
+        while (indent > 0) {
+            int n = Math.min(indent, SPACES.length);
+            write(SPACES, 0, n);
+            indent -= n;
+        }
+    }
+
+    public int length() {
+        return len;
+    }
+
+    public void reset() {
+        len = 0;
+    }
+
+    public String toString() {
+        return new String(buf, 0, len);
+    }
+
+    // ---- output ----
+
+    public void writeTo(Writer w) throws IOException {
+        w.write(buf, 0, len);
+        w.flush();
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        if (isAscii()) {
+            byte[] bytes = new byte[Math.min(len, 65536)];
+            for (int off = 0; off < len; off += bytes.length) {
+                int n = Math.min(bytes.length, len - off);
+                for (int i = 0; i < n; i++) {
+                    bytes[i] = (byte)buf[off + i];
+                }
+                out.write(bytes, 0, n);
+            }
+        } else {
+            out.write(toString().getBytes(Charset.defaultCharset()));
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the buffer to file through a memory-mapped region, replacing
+     * whatever the file held before.
+     */
+    public void writeMapped(File file) throws IOException {
+        ByteBuffer bytes = isAscii() ? null :
+            ByteBuffer.wrap(toString().getBytes(Charset.defaultCharset()));
+        long size = bytes == null ? len : bytes.remaining();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel ch = raf.getChannel()) {
+            raf.setLength(size);
+            if (size == 0) {
+                return;
+            }
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_WRITE,
+                                          0, size);
+            if (bytes != null) {
+                map.put(bytes);
+            } else {
+                for (int i = 0; i < len; i++) {
+                    map.put((byte)buf[i]);
+                }
+            }
+            map.force();
+        }
+    }
+
+    private boolean isAscii() {
+        for (int i = 0; i < len; i++) {
+            if (buf[i] >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---- PrintWriter overrides: append to buf, no locking ----
+
+    private void ensure(int extra) {
+        if (len + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+        }
+    }
+
+    public void write(int c) {
+        ensure(1);
+        buf[len++] = (char)c;
+    }
+
+    public void write(char[] cbuf, int off, int n) {
+        ensure(n);
+        System.arraycopy(cbuf, off, buf, len, n);
+        len += n;
+    }
+
+    public void write(String s, int off, int n) {
+        ensure(n);
+        s.getChars(off, off + n, buf, len);
+        len += n;
+    }
+
+    public void write(String s) {
+        write(s, 0, s.length());
+    }
+
+    public void print(String s) {
+        if (s == null) {
+            s = "null";
+        }
+        write(s, 0, s.length());
+    }
+
+    public void print(char c) {
+        write(c);
+    }
+
+    public void print(int i) {
+        if (i == Integer.MIN_VALUE) {
+            print("-2147483648");
+            return;
+        }
+        if (i < 0) {
+            write('-');
+            i = -i;
+        }
+        ensure(10);
+        int start = len;
+        do {
+            buf[len++] = (char)('0' + i % 10);
+            i /= 10;
+        } while (i > 0);
+        for (int a = start, b = len - 1; a < b; a++, b--) {
+            char t = buf[a];
+            buf[a] = buf[b];
+            buf[b] = t;
+        }
+    }
+
+    public void println() {
+        write('\n');
+    }
+
+    public void println(String s) {
+        print(s);
+        write('\n');
+    }
+
+    public void flush() {
+    }
+
+    public void close() {
+    }
+}
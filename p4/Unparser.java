@@ -0,0 +1,364 @@
+import java.io.*;
+
+/**
+ * Unparser
+ *
+ * The unparse pass, in the form a Walk runs: it writes the program back
+ * out as source text, one node at a time, and never descends itself.
+ * Identifiers that name analysis has linked to a symbol are followed by
+ * the symbol's signature.  ASTnode.unparse runs it alone; run in the same
+ * Walk after a NameAnalyzer, it unparses each identifier just after it
+ * has been linked.
+ */
+class Unparser implements ASTVisitor {
+    private PrintWriter p;
+    private int indent;
+
+    // the assignment of the current assignment statement, which is
+    // written without parentheses
+    private AssignExpNode statementAssign = null;
+
+    public Unparser(PrintWriter p, int indent) {
+        this.p = p;
+        this.indent = indent;
+    }
+
+    private void doIndent() {
+        if (p instanceof UnparseWriter) {
+            ((UnparseWriter)p).indent(indent);
+            return;
+        }
+        for (int k = 0; k < indent; k++) p.print(" ");
+    }
+
+    // the lists separate their elements with commas
+
+    public void between(ExpListNode n, int child) {
+        p.print(", ");
+    }
+
+    public void between(FormalsListNode n, int child) {
+        p.print(", ");
+    }
+
+    // ---- declarations ----
+
+    public void visit(VarDeclNode n) {
+        doIndent();
+    }
+
+    public void between(VarDeclNode n, int child) {
+        p.print(" ");
+    }
+
+    public void leave(VarDeclNode n) {
+        p.println(";");
+    }
+
+    // type, name, formals, body
+    public void visit(FnDeclNode n) {
+        doIndent();
+    }
+
+    public void between(FnDeclNode n, int child) {
+        if (child == 1) {
+            p.print(" ");
+        } else if (child == 2) {
+            p.print("(");
+        } else {
+            p.println(") {");
+            indent += 4;
+        }
+    }
+
+    public void leave(FnDeclNode n) {
+        indent -= 4;
+        p.println("}\n");
+    }
+
+    public void between(FormalDeclNode n, int child) {
+        p.print(" ");
+    }
+
+    public void visit(RecordDeclNode n) {
+        doIndent();
+        p.print("record ");
+    }
+
+    public void between(RecordDeclNode n, int child) {
+        p.println("(");
+        indent += 4;
+    }
+
+    public void leave(RecordDeclNode n) {
+        indent -= 4;
+        doIndent();
+        p.println(");\n");
+    }
+
+    // ---- types ----
+
+    public void visit(BoolNode n) {
+        p.print("boolean");
+    }
+
+    public void visit(IntNode n) {
+        p.print("integer");
+    }
+
+    public void visit(VoidNode n) {
+        p.print("void");
+    }
+
+    public void visit(RecordNode n) {
+        p.print("record ");
+    }
+
+    // ---- statements ----
+
+    public void visit(AssignStmtNode n) {
+        doIndent();
+        statementAssign = n.getAssign();
+    }
+
+    public void leave(AssignStmtNode n) {
+        p.println(";");
+    }
+
+    public void visit(PostIncStmtNode n) {
+        doIndent();
+    }
+
+    public void leave(PostIncStmtNode n) {
+        p.println("++;");
+    }
+
+    public void visit(PostDecStmtNode n) {
+        doIndent();
+    }
+
+    public void leave(PostDecStmtNode n) {
+        p.println("--;");
+    }
+
+    // condition, declarations, statements
+    public void visit(IfStmtNode n) {
+        doIndent();
+        p.print("if (");
+    }
+
+    public void between(IfStmtNode n, int child) {
+        if (child == 1) {
+            openBlock();
+        }
+    }
+
+    public void leave(IfStmtNode n) {
+        closeBlock();
+    }
+
+    // condition, then declarations and statements, else declarations and
+    // statements
+    public void visit(IfElseStmtNode n) {
+        doIndent();
+        p.print("if (");
+    }
+
+    public void between(IfElseStmtNode n, int child) {
+        if (child == 1) {
+            openBlock();
+        } else if (child == 3) {
+            closeBlock();
+            doIndent();
+            p.println("else {");
+            indent += 4;
+        }
+    }
+
+    public void leave(IfElseStmtNode n) {
+        closeBlock();
+    }
+
+    public void visit(WhileStmtNode n) {
+        doIndent();
+        p.print("while (");
+    }
+
+    public void between(WhileStmtNode n, int child) {
+        if (child == 1) {
+            openBlock();
+        }
+    }
+
+    public void leave(WhileStmtNode n) {
+        closeBlock();
+    }
+
+    // ends the condition of an if or while and opens its body
+    private void openBlock() {
+        p.println(") {");
+        indent += 4;
+    }
+
+    private void closeBlock() {
+        indent -= 4;
+        doIndent();
+        p.println("}");
+    }
+
+    public void visit(ReadStmtNode n) {
+        doIndent();
+        p.print("scan -> ");
+    }
+
+    public void leave(ReadStmtNode n) {
+        p.println(";");
+    }
+
+    public void visit(WriteStmtNode n) {
+        doIndent();
+        p.print("print <- ");
+    }
+
+    public void leave(WriteStmtNode n) {
+        p.println(";");
+    }
+
+    public void visit(CallStmtNode n) {
+        doIndent();
+    }
+
+    public void leave(CallStmtNode n) {
+        p.println(";");
+    }
+
+    public void visit(ReturnStmtNode n) {
+        doIndent();
+        p.print(n.getExp() == null ? "return" : "return ");
+    }
+
+    public void leave(ReturnStmtNode n) {
+        p.println(";");
+    }
+
+    // ---- expressions ----
+
+    public void visit(TrueNode n) {
+        p.print("true");
+    }
+
+    public void visit(FalseNode n) {
+        p.print("false");
+    }
+
+    public void visit(IdNode n) {
+        p.print(n.getStrVal());
+        if (n.getSymLink() != null) {
+            p.print(n.getSymLink().getSignature());
+        }
+    }
+
+    public void visit(IntLitNode n) {
+        p.print(n.getIntVal());
+    }
+
+    public void visit(StringLitNode n) {
+        n.getText().print(p);
+    }
+
+    public void visit(DotAccessExpNode n) {
+        p.print("(");
+    }
+
+    public void between(DotAccessExpNode n, int child) {
+        p.print(").");
+    }
+
+    public void visit(AssignExpNode n) {
+        if (n != statementAssign) p.print("(");
+    }
+
+    public void between(AssignExpNode n, int child) {
+        p.print(" = ");
+    }
+
+    public void leave(AssignExpNode n) {
+        if (n != statementAssign) p.print(")");
+    }
+
+    public void between(CallExpNode n, int child) {
+        p.print("(");
+    }
+
+    public void leave(CallExpNode n) {
+        p.print(n.getExpList() == null ? "()" : ")");
+    }
+
+    // ---- unary expressions ----
+
+    public void visit(UnaryMinusNode n) {
+        p.print("(-");
+    }
+
+    public void leave(UnaryMinusNode n) {
+        p.print(")");
+    }
+
+    public void visit(NotNode n) {
+        p.print("(\\");
+    }
+
+    public void leave(NotNode n) {
+        p.print(")");
+    }
+
+    // ---- binary expressions ----
+
+    public void visit(PlusNode n) { p.print("("); }
+    public void between(PlusNode n, int child) { p.print(" + "); }
+    public void leave(PlusNode n) { p.print(")"); }
+
+    public void visit(MinusNode n) { p.print("("); }
+    public void between(MinusNode n, int child) { p.print(" - "); }
+    public void leave(MinusNode n) { p.print(")"); }
+
+    public void visit(TimesNode n) { p.print("("); }
+    public void between(TimesNode n, int child) { p.print(" * "); }
+    public void leave(TimesNode n) { p.print(")"); }
+
+    public void visit(DivideNode n) { p.print("("); }
+    public void between(DivideNode n, int child) { p.print(" / "); }
+    public void leave(DivideNode n) { p.print(")"); }
+
+    public void visit(EqualsNode n) { p.print("("); }
+    public void between(EqualsNode n, int child) { p.print(" == "); }
+    public void leave(EqualsNode n) { p.print(")"); }
+
+    // written without its opening parenthesis, as it always has been
+    public void between(NotEqualsNode n, int child) { p.print(" \\= "); }
+    public void leave(NotEqualsNode n) { p.print(")"); }
+
+    public void visit(LessNode n) { p.print("("); }
+    public void between(LessNode n, int child) { p.print(" < "); }
+    public void leave(LessNode n) { p.print(")"); }
+
+    public void visit(LessEqNode n) { p.print("("); }
+    public void between(LessEqNode n, int child) { p.print(" <= "); }
+    public void leave(LessEqNode n) { p.print(")"); }
+
+    public void visit(GreaterNode n) { p.print("("); }
+    public void between(GreaterNode n, int child) { p.print(" > "); }
+    public void leave(GreaterNode n) { p.print(")"); }
+
+    public void visit(GreaterEqNode n) { p.print("("); }
+    public void between(GreaterEqNode n, int child) { p.print(" >= "); }
+    public void leave(GreaterEqNode n) { p.print(")"); }
+
+    public void visit(AndNode n) { p.print("("); }
+    public void between(AndNode n, int child) { p.print(" && "); }
+    public void leave(AndNode n) { p.print(")"); }
+
+    public void visit(OrNode n) { p.print("("); }
+    public void between(OrNode n, int child) { p.print(" || "); }
+    public void leave(OrNode n) { p.print(")"); }
+}
@@ -0,0 +1,472 @@
+/**
+ * Walk
+ *
+ * Runs one or more passes over a subtree in a single traversal: call
+ * node.walk(new Walk(passes...)).  Each node calls the Walk's visit before
+ * its children, its between before each child after the first, and its
+ * leave after them, and the Walk calls the same method of every pass in
+ * the order the passes were given.  So at each node a pass given first
+ * sees the node first, and a pass given later can use what the earlier
+ * ones have done to the node and its ancestors.
+ *
+ * The passes must not descend themselves; see ASTVisitor.  Walk is final
+ * and each of its methods only loops over the passes, so that the calls
+ * from the nodes can be inlined.
+ */
+final class Walk implements ASTVisitor {
+    private ASTVisitor[] passes;
+
+    public Walk(ASTVisitor... passes) {
+        this.passes = passes;
+    }
+
+    // ---- before the children ----
+
+    public void visit(ProgramNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(DeclListNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(StmtListNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(ExpListNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(FormalsListNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(FnBodyNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(VarDeclNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(FnDeclNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(FormalDeclNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(RecordDeclNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(BoolNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(IntNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(VoidNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(RecordNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(AssignStmtNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(PostIncStmtNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(PostDecStmtNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(IfStmtNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(IfElseStmtNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(WhileStmtNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(ReadStmtNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(WriteStmtNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(CallStmtNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(ReturnStmtNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(TrueNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(FalseNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(IdNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(IntLitNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(StringLitNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(DotAccessExpNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(AssignExpNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(CallExpNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(UnaryMinusNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(NotNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(PlusNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(MinusNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(TimesNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(DivideNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(EqualsNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(NotEqualsNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(LessNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(LessEqNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(GreaterNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(GreaterEqNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(AndNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    public void visit(OrNode n) {
+        for (ASTVisitor p : passes) p.visit(n);
+    }
+
+    // ---- after the children ----
+
+    public void leave(ProgramNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(DeclListNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(StmtListNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(ExpListNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(FormalsListNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(FnBodyNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(VarDeclNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(FnDeclNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(FormalDeclNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(RecordDeclNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(RecordNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(AssignStmtNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(PostIncStmtNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(PostDecStmtNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(IfStmtNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(IfElseStmtNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(WhileStmtNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(ReadStmtNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(WriteStmtNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(CallStmtNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(ReturnStmtNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(DotAccessExpNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(AssignExpNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(CallExpNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(UnaryMinusNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(NotNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(PlusNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(MinusNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(TimesNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(DivideNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(EqualsNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(NotEqualsNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(LessNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(LessEqNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(GreaterNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(GreaterEqNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(AndNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    public void leave(OrNode n) {
+        for (ASTVisitor p : passes) p.leave(n);
+    }
+
+    // ---- between two children ----
+
+    public void between(DeclListNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(StmtListNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(ExpListNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(FormalsListNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(FnBodyNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(VarDeclNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(FnDeclNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(FormalDeclNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(RecordDeclNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(IfStmtNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(IfElseStmtNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(WhileStmtNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(DotAccessExpNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(AssignExpNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(CallExpNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(PlusNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(MinusNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(TimesNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(DivideNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(EqualsNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(NotEqualsNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(LessNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(LessEqNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(GreaterNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(GreaterEqNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(AndNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+
+    public void between(OrNode n, int child) {
+        for (ASTVisitor p : passes) p.between(n, child);
+    }
+}
@@ -3,7 +3,7 @@ import java.util.*;
 ///////////////////////////////////////////////////////////////////////////////
 //                   ALL STUDENTS COMPLETE THESE SECTIONS
 // Title:            P4 Name Analyzer
-// Files:            ast.java, ErrMsg.java, Sym.java, P4.java, nameErrors.brevis, test.brevis
+// Files:            ast.java, Diagnostics.java, Sym.java, P4.java, nameErrors.brevis, test.brevis
 // Semester:         (course) Spring 2016
 //
 // Author:           Arun Balaji
@@ -61,16 +61,16 @@ import java.util.*;
 //     Subclass              Children
 //     --------              --------
 //     ProgramNode           DeclListNode
-//     DeclListNode          linked list of DeclNode
+//     DeclListNode          list of DeclNode
 //     DeclNode:
 //       VarDeclNode         TypeNode, IdNode, int
 //       FnDeclNode          TypeNode, IdNode, FormalsListNode, FnBodyNode
 //       FormalDeclNode      TypeNode, IdNode
 //       RecordDeclNode      IdNode, DeclListNode
 //
-//     StmtListNode          linked list of StmtNode
-//     ExpListNode           linked list of ExpNode
-//     FormalsListNode       linked list of FormalDeclNode
+//     StmtListNode          list of StmtNode
+//     ExpListNode           list of ExpNode
+//     FormalsListNode       list of FormalDeclNode
 //     FnBodyNode            DeclListNode, StmtListNode
 //
 //     TypeNode:
@@ -119,14 +119,14 @@ import java.util.*;
 //         OrNode
 //
 // Here are the different kinds of AST nodes again, organized according to
-// whether they are leaves, internal nodes with linked lists of children, 
+// whether they are leaves, internal nodes with lists of children, 
 // or internal nodes with a fixed number of children:
 //
 // (1) Leaf nodes:
 //        BoolNode,  IntNode,     VoidNode,   TrueNode,  FalseNode,
 //        IdNode,    IntLitNode,  StrLitNode
 //
-// (2) Internal nodes with (possibly empty) linked lists of children:
+// (2) Internal nodes with (possibly empty) lists of children:
 //        DeclListNode, StmtListNode, ExpListNode, FormalsListNode
 //
 // (3) Internal nodes with fixed numbers of children:
@@ -147,12 +147,23 @@ import java.util.*;
 // **********************************************************************
 
 abstract class ASTnode { 
-    // every subclass must provide an unparse operation
-    abstract public void unparse(PrintWriter p, int indent);
+    // unparses this subtree, starting indent spaces in; see Unparser
+    public void unparse(PrintWriter p, int indent) {
+        walk(new Walk(new Unparser(p, indent)));
+    }
+
+    // double dispatch: every concrete subclass calls v.visit(this)
+    abstract public void accept(ASTVisitor v);
+
+    // walks this subtree with w: every concrete subclass calls
+    // w.visit(this), walks its children in source order with
+    // w.between(this, i) before child i > 0, and then calls w.leave(this)
+    // if it has children
+    abstract public void walk(Walk w);
 
-    // this method can be used by the unparse methods to do indenting
-    protected void doIndent(PrintWriter p, int indent) {
-        for (int k=0; k<indent; k++) p.print(" ");
+    // calls accept(v) on each child of this node, in source order;
+    // leaves have no children
+    public void visitChildren(ASTVisitor v) {
     }
 }
 
@@ -166,137 +177,176 @@ class ProgramNode extends ASTnode {
         myDeclList = L;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        myDeclList.unparse(p, indent);
-    }
-
     // one child
     private DeclListNode myDeclList;
 
-    public void nameAnalysis(){
+    public void nameAnalysis(Diagnostics diag){
+        nameAnalysis(diag, new AccessPathCache());
+    }
+
+    // as nameAnalysis(diag), with the given access-path cache; with null,
+    // every dot-access is resolved link by link
+    public void nameAnalysis(Diagnostics diag, AccessPathCache cache){
+        SymTab symtab = new SymTab();
+        symtab.setDiagnostics(diag);
+        myAccessPaths = cache;
+        symtab.setAccessPathCache(myAccessPaths);
+        walk(new Walk(new NameAnalyzer(symtab, symtab)));
+    }
+
+    // as nameAnalysis(diag) followed, if it found no errors, by
+    // unparse(p, 0), but in a single walk of the tree.  Text is written
+    // to p as the walk goes, so on errors what p holds is to be thrown
+    // away.
+    public void nameAnalysisAndUnparse(Diagnostics diag, PrintWriter p){
         SymTab symtab = new SymTab();
-        myDeclList.nameAnalysis(symtab);
+        symtab.setDiagnostics(diag);
+        myAccessPaths = new AccessPathCache();
+        symtab.setAccessPathCache(myAccessPaths);
+        walk(new Walk(new NameAnalyzer(symtab, symtab),
+                      new Unparser(p, 0)));
+    }
+
+    // hit/miss statistics for chained dot-accesses, null before
+    // nameAnalysis has run or if it ran without a cache
+    public AccessPathCache getAccessPathCache(){
+        return myAccessPaths;
+    }
+
+    private AccessPathCache myAccessPaths;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myDeclList.walk(w);
+        w.leave(this);
+    }
+
+    public void visitChildren(ASTVisitor v) {
+        myDeclList.accept(v);
     }
 }
 
 class DeclListNode extends ASTnode {
     public DeclListNode(List<DeclNode> S) {
-        myDecls = S;
+        myDecls = S.toArray(new DeclNode[S.size()]);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        Iterator it = myDecls.iterator();
-        try {
-            while (it.hasNext()) {
-                ((DeclNode)it.next()).unparse(p, indent);
+    // children (DeclNodes), stored in an exact-size array
+    private DeclNode[] myDecls;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        for (int i = 0; i < myDecls.length; i++) {
+            if (i > 0) {
+                w.between(this, i);
             }
-        } catch (NoSuchElementException ex) {
-            System.err.println("unexpected NoSuchElementException in DeclListNode.print");
-            System.exit(-1);
+            myDecls[i].walk(w);
         }
+        w.leave(this);
     }
 
-    // list of children (DeclNodes)
-    private List<DeclNode> myDecls;
-
-    public void nameAnalysis(SymTab symtab){
-	this.nameAnalysis(symtab, symtab);
-	}
-
-    public void nameAnalysis(SymTab symtab, SymTab globalSymTab){     
-        for(DeclNode decl : myDecls){
-            if(decl instanceof VarDeclNode) {
-                ((VarDeclNode)decl).nameAnalysis(symtab, globalSymTab);
-            }
-	    else if((decl instanceof FnDeclNode)){
-                ((FnDeclNode)decl).nameAnalysis(symtab);
-            }  
-	    else if((decl instanceof RecordDeclNode)){
-                ((RecordDeclNode)decl).nameAnalysis(symtab);
-            }
-	    else {
-		System.out.println("Not any child of delnode");
-                System.exit(-1);
-            }
+    public void visitChildren(ASTVisitor v) {
+        for (int i = 0; i < myDecls.length; i++) {
+            myDecls[i].accept(v);
         }
     }
 }
 
 class StmtListNode extends ASTnode {
     public StmtListNode(List<StmtNode> S) {
-        myStmts = S;
+        myStmts = S.toArray(new StmtNode[S.size()]);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        Iterator<StmtNode> it = myStmts.iterator();
-        while (it.hasNext()) {
-            it.next().unparse(p, indent);
-        }      
+    // children (StmtNodes), stored in an exact-size array
+    private StmtNode[] myStmts;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
     }
 
-    public void nameAnalysis(SymTab symtab){
-        for(StmtNode stmt : myStmts){
-            stmt.nameAnalysis(symtab);
+    public void walk(Walk w) {
+        w.visit(this);
+        for (int i = 0; i < myStmts.length; i++) {
+            if (i > 0) {
+                w.between(this, i);
+            }
+            myStmts[i].walk(w);
         }
+        w.leave(this);
     }
 
-    // list of children (StmtNodes)
-    private List<StmtNode> myStmts;
+    public void visitChildren(ASTVisitor v) {
+        for (int i = 0; i < myStmts.length; i++) {
+            myStmts[i].accept(v);
+        }
+    }
 }
 
 class ExpListNode extends ASTnode {
     public ExpListNode(List<ExpNode> S) {
-        myExps = S;
+        myExps = S.toArray(new ExpNode[S.size()]);
     }
 
-    public void nameAnalysis(SymTab symtab){
-        for(ExpNode exp : myExps){
-            exp.nameAnalysis(symtab);
-        }
+    // children (ExpNodes), stored in an exact-size array
+    private ExpNode[] myExps;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        Iterator<ExpNode> it = myExps.iterator();
-        if (it.hasNext()) { // if there is at least one element
-            it.next().unparse(p, indent);
-            while (it.hasNext()) {  // print the rest of the list
-                p.print(", ");
-                it.next().unparse(p, indent);
+    public void walk(Walk w) {
+        w.visit(this);
+        for (int i = 0; i < myExps.length; i++) {
+            if (i > 0) {
+                w.between(this, i);
             }
-        } 
+            myExps[i].walk(w);
+        }
+        w.leave(this);
     }
 
-    // list of children (ExpNodes)
-    private List<ExpNode> myExps;
+    public void visitChildren(ASTVisitor v) {
+        for (int i = 0; i < myExps.length; i++) {
+            myExps[i].accept(v);
+        }
+    }
 }
 class FormalsListNode extends ASTnode {
     public FormalsListNode(List<FormalDeclNode> S) {
-        myFormals = S;
+        myFormals = S.toArray(new FormalDeclNode[S.size()]);
     }
 
+    // children (FormalDeclNodes), stored in an exact-size array
+    private FormalDeclNode[] myFormals;
 
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
 
-	public void nameAnalysis(SymTab symtab, FnSym sym) {
-		for (FormalDeclNode fdn : myFormals) {
-			fdn.nameAnalysis(symtab, sym);
-		}
-	}
-
-
-
-    public void unparse(PrintWriter p, int indent) {
-        Iterator<FormalDeclNode> it = myFormals.iterator();
-        if (it.hasNext()) { // if there is at least one element
-            it.next().unparse(p, indent);
-            while (it.hasNext()) {  // print the rest of the list
-                p.print(", ");
-                it.next().unparse(p, indent);
+    public void walk(Walk w) {
+        w.visit(this);
+        for (int i = 0; i < myFormals.length; i++) {
+            if (i > 0) {
+                w.between(this, i);
             }
-        } 
+            myFormals[i].walk(w);
+        }
+        w.leave(this);
     }
 
-    // list of children (FormalDeclNodes)
-    private List<FormalDeclNode> myFormals;
+    public void visitChildren(ASTVisitor v) {
+        for (int i = 0; i < myFormals.length; i++) {
+            myFormals[i].accept(v);
+        }
+    }
 }
 
 class FnBodyNode extends ASTnode {
@@ -305,19 +355,26 @@ class FnBodyNode extends ASTnode {
         myStmtList = stmtList;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        myDeclList.unparse(p, indent);
-        myStmtList.unparse(p, indent);
-    }
-    public void nameAnalysis(SymTab symtab){
-        myDeclList.nameAnalysis(symtab);
-	myStmtList.nameAnalysis(symtab);
-    }
-
-
     // two children
     private DeclListNode myDeclList;
     private StmtListNode myStmtList;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myDeclList.walk(w);
+        w.between(this, 1);
+        myStmtList.walk(w);
+        w.leave(this);
+    }
+
+    public void visitChildren(ASTVisitor v) {
+        myDeclList.accept(v);
+        myStmtList.accept(v);
+    }
 }
 
 
@@ -326,8 +383,11 @@ class FnBodyNode extends ASTnode {
 // **********************************************************************
 
 abstract class DeclNode extends ASTnode {
-    //include abstract method to avoid casting
-    //abstract public void nameAnaylsis(SymTab symtab); 
+    // symtab is the table the declaration goes in; globalSymTab is the
+    // one record type names are looked up in (they differ inside records)
+    public void nameAnalysis(SymTab symtab, SymTab globalSymTab){
+        walk(new Walk(new NameAnalyzer(symtab, globalSymTab)));
+    }
 }
 
 class VarDeclNode extends DeclNode {
@@ -337,100 +397,88 @@ class VarDeclNode extends DeclNode {
         mySize = size;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        doIndent(p, indent);
-        myType.unparse(p, 0);
-        p.print(" ");
-        myId.unparse(p, 0);
-        p.println(";");
-    }
-
     // three children
     private TypeNode myType;
     private IdNode myId;
     private int mySize;  // use value NON_RECORD if this is not a record type
 
+    public int getSize(){
+        return mySize;
+    }
+
     public static int NON_RECORD = -1;
  
-    public void nameAnalysis(SymTab symtab, SymTab globalSymTab){
+    // adds this variable to symtab; its type and name are not analyzed as
+    // uses of identifiers
+    public void declare(SymTab symtab, SymTab globalSymTab){
 	boolean good = true;
 	Sym sym = null;
 	IdNode recordId = null;
 	//check for multiple declarations 
-	try{
-	sym = symtab.lookupLocal(myId.getStrVal());
+	sym = symtab.tryLookupLocal(myId.getIdNum());
 	if(sym != null &&  myType instanceof VoidNode){
 		good = false;
-		ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Non-function declared void");
-		ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
+		symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Non-function declared void");
+		symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
 	//	return;
 	}
 	if(sym != null){
 		//Here
-		ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
+		symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
 		
 		good = false;
  	//	return;  
 	}  
-	} catch(SymTabEmptyException e){
-		ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "SymTabEmptyException Thrown in VarDecl");
-	}
 
 	
 	//check for void
 	if(myType instanceof VoidNode){
-		ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Non-function declared void");
+		symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Non-function declared void");
 		return;
 	}
 	else if(myType instanceof RecordNode){
 		recordId = ((RecordNode)myType).getIdNode();
 		//global lookup to make sure that record type has alread been declared
-		try{
-		    	sym = globalSymTab.lookupGlobal(recordId.getStrVal());
+		    	sym = globalSymTab.tryLookupGlobal(recordId.getIdNum());
 		   	//globalSymTab.print();
 		   	//if the record type has not already been declared then error out
 			//
 			if((sym == null || !(sym instanceof RecordDefSym) && good == false)){
-                                ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Name of record type invalid");
-				ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
+                                symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Name of record type invalid");
+				symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
 
                         } else if(sym == null || !(sym instanceof RecordDefSym)) {
                                 // here
-				ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Name of record type invalid");
-                                //ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
+				symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Name of record type invalid");
+                                //symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
                         }
 		 
 		/*	if(sym == null || !(sym instanceof RecordDefSym)){
-				ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Name of record type invalid");
+				symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Name of record type invalid");
 		
 			} else if((sym == null || !(sym instanceof RecordDefSym) && good == false)) {
-				ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Name of record type invalid");
-				ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
+				symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Name of record type invalid");
+				symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
 			}	*/
-	
-		} catch(SymTabEmptyException e){
-			ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "SymTabEmptyException Thrown in VarDecl");
-			}
-		
 		 
 	}
 
 	if(good){ //good decl
-		try {
-			if(myType instanceof RecordNode){
-				sym = new RecordDeclSym((RecordDefSym)(globalSymTab.lookupGlobal(recordId.getStrVal())), recordId.getStrVal());
-				sym.setName(myId.getStrVal());
-			} else {
-				sym = new Sym(myType.toString());
-				sym.setName(myId.getStrVal());
-			}
-			//add type current symbolTable
-			symtab.addDecl(myId.getStrVal(), sym);
-
-		} catch (SymDuplicationException e){
-			ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "SymDuplicationException thrown in VDN");
-		} catch (SymTabEmptyException e){
-			ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "SymTabEmptyException thrown in VDN");
+		if(myType instanceof RecordNode){
+			// an invalid record type name (already reported) has no body
+			Sym def = globalSymTab.tryLookupGlobal(recordId.getIdNum());
+			sym = new RecordDeclSym(def instanceof RecordDefSym ? (RecordDefSym)def : null, recordId.getStrVal());
+			sym.setName(myId.getStrVal());
+		} else {
+			sym = new Sym(myType.toString());
+			sym.setName(myId.getStrVal());
+		}
+		//add type current symbolTable
+		int status = symtab.tryAddDecl(myId.getIdNum(), sym);
+		if(status == SymTab.DUPLICATE){
+			symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "SymDuplicationException thrown in VDN");
+		} else if(status == SymTab.EMPTY){
+			symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "SymTabEmptyException thrown in VDN");
 		}
 	}
 
@@ -438,6 +486,23 @@ class VarDeclNode extends DeclNode {
 
 		
 }
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myType.walk(w);
+        w.between(this, 1);
+        myId.walk(w);
+        w.leave(this);
+    }
+
+    public void visitChildren(ASTVisitor v) {
+        myType.accept(v);
+        myId.accept(v);
+    }
 }
 class FnDeclNode extends DeclNode {
     public FnDeclNode(TypeNode type,
@@ -450,39 +515,33 @@ class FnDeclNode extends DeclNode {
         myBody = body;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        doIndent(p, indent);
-        myType.unparse(p, 0);
-        p.print(" ");
-        myId.unparse(p, 0);
-        p.print("(");
-        myFormalsList.unparse(p, 0);
-        p.println(") {");
-        myBody.unparse(p, indent+4);
-        p.println("}\n");
-    }
-    public void nameAnalysis(SymTab symtab) {
+    // adds this function to symtab and opens the scope of its formals and
+    // body; returns the function's symbol, for the formals to be added to
+    public FnSym declare(SymTab symtab) {
 	
-	Sym sym = new FnSym(myType.toString());
-
-	try { 
-	    symtab.addDecl(myId.getStrVal(), sym);
-	} catch (SymDuplicationException e) {
-	    ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
-	} catch (SymTabEmptyException e){
-	     ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "SymTabEmptyException thrown in FnNode");
+	FnSym sym = new FnSym(myType.toString());
+
+	int status = symtab.tryAddDecl(myId.getIdNum(), sym);
+	if (status == SymTab.DUPLICATE) {
+	    symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
+	} else if (status == SymTab.EMPTY) {
+	     symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "SymTabEmptyException thrown in FnNode");
 	}
 	
-	symtab.addScope();
-
-	myFormalsList.nameAnalysis(symtab, (FnSym)sym);
+	// access paths are cached per function
+	AccessPathCache cache = symtab.getAccessPathCache();
+	if (cache != null) {
+	    cache.clear();
+	}
 
-	myBody.nameAnalysis(symtab);
+	symtab.addScope();
+	return sym;
+    }
 
-	try {
-	    symtab.removeScope();
-	} catch (SymTabEmptyException e) { 
-	    ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "SymTabEmptyException thrown in FnNode");
+    // closes the scope that declare opened
+    public void closeScope(SymTab symtab) {
+	if (!symtab.tryRemoveScope()) { 
+	    symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "SymTabEmptyException thrown in FnNode");
 	}
     }
     // 4 children
@@ -490,6 +549,29 @@ class FnDeclNode extends DeclNode {
     private IdNode myId;
     private FormalsListNode myFormalsList;
     private FnBodyNode myBody;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myType.walk(w);
+        w.between(this, 1);
+        myId.walk(w);
+        w.between(this, 2);
+        myFormalsList.walk(w);
+        w.between(this, 3);
+        myBody.walk(w);
+        w.leave(this);
+    }
+
+    public void visitChildren(ASTVisitor v) {
+        myType.accept(v);
+        myId.accept(v);
+        myFormalsList.accept(v);
+        myBody.accept(v);
+    }
 }
 
 class FormalDeclNode extends DeclNode {
@@ -498,37 +580,51 @@ class FormalDeclNode extends DeclNode {
         myId = id;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        myType.unparse(p, 0);
-        p.print(" ");
-        myId.unparse(p, 0);
+    public void nameAnalysis(SymTab symtab, SymTab globalSymTab){
+	// formals are only ever analyzed with their function
+	throw new IllegalStateException("formal analyzed as a declaration");
     }
-    public void nameAnalysis(SymTab symtab, FnSym fnsym){
-	    try{
-		Sym sym = symtab.lookupLocal(myId.getStrVal()); // Check for duplicates
 
+    // adds this formal to symtab and its type to fnsym
+    public void declare(SymTab symtab, FnSym fnsym){
 		if(myType instanceof VoidNode){
-			ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Non-function declare void");
+			symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Non-function declare void");
 		}
 		
-		sym = new Sym(myType.toString()); // create new sym and add to Decl
+		Sym sym = new Sym(myType.toString()); // create new sym and add to Decl
 
 		//System.out.println("myId.toString(): " + myId.toString());
 
-		symtab.addDecl(myId.getStrVal(), sym);
-		
-		fnsym.addFormals(myType.toString());
-
-	    } catch (SymDuplicationException e){
-		ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
-	    } catch (SymTabEmptyException e) {
-		ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "SymTabEmptyException thrown in DeclNode");
-	    } 
+		int status = symtab.tryAddDecl(myId.getIdNum(), sym);
+		if(status == SymTab.DUPLICATE){
+			symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
+		} else if(status == SymTab.EMPTY){
+			symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "SymTabEmptyException thrown in DeclNode");
+		} else {
+			fnsym.addFormals(myType.toString());
+		}
 
 }		
     // two children
     private TypeNode myType;
     private IdNode myId;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myType.walk(w);
+        w.between(this, 1);
+        myId.walk(w);
+        w.leave(this);
+    }
+
+    public void visitChildren(ASTVisitor v) {
+        myType.accept(v);
+        myId.accept(v);
+    }
 }
 
 class RecordDeclNode extends DeclNode {
@@ -537,55 +633,58 @@ class RecordDeclNode extends DeclNode {
         myDeclList = declList;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        doIndent(p, indent);
-        p.print("record ");
-        myId.unparse(p, 0);
-        p.println("(");
-        myDeclList.unparse(p, indent+4);
-        doIndent(p, indent);
-        p.println(");\n");
-    }
-
-    public void nameAnalysis(SymTab symtab){
-	try{
+    // returns the new table this record's fields are declared in
+    public SymTab fieldTable(SymTab symtab){
 // a recommended approach is to have a separate symbol table associated with each record definition 
 // and to store this symbol table in the symbol for the name of the record type.
 		//System.out.println("Entering into RecDeclNode name Analysis");
 		//System.out.println("symtab = ");
 		//symtab.print();
 		
-		String name = myId.getStrVal();
-		//System.out.println("Name: " + name);
-
-		Sym sym = symtab.lookupLocal(myId.getStrVal()); // Check for duplicates		
 		// if no duplicates, create a new symtab for this record
 		SymTab newSymTab = new SymTab( ); // create new sym 
+		newSymTab.setDiagnostics(symtab.getDiagnostics());
+		return newSymTab;
+    }
 
-		//Store in sym for record's name	
-
-		// call nameAnalysis on decllist so that it runs on each declnode
-		myDeclList.nameAnalysis(newSymTab, symtab); //Already checking for global symtab. 
+    // adds this record, whose fields have been declared in newSymTab, to
+    // symtab
+    public void declare(SymTab symtab, SymTab newSymTab){
 		// Make sure field is not in record's symTab
                 RecordDefSym recordefsym = new RecordDefSym(newSymTab, myId.getStrVal());
 //		System.out.print("RecordDefSym:");	
 	//	recordefsym.print();		
 		// Finally, add symtab
-		symtab.addDecl(name, recordefsym);
+		int status = symtab.tryAddDecl(myId.getIdNum(), recordefsym);
 	//	System.out.println("SymTab after addDecl for record");
 	//	newSymTab.print();
-		
-
-	} catch (SymDuplicationException e){
-		ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
-	} catch (SymTabEmptyException e) {
-		ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "SymTabEmpty Exception");
-	    	} 
+		if (status == SymTab.DUPLICATE){
+			symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Identifier multiply-declared");
+		} else if (status == SymTab.EMPTY) {
+			symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "SymTabEmpty Exception");
+		}
 	}
  
     // two children
     private IdNode myId;
     private DeclListNode myDeclList;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myId.walk(w);
+        w.between(this, 1);
+        myDeclList.walk(w);
+        w.leave(this);
+    }
+
+    public void visitChildren(ASTVisitor v) {
+        myId.accept(v);
+        myDeclList.accept(v);
+    }
 }
 
 // **********************************************************************
@@ -600,13 +699,17 @@ class BoolNode extends TypeNode {
     public BoolNode() {
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("boolean");
-    }
-
     public String toString() {
         return "boolean";
     }
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+    }
 }
 
 class IntNode extends TypeNode {
@@ -614,25 +717,34 @@ class IntNode extends TypeNode {
     public IntNode() {
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("integer");
-    }
     public String toString() {
         return "integer";
     }
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+    }
 }
 
 class VoidNode extends TypeNode {
     public VoidNode() {
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("void");
-    }
-
     public String toString(){
 	return "void";
     }
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+    }
 }
 
 class RecordNode extends TypeNode {
@@ -640,11 +752,6 @@ class RecordNode extends TypeNode {
         myId = id;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("record ");
-        myId.unparse(p, 0);
-    }
-
     public String toString(){
 	return "record";
     }
@@ -655,6 +762,20 @@ class RecordNode extends TypeNode {
     
     // one child
     private IdNode myId;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myId.walk(w);
+        w.leave(this);
+    }
+
+    public void visitChildren(ASTVisitor v) {
+        myId.accept(v);
+    }
 }
 
 // **********************************************************************
@@ -662,7 +783,6 @@ class RecordNode extends TypeNode {
 // **********************************************************************
 
 abstract class StmtNode extends ASTnode {
-	abstract public void nameAnalysis(SymTab symtab);
 }
 
 class AssignStmtNode extends StmtNode {
@@ -670,17 +790,26 @@ class AssignStmtNode extends StmtNode {
         myAssign = assign;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        doIndent(p, indent);
-        myAssign.unparse(p, -1); // no parentheses
-        p.println(";");
-    }
-    
-    public void nameAnalysis(SymTab symtab){
-	myAssign.nameAnalysis(symtab);
+    public AssignExpNode getAssign(){
+        return myAssign;
     }
+
     // one child
     private AssignExpNode myAssign;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myAssign.walk(w);
+        w.leave(this);
+    }
+
+    public void visitChildren(ASTVisitor v) {
+        myAssign.accept(v);
+    }
 }
 
 class PostIncStmtNode extends StmtNode {
@@ -688,17 +817,22 @@ class PostIncStmtNode extends StmtNode {
         myExp = exp;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        doIndent(p, indent);
-        myExp.unparse(p, 0);
-        p.println("++;");
+    // one child
+    private ExpNode myExp;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
     }
 
-    public void nameAnalysis(SymTab symtab){
-    	myExp.nameAnalysis(symtab);
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp.walk(w);
+        w.leave(this);
+    }
+
+    public void visitChildren(ASTVisitor v) {
+        myExp.accept(v);
     }
-    // one child
-    private ExpNode myExp;
 }
 
 class PostDecStmtNode extends StmtNode {
@@ -706,18 +840,22 @@ class PostDecStmtNode extends StmtNode {
         myExp = exp;
     }
 
-    public void nameAnalysis(SymTab symtab){
-	    myExp.nameAnalysis(symtab);
+    // one child
+    private ExpNode myExp;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        doIndent(p, indent);
-        myExp.unparse(p, 0);
-        p.println("--;");
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp.walk(w);
+        w.leave(this);
     }
 
-    // one child
-    private ExpNode myExp;
+    public void visitChildren(ASTVisitor v) {
+        myExp.accept(v);
+    }
 }
 
 class IfStmtNode extends StmtNode {
@@ -727,41 +865,30 @@ class IfStmtNode extends StmtNode {
         myStmtList = slist;
     }
 
-    public void nameAnalysis(SymTab symtab){
-    	//analyze the first expression
-	myExp.nameAnalysis(symtab);
-
-	//add new scope from curly braces
-	symtab.addScope();
-
-	//perform name analysis for decls then statements
-	myDeclList.nameAnalysis(symtab);
-	myStmtList.nameAnalysis(symtab);
+    // three children
+    private ExpNode myExp;
+    private DeclListNode myDeclList;
+    private StmtListNode myStmtList;
 
-	//remove new scope
-	try{
-		symtab.removeScope();
-	} catch(SymTabEmptyException e){
-		System.out.println("Unexpected SymTabEmptyException thrown in IfStmtNode");
-		System.exit(-1);
-	}
+    public void accept(ASTVisitor v) {
+        v.visit(this);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        doIndent(p, indent);
-        p.print("if (");
-        myExp.unparse(p, 0);
-        p.println(") {");
-        myDeclList.unparse(p, indent+4);
-        myStmtList.unparse(p, indent+4);
-        doIndent(p, indent);
-        p.println("}");        
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp.walk(w);
+        w.between(this, 1);
+        myDeclList.walk(w);
+        w.between(this, 2);
+        myStmtList.walk(w);
+        w.leave(this);
     }
 
-    // three children
-    private ExpNode myExp;
-    private DeclListNode myDeclList;
-    private StmtListNode myStmtList;
+    public void visitChildren(ASTVisitor v) {
+        myExp.accept(v);
+        myDeclList.accept(v);
+        myStmtList.accept(v);
+    }
 }
 
 class IfElseStmtNode extends StmtNode {
@@ -775,64 +902,38 @@ class IfElseStmtNode extends StmtNode {
         myElseStmtList = slist2;
     }
 
-    public void nameAnalysis(SymTab symtab){
-    	//like ifStmtNode analyze the first expression
-	myExp.nameAnalysis(symtab);
-
-	//add new scope
-	symtab.addScope();
-
-	//perform name anlysis on the then declList and the then stmtList
-	myThenDeclList.nameAnalysis(symtab);
-	myThenStmtList.nameAnalysis(symtab);
-
-	//close the then scope
-	try{
-		symtab.removeScope();
-	} catch(SymTabEmptyException e){
-		System.out.println("Unexpected SymTabEmptyException thrown in ifElseStmtNode analysis (then)");
-		System.exit(-1);
-	}
-
-	//add new scope for else
-	symtab.addScope();
-
-	//perform name analysis for else declList and else stmtList
-	myElseDeclList.nameAnalysis(symtab);
-	myElseStmtList.nameAnalysis(symtab);
-
-	//close the else scope
-	try{
-		symtab.removeScope();
-	} catch(SymTabEmptyException e){
-		System.out.println("Unexpected SymTabEmptyException thrown in ifElseStmtNode analysis (else)");
-		System.exit(-1);
-	}
-    }
-
-    public void unparse(PrintWriter p, int indent) {
-        doIndent(p, indent);
-        p.print("if (");
-        myExp.unparse(p, 0);
-        p.println(") {");
-        myThenDeclList.unparse(p, indent+4);
-        myThenStmtList.unparse(p, indent+4);
-        doIndent(p, indent);
-        p.println("}");
-        doIndent(p, indent);
-        p.println("else {");
-        myElseDeclList.unparse(p, indent+4);
-        myElseStmtList.unparse(p, indent+4);
-        doIndent(p, indent);
-        p.println("}"); 
-    }
-
     // five children
     private ExpNode myExp;
     private DeclListNode myThenDeclList;
     private StmtListNode myThenStmtList;
     private StmtListNode myElseStmtList;
     private DeclListNode myElseDeclList;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp.walk(w);
+        w.between(this, 1);
+        myThenDeclList.walk(w);
+        w.between(this, 2);
+        myThenStmtList.walk(w);
+        w.between(this, 3);
+        myElseDeclList.walk(w);
+        w.between(this, 4);
+        myElseStmtList.walk(w);
+        w.leave(this);
+    }
+
+    public void visitChildren(ASTVisitor v) {
+        myExp.accept(v);
+        myThenDeclList.accept(v);
+        myThenStmtList.accept(v);
+        myElseDeclList.accept(v);
+        myElseStmtList.accept(v);
+    }
 }
 
 class WhileStmtNode extends StmtNode {
@@ -842,41 +943,30 @@ class WhileStmtNode extends StmtNode {
         myStmtList = slist;
     }
  
-    public void nameAnalysis(SymTab symtab){
-    	//analyze expression
-	myExp.nameAnalysis(symtab);
-
-	//add new scope
-	symtab.addScope();
-
-	//perform name analysis on declList then StmtList
-	myDeclList.nameAnalysis(symtab);
-	myStmtList.nameAnalysis(symtab);
+    // three children
+    private ExpNode myExp;
+    private DeclListNode myDeclList;
+    private StmtListNode myStmtList;
 
-	//close scope
-	try{
-		symtab.removeScope();
-	} catch(SymTabEmptyException e){
-		System.out.println("Unexpected symtabemptyexception thrown in while nameAnalysis");
-		System.exit(-1);
-	}
+    public void accept(ASTVisitor v) {
+        v.visit(this);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        doIndent(p, indent);
-        p.print("while (");
-        myExp.unparse(p, 0);
-        p.println(") {");
-        myDeclList.unparse(p, indent+4);
-        myStmtList.unparse(p, indent+4);
-        doIndent(p, indent);
-        p.println("}");
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp.walk(w);
+        w.between(this, 1);
+        myDeclList.walk(w);
+        w.between(this, 2);
+        myStmtList.walk(w);
+        w.leave(this);
     }
 
-    // three children
-    private ExpNode myExp;
-    private DeclListNode myDeclList;
-    private StmtListNode myStmtList;
+    public void visitChildren(ASTVisitor v) {
+        myExp.accept(v);
+        myDeclList.accept(v);
+        myStmtList.accept(v);
+    }
 }
 
 //TODO: do this
@@ -885,16 +975,22 @@ class ReadStmtNode extends StmtNode {
         myExp = e;
     }
 
-    public void nameAnalysis(SymTab symtab){}
-    public void unparse(PrintWriter p, int indent) {
-        doIndent(p, indent);
-        p.print("scan -> ");
-        myExp.unparse(p, 0);
-        p.println(";");
-    }
-
     // one child (actually can only be an IdNode or an ArrayExpNode)
     private ExpNode myExp;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp.walk(w);
+        w.leave(this);
+    }
+
+    public void visitChildren(ASTVisitor v) {
+        myExp.accept(v);
+    }
 }
 
 //TODO:do this
@@ -903,16 +999,22 @@ class WriteStmtNode extends StmtNode {
         myExp = exp;
     }
 
-    public void nameAnalysis(SymTab symtab){}
-    public void unparse(PrintWriter p, int indent) {
-        doIndent(p, indent);
-        p.print("print <- ");
-        myExp.unparse(p, 0);
-        p.println(";");
-    }
-
     // one child
     private ExpNode myExp;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp.walk(w);
+        w.leave(this);
+    }
+
+    public void visitChildren(ASTVisitor v) {
+        myExp.accept(v);
+    }
 }
 
 class CallStmtNode extends StmtNode {
@@ -920,19 +1022,22 @@ class CallStmtNode extends StmtNode {
         myCall = call;
     }
 
-    public void nameAnalysis(SymTab symtab){
-    	//perform nameAnalysis for myCall
-	myCall.nameAnalysis(symtab);
+    // one child
+    private CallExpNode myCall;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        doIndent(p, indent);
-        myCall.unparse(p, indent);
-        p.println(";");
+    public void walk(Walk w) {
+        w.visit(this);
+        myCall.walk(w);
+        w.leave(this);
     }
 
-    // one child
-    private CallExpNode myCall;
+    public void visitChildren(ASTVisitor v) {
+        myCall.accept(v);
+    }
 }
 
 class ReturnStmtNode extends StmtNode {
@@ -940,26 +1045,30 @@ class ReturnStmtNode extends StmtNode {
         myExp = exp;
     }
 
-    public void nameAnalysis(SymTab symtab){
-    	//perform null check - void typed function
-	if(myExp != null){
-		myExp.nameAnalysis(symtab);
-	}
-	
+    public ExpNode getExp(){
+        return myExp;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        doIndent(p, indent);
-        p.print("return");
+    // one child
+    private ExpNode myExp; // possibly null
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
         if (myExp != null) {
-            p.print(" ");
-            myExp.unparse(p, 0);
+            myExp.walk(w);
         }
-        p.println(";");
+        w.leave(this);
     }
 
-    // one child
-    private ExpNode myExp; // possibly null
+    public void visitChildren(ASTVisitor v) {
+        if (myExp != null) {
+            myExp.accept(v);
+        }
+    }
 }
 
 // **********************************************************************
@@ -967,7 +1076,18 @@ class ReturnStmtNode extends StmtNode {
 // **********************************************************************
 
 abstract class ExpNode extends ASTnode {
-   abstract public void nameAnalysis(SymTab symtab);
+    public void nameAnalysis(SymTab symtab){
+        walk(new Walk(new NameAnalyzer(symtab, symtab)));
+    }
+
+    // Returns the record definition that a dot-access with this node on
+    // its left-hand side selects field from, or null (after reporting any
+    // error) if there is none.  Only IdNode and DotAccessExpNode can be
+    // on the left of a dot.
+    public RecordDefSym dotAccessRecord(IdNode field, Diagnostics diag){
+        throw new IllegalStateException(
+            "unexpected node type in LHS of dot-access");
+    }
 
 }
 
@@ -977,14 +1097,24 @@ class TrueNode extends ExpNode {
         myCharNum = charNum;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("true");
+    public int getLineNum(){
+        return myLineNum;
     }
 
-    public void nameAnalysis(SymTab symtab){}
+    public int getCharNum(){
+        return myCharNum;
+    }
 
     private int myLineNum;
     private int myCharNum;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+    }
 }
 
 class FalseNode extends ExpNode {
@@ -993,33 +1123,36 @@ class FalseNode extends ExpNode {
         myCharNum = charNum;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("false");
+    public int getLineNum(){
+        return myLineNum;
+    }
+
+    public int getCharNum(){
+        return myCharNum;
     }
 
-    public void nameAnalysis(SymTab symtab){}
     private int myLineNum;
     private int myCharNum;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+    }
 }
 
 class IdNode extends ExpNode {
     public IdNode(int lineNum, int charNum, String strVal) {
-        myLineNum = lineNum;
-        myCharNum = charNum;
-        myStrVal = strVal;
+        this(lineNum, charNum, IdPool.intern(strVal));
     }
 
-    public void unparse(PrintWriter p, int indent) {
-	p.print(myStrVal);
-	if(symLink != null && !(symLink instanceof FnSym)){
-		p.print("[" + symLink.getType()+ "]");
-    	}
-	if(symLink instanceof FnSym){
-		List<String> formals =  (((FnSym)symLink).getFormals());
-		String retType = (((FnSym)symLink).getRetType());
-		String formalsList = ((FnSym)symLink).getFormalsString();
-		p.print("[" + formalsList + "->" + retType + "]"); 
-	}
+    public IdNode(int lineNum, int charNum, int idNum) {
+        myLineNum = lineNum;
+        myCharNum = charNum;
+        myIdNum = idNum;
+        myStrVal = IdPool.name(idNum);
     }
 
     public int getLineNum(){
@@ -1034,6 +1167,10 @@ class IdNode extends ExpNode {
         return myStrVal;
     }
 
+    public int getIdNum(){
+        return myIdNum;
+    }
+
     public void setSymLink(Sym sym){
         this.symLink = sym;
     }
@@ -1042,17 +1179,30 @@ class IdNode extends ExpNode {
 	    return symLink;
     }
 
+    // this node is the LHS of a dot-access
+    public RecordDefSym dotAccessRecord(IdNode field, Diagnostics diag){
+        // If it is null then return
+        if (symLink == null) {
+            return null;
+        } 
+        else if (symLink instanceof RecordDeclSym) { 
+            // if sym is a StructDeclSym, get its record definition
+            return ((RecordDeclSym)symLink).getBody();
+        } else {
+            diag.error(field.getLineNum(), field.getCharNum(), "Dot-access of non-record type");
+            return null;
+        }
+    }
+
     public void nameAnalysis(SymTab symtab) {
 
-	try{
-		symLink = symtab.lookupGlobal(myStrVal);
-	} catch (SymTabEmptyException e) {
-		ErrMsg.fatal(this.myLineNum, this.myCharNum, "Unexpected SymTabEmptyException");
-		System.exit(-1); 
+	if(symtab.isEmpty()){
+		throw new IllegalStateException("identifier analyzed with no scope open");
 	}
+	symLink = symtab.tryLookupGlobal(myIdNum);
  
 	if(symLink == null){
-	    ErrMsg.fatal(this.myLineNum, this.myCharNum, "Identifier undeclared");
+	    symtab.getDiagnostics().error(this.myLineNum, this.myCharNum, "Identifier undeclared");
 	}	
 	else {
 	    setSymLink(symLink);
@@ -1063,7 +1213,16 @@ class IdNode extends ExpNode {
     private int myLineNum;
     private int myCharNum;
     private String myStrVal;
+    private int myIdNum;     // IdPool id of myStrVal
     private Sym symLink;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+    }
 }
 
 class IntLitNode extends ExpNode {
@@ -1073,33 +1232,70 @@ class IntLitNode extends ExpNode {
         myIntVal = intVal;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print(myIntVal);
+    public int getLineNum(){
+        return myLineNum;
+    }
+
+    public int getCharNum(){
+        return myCharNum;
+    }
+
+    public int getIntVal(){
+        return myIntVal;
     }
 
-    public void nameAnalysis(SymTab symtab){
-	}
     private int myLineNum;
     private int myCharNum;
     private int myIntVal;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+    }
 }
 
 class StringLitNode extends ExpNode {
     public StringLitNode(int lineNum, int charNum, String strVal) {
+        this(lineNum, charNum, new TokenText(strVal));
+    }
+
+    public StringLitNode(int lineNum, int charNum, TokenText strVal) {
         myLineNum = lineNum;
         myCharNum = charNum;
         myStrVal = strVal;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print(myStrVal);
+    public int getLineNum(){
+        return myLineNum;
     }
 
-    public void nameAnalysis(SymTab symtab){}
+    public int getCharNum(){
+        return myCharNum;
+    }
+
+    public String getStrVal(){
+        return myStrVal.toString();
+    }
+
+    // the literal's text, without making a String of it
+    public TokenText getText(){
+        return myStrVal;
+    }
 
     private int myLineNum;
     private int myCharNum;
-    private String myStrVal;
+    private TokenText myStrVal;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+    }
 }
 
 class DotAccessExpNode extends ExpNode {
@@ -1109,85 +1305,148 @@ class DotAccessExpNode extends ExpNode {
 	prev = null;   
     }
 
-    // **** unparse ****
-    public void unparse(PrintWriter p, int indent) {
-        p.print("(");
-        myLoc.unparse(p, 0);
-        p.print(").");
-        myId.unparse(p, 0);
-    }
-
     public void nameAnalysis(SymTab symtab){
-	    //System.out.println("Entering DotNameAnalysis: LocalSym");
-	    if(symtab != null){
-		   // symtab.print();
-	    }
-	    myLoc.nameAnalysis(symtab);
+	AccessPathCache cache = symtab.getAccessPathCache();
+	if (cache == null) {
+	    resolve(symtab);
+	    return;
+	}
 
-	SymTab futureTab = null;
-	Sym sym = null;
+	// collect the field ids of the whole chain, innermost first
+	int len = 0;
+	ExpNode root = this;
+	while (root instanceof DotAccessExpNode) {
+	    len++;
+	    root = ((DotAccessExpNode)root).myLoc;
+	}
+	if (!(root instanceof IdNode)) {
+	    resolve(symtab);
+	    return;
+	}
+	int[] ids = cache.idBuffer(len);
+	DotAccessExpNode link = this;
+	for (int i = len - 1; i >= 0; i--) {
+	    ids[i] = link.myId.getIdNum();
+	    if (i > 0) link = (DotAccessExpNode)link.myLoc;
+	}
 
-       if (myLoc instanceof IdNode) {
-            sym = ((IdNode)myLoc).getSymLink();
-            // If it is null then return
-            if (sym == null) {
-                return;
-            } 
-	    else if (sym instanceof RecordDeclSym) { 
-                // if sym is a StructDeclSym, get the symTable for it
-                futureTab = ((RecordDeclSym)sym).getBody().getSymTab(); //TODO: Look into this
-            } else {
-                ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Dot-access of non-record type");
-                return;
-            }
+	IdNode rootId = (IdNode)root;
+	Sym rootSym = symtab.tryLookupGlobal(rootId.getIdNum());
+	AccessPathCache.Entry hit =
+	    rootSym == null ? null : cache.find(rootSym, ids, len);
+	if (hit != null) {
+	    // same root symbol and fields as a path seen before in this
+	    // function: just relink every node of the chain
+	    rootId.setSymLink(rootSym);
+	    link = this;
+	    for (int i = len - 1; i >= 0; i--) {
+		link.link(hit.indices[i], hit.fields[i]);
+		if (i > 0) link = (DotAccessExpNode)link.myLoc;
+	    }
+	    return;
 	}
-	else if (myLoc instanceof DotAccessExpNode) {
-		sym = ((DotAccessExpNode)myLoc).getSym();
-		if (sym == null) {
-			ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Dot-access of non-record type");
-			return;
-		}
-		else {
-			if (sym instanceof RecordDefSym) {
-				futureTab = ((RecordDefSym)sym).getSymTab();
-			}
-			else{
-				ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Dot-access of non-record type");
-				return;
-			}
-		}
-	} 
-	else {
-	    System.err.println("Unexpected node type in LHS of dot-access");
-            System.exit(-1);
+
+	resolve(symtab);
+	if (myFieldIndex >= 0) {
+	    // the whole chain resolved without error; remember it
+	    int[] indices = new int[len];
+	    Sym[] fields = new Sym[len];
+	    link = this;
+	    for (int i = len - 1; i >= 0; i--) {
+		indices[i] = link.myFieldIndex;
+		fields[i] = link.myId.getSymLink();
+		if (i > 0) link = (DotAccessExpNode)link.myLoc;
+	    }
+	    cache.add(rootSym, ids, len, indices, fields);
+	}
+    }
+
+    // resolves this link of the chain (and, first, the links to its left)
+    // without consulting the access-path cache
+    private void resolve(SymTab symtab){
+	myFieldIndex = -1;
+	prev = null;
+	if (myLoc instanceof DotAccessExpNode) {
+	    ((DotAccessExpNode)myLoc).resolve(symtab);
+	} else {
+	    myLoc.nameAnalysis(symtab);
 	}
 
-	try{
-		sym = futureTab.lookupGlobal(myId.getStrVal());
-	} catch(SymTabEmptyException e) {
-		ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Unexpected SymTabEmptyException thrown in DotAccessExpNode");
+	RecordDefSym record = myLoc.dotAccessRecord(myId, symtab.getDiagnostics());
+	if (record == null) {
+	    return;
 	}
-	//sym = futureTab.lookupGlobal(myId.getStrVal());
-	if (sym == null) {
-            ErrMsg.fatal(myId.getLineNum(), myId.getCharNum(), "Record field name invalid");
+
+	// resolve the field to its index in the record's layout once, and
+	// keep the index on this node
+	myFieldIndex = record.indexOf(myId.getIdNum());
+	if (myFieldIndex < 0) {
+            symtab.getDiagnostics().error(myId.getLineNum(), myId.getCharNum(), "Record field name invalid");
         } else {
-            // Link the symbol
-            myId.setSymLink(sym);
-            // If the RHS is a struct, we want to do chained access
-            if (sym instanceof RecordDeclSym) {
-                // store the previous sym
-                prev = ((RecordDeclSym)sym).getBody();
-            } 
+            link(myFieldIndex, record.getField(myFieldIndex));
         }
 	}
 
+    // links this node to field number index of its record
+    private void link(int index, Sym sym){
+        myFieldIndex = index;
+        // Link the symbol
+        myId.setSymLink(sym);
+        // If the RHS is a struct, we want to do chained access
+        if (sym instanceof RecordDeclSym) {
+            // store the previous sym
+            prev = ((RecordDeclSym)sym).getBody();
+        } 
+    }
+
     public Sym getSym(){
 	return prev;
 }
+
+    // this node is the LHS of another dot-access
+    public RecordDefSym dotAccessRecord(IdNode field, Diagnostics diag){
+	if (prev == null) {
+		diag.error(field.getLineNum(), field.getCharNum(), "Dot-access of non-record type");
+		return null;
+	}
+	else {
+		if (prev instanceof RecordDefSym) {
+			return (RecordDefSym)prev;
+		}
+		else{
+			diag.error(field.getLineNum(), field.getCharNum(), "Dot-access of non-record type");
+			return null;
+		}
+	}
+    }
+
+    // index of the accessed field in its record, -1 if not resolved
+    public int getFieldIndex(){
+        return myFieldIndex;
+    }
+
     // two children
     private ExpNode myLoc;    
     private IdNode myId;
     private Sym prev;
+    private int myFieldIndex = -1;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myLoc.walk(w);
+        w.between(this, 1);
+        myId.walk(w);
+        w.leave(this);
+    }
+
+    public void visitChildren(ASTVisitor v) {
+        myLoc.accept(v);
+        myId.accept(v);
+    }
 }
 
 class AssignExpNode extends ExpNode {
@@ -1196,20 +1455,26 @@ class AssignExpNode extends ExpNode {
         myExp = exp;
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        if (indent != -1)  p.print("(");
-        myLhs.unparse(p, 0);
-        p.print(" = ");
-        myExp.unparse(p, 0);
-        if (indent != -1)  p.print(")");       
-    }
-    public void nameAnalysis(SymTab symtab){
-	myLhs.nameAnalysis(symtab);
-	myExp.nameAnalysis(symtab);
-}
     // two children
     private ExpNode myLhs;
     private ExpNode myExp;
+
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myLhs.walk(w);
+        w.between(this, 1);
+        myExp.walk(w);
+        w.leave(this);
+    }
+
+    public void visitChildren(ASTVisitor v) {
+        myLhs.accept(v);
+        myExp.accept(v);
+    }
 }
 
 class CallExpNode extends ExpNode {
@@ -1220,42 +1485,49 @@ class CallExpNode extends ExpNode {
 
     public CallExpNode(IdNode name) {
         myId = name;
-        myExpList = new ExpListNode(new LinkedList<ExpNode>());
+        myExpList = new ExpListNode(new ArrayList<ExpNode>(0));
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        myId.unparse(p, 0);
-        p.print("(");
-        if (myExpList != null) {
-            myExpList.unparse(p, 0);
-        }
-        p.print(")");       
+    public ExpListNode getExpList(){
+        return myExpList;
     }
 
-    public void nameAnalysis(SymTab symtab){
-    	//analyze idNode - could be null
-	myId.nameAnalysis(symtab);
+    // two children
+    private IdNode myId;
+    private ExpListNode myExpList;  // possibly null
 
-	if(myExpList != null){
-		myExpList.nameAnalysis(symtab);
-	}
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
 
+    public void walk(Walk w) {
+        w.visit(this);
+        myId.walk(w);
+        if (myExpList != null) {
+            w.between(this, 1);
+            myExpList.walk(w);
+        }
+        w.leave(this);
     }
 
-    // two children
-    private IdNode myId;
-    private ExpListNode myExpList;  // possibly null
+    public void visitChildren(ASTVisitor v) {
+        myId.accept(v);
+        if (myExpList != null) {
+            myExpList.accept(v);
+        }
+    }
 }
 
 abstract class UnaryExpNode extends ExpNode {
     public UnaryExpNode(ExpNode exp) {
         myExp = exp;
     }
-    public void nameAnalysis(SymTab symtab){
-    	myExp.nameAnalysis(symtab);
-    }
     // one child
     protected ExpNode myExp;
+
+    public void visitChildren(ASTVisitor v) {
+        myExp.accept(v);
+    }
 }
 
 abstract class BinaryExpNode extends ExpNode {
@@ -1264,15 +1536,14 @@ abstract class BinaryExpNode extends ExpNode {
         myExp2 = exp2;
 	}
 
-    public void nameAnalysis(SymTab symtab){
-    	//analyze both exprs
-	myExp1.nameAnalysis(symtab);
-	myExp2.nameAnalysis(symtab);
-    }
-
     // two children
     protected ExpNode myExp1;
     protected ExpNode myExp2;
+
+    public void visitChildren(ASTVisitor v) {
+        myExp1.accept(v);
+        myExp2.accept(v);
+    }
 }
 
 // **********************************************************************
@@ -1284,10 +1555,14 @@ class UnaryMinusNode extends UnaryExpNode {
         super(exp);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("(-");
-        myExp.unparse(p, 0);
-        p.print(")");
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp.walk(w);
+        w.leave(this);
     }
 }
 
@@ -1296,10 +1571,14 @@ class NotNode extends UnaryExpNode {
         super(exp);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("(\\");
-        myExp.unparse(p, 0);
-        p.print(")");
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp.walk(w);
+        w.leave(this);
     }
 }
 
@@ -1312,12 +1591,16 @@ class PlusNode extends BinaryExpNode {
         super(exp1, exp2);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("(");
-        myExp1.unparse(p, 0);
-        p.print(" + ");
-        myExp2.unparse(p, 0);
-        p.print(")");
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp1.walk(w);
+        w.between(this, 1);
+        myExp2.walk(w);
+        w.leave(this);
     }
 }
 
@@ -1326,12 +1609,16 @@ class MinusNode extends BinaryExpNode {
         super(exp1, exp2);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("(");
-        myExp1.unparse(p, 0);
-        p.print(" - ");
-        myExp2.unparse(p, 0);
-        p.print(")");
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp1.walk(w);
+        w.between(this, 1);
+        myExp2.walk(w);
+        w.leave(this);
     }
 }
 
@@ -1340,12 +1627,16 @@ class TimesNode extends BinaryExpNode {
         super(exp1, exp2);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("(");
-        myExp1.unparse(p, 0);
-        p.print(" * ");
-        myExp2.unparse(p, 0);
-        p.print(")");
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp1.walk(w);
+        w.between(this, 1);
+        myExp2.walk(w);
+        w.leave(this);
     }
 }
 
@@ -1354,12 +1645,16 @@ class DivideNode extends BinaryExpNode {
         super(exp1, exp2);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("(");
-        myExp1.unparse(p, 0);
-        p.print(" / ");
-        myExp2.unparse(p, 0);
-        p.print(")");
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp1.walk(w);
+        w.between(this, 1);
+        myExp2.walk(w);
+        w.leave(this);
     }
 }
 
@@ -1368,12 +1663,16 @@ class EqualsNode extends BinaryExpNode {
         super(exp1, exp2);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("(");
-        myExp1.unparse(p, 0);
-        p.print(" == ");
-        myExp2.unparse(p, 0);
-        p.print(")");
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp1.walk(w);
+        w.between(this, 1);
+        myExp2.walk(w);
+        w.leave(this);
     }
 }
 
@@ -1382,11 +1681,16 @@ class NotEqualsNode extends BinaryExpNode {
         super(exp1, exp2);
     }
     
-    public void unparse(PrintWriter p, int indent){
-        myExp1.unparse(p, 0);
-        p.print(" \\= ");
-        myExp2.unparse(p, 0);
-        p.print(")");
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp1.walk(w);
+        w.between(this, 1);
+        myExp2.walk(w);
+        w.leave(this);
     }
 }
 
@@ -1395,12 +1699,16 @@ class LessNode extends BinaryExpNode {
         super(exp1, exp2);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("(");
-        myExp1.unparse(p, 0);
-        p.print(" < ");
-        myExp2.unparse(p, 0);
-        p.print(")");
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp1.walk(w);
+        w.between(this, 1);
+        myExp2.walk(w);
+        w.leave(this);
     }
 }
 
@@ -1409,12 +1717,16 @@ class LessEqNode extends BinaryExpNode {
         super(exp1, exp2);
  }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("(");
-        myExp1.unparse(p, 0);
-        p.print(" <= ");
-        myExp2.unparse(p, 0);
-        p.print(")");
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp1.walk(w);
+        w.between(this, 1);
+        myExp2.walk(w);
+        w.leave(this);
     }
 }
 
@@ -1423,12 +1735,16 @@ class GreaterNode extends BinaryExpNode {
         super(exp1, exp2);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("(");
-        myExp1.unparse(p, 0);
-        p.print(" > ");
-        myExp2.unparse(p, 0);
-        p.print(")");
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp1.walk(w);
+        w.between(this, 1);
+        myExp2.walk(w);
+        w.leave(this);
     }
 }
 
@@ -1437,12 +1753,16 @@ class GreaterEqNode extends BinaryExpNode {
         super(exp1, exp2);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("(");
-        myExp1.unparse(p, 0);
-        p.print(" >= ");
-        myExp2.unparse(p, 0);
-        p.print(")");
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp1.walk(w);
+        w.between(this, 1);
+        myExp2.walk(w);
+        w.leave(this);
     }
 }
 
@@ -1451,12 +1771,16 @@ class AndNode extends BinaryExpNode {
         super(exp1, exp2);
     }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("(");
-        myExp1.unparse(p, 0);
-        p.print(" && ");
-        myExp2.unparse(p, 0);
-        p.print(")");
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp1.walk(w);
+        w.between(this, 1);
+        myExp2.walk(w);
+        w.leave(this);
     }
 }
 
@@ -1465,12 +1789,16 @@ class OrNode extends BinaryExpNode {
         super(exp1, exp2);
  }
 
-    public void unparse(PrintWriter p, int indent) {
-        p.print("(");
-        myExp1.unparse(p, 0);
-        p.print(" || ");
-        myExp2.unparse(p, 0);
-        p.print(")");
+    public void accept(ASTVisitor v) {
+        v.visit(this);
+    }
+
+    public void walk(Walk w) {
+        w.visit(this);
+        myExp1.walk(w);
+        w.between(this, 1);
+        myExp2.walk(w);
+        w.leave(this);
     }
 }
 
@@ -26,28 +26,25 @@ class IntLitTokenVal extends TokenVal {
     }
 }
 class IdTokenVal extends TokenVal {
-  // new field: the value of the identifier
+  // new fields: the value of the identifier and its IdPool id
     String idVal;
+    int idNum;
   // constructor
-    IdTokenVal(int lineNum, int charNum, String idVal) {
+    IdTokenVal(int lineNum, int charNum, int idNum) {
         super(lineNum, charNum);
-        this.idVal = idVal;
+        this.idVal = IdPool.name(idNum);
+        this.idNum = idNum;
     }
 }
 class StrLitTokenVal extends TokenVal {
   // new field: the value of the string literal
-    String strVal;
+    TokenText strVal;
   // constructor
-    StrLitTokenVal(int lineNum, int charNum, String strVal) {
+    StrLitTokenVal(int lineNum, int charNum, TokenText strVal) {
         super(lineNum, charNum);
         this.strVal = strVal;
     }
 }
-// The following class is used to keep track of the character number at 
-// which the current token starts on its line.
-class CharNum {
-    static int num = 1;
-}
 
 
 class Yylex implements java_cup.runtime.Scanner {
@@ -60,12 +57,50 @@ class Yylex implements java_cup.runtime.Scanner {
 	private final int YY_NO_ANCHOR = 4;
 	private final int YY_BOL = 128;
 	private final int YY_EOF = 129;
+
+// offset in the input of the first character of the current line
+private int lineStart = 0;
+// the character number at which the current token starts on its line,
+// worked out from the token's offset (yychar) so that no rule has to keep
+// count by hand
+private int charNum() {
+    return yychar - lineStart + 1;
+}
+// where lexical errors and warnings are reported
+private Diagnostics diag;
+Yylex(java.io.Reader reader, Diagnostics diag) {
+    this(reader);
+    this.diag = diag;
+}
+// true when yy_buffer is a SourceText's array, which holds the whole file
+// and is never moved, so token text can be kept as slices of it
+private boolean wholeSource = false;
+// Scans src in place instead of reading it through a buffer.  See
+// SourceText for why slices of its array stay valid.
+Yylex(SourceText src, Diagnostics diag) {
+    this(java.io.Reader.nullReader());
+    this.diag = diag;
+    yy_buffer = src.getChars();
+    yy_buffer_start = 1;
+    yy_buffer_index = 1;
+    yy_buffer_end = 1;
+    yy_buffer_read = src.length() + 2;
+    wholeSource = true;
+}
+// Like Yylex(SourceText, Diagnostics), for text taken from a larger file
+// at the given line and column, so that positions are the file's
+Yylex(SourceText src, int lineNum, int charNum, Diagnostics diag) {
+    this(src, diag);
+    yyline = lineNum - 1;
+    lineStart = 1 - charNum;
+}
 	private java.io.BufferedReader yy_reader;
 	private int yy_buffer_index;
 	private int yy_buffer_read;
 	private int yy_buffer_start;
 	private int yy_buffer_end;
 	private char yy_buffer[];
+	private int yychar;
 	private int yyline;
 	private boolean yy_at_bol;
 	private int yy_lexical_state;
@@ -92,6 +127,7 @@ class Yylex implements java_cup.runtime.Scanner {
 		yy_buffer_index = 0;
 		yy_buffer_start = 0;
 		yy_buffer_end = 0;
+		yychar = 0;
 		yyline = 0;
 		yy_at_bol = true;
 		yy_lexical_state = YYINITIAL;
@@ -170,6 +206,8 @@ class Yylex implements java_cup.runtime.Scanner {
 				yy_last_was_cr=true;
 			} else yy_last_was_cr=false;
 		}
+		yychar = yychar
+			+ yy_buffer_index - yy_buffer_start;
 		yy_buffer_start = yy_buffer_index;
 	}
 	private void yy_mark_end () {
@@ -213,181 +251,117 @@ class Yylex implements java_cup.runtime.Scanner {
 			throw new Error("Fatal Error.\n");
 		}
 	}
-	private int[][] unpackFromString(int size1, int size2, String st) {
-		int colonIndex = -1;
-		String lengthString;
-		int sequenceLength = 0;
-		int sequenceInteger = 0;
-
-		int commaIndex;
-		String workString;
-
-		int res[][] = new int[size1][size2];
-		for (int i= 0; i < size1; i++) {
-			for (int j= 0; j < size2; j++) {
-				if (sequenceLength != 0) {
-					res[i][j] = sequenceInteger;
-					sequenceLength--;
-					continue;
-				}
-				commaIndex = st.indexOf(',');
-				workString = (commaIndex==-1) ? st :
-					st.substring(0, commaIndex);
-				st = st.substring(commaIndex+1);
-				colonIndex = workString.indexOf(':');
-				if (colonIndex == -1) {
-					res[i][j]=Integer.parseInt(workString);
-					continue;
-				}
-				lengthString =
-					workString.substring(colonIndex+1);
-				sequenceLength=Integer.parseInt(lengthString);
-				workString=workString.substring(0,colonIndex);
-				sequenceInteger=Integer.parseInt(workString);
-				res[i][j] = sequenceInteger;
-				sequenceLength--;
+	private static int[] yy_unpack(int size, String[] st) {
+		int res[] = new int[size];
+		int k = 0;
+		for (int i = 0; i < st.length; i++) {
+			for (int j = 0; j < st[i].length(); j++) {
+				res[k++] = st[i].charAt(j) - 1;
 			}
 		}
 		return res;
 	}
-	private int yy_acpt[] = {
-		/* 0 */ YY_NOT_ACCEPT,
-		/* 1 */ YY_NO_ANCHOR,
-		/* 2 */ YY_NO_ANCHOR,
-		/* 3 */ YY_NO_ANCHOR,
-		/* 4 */ YY_NO_ANCHOR,
-		/* 5 */ YY_NO_ANCHOR,
-		/* 6 */ YY_NO_ANCHOR,
-		/* 7 */ YY_NO_ANCHOR,
-		/* 8 */ YY_NO_ANCHOR,
-		/* 9 */ YY_NO_ANCHOR,
-		/* 10 */ YY_NO_ANCHOR,
-		/* 11 */ YY_NO_ANCHOR,
-		/* 12 */ YY_NO_ANCHOR,
-		/* 13 */ YY_NO_ANCHOR,
-		/* 14 */ YY_NO_ANCHOR,
-		/* 15 */ YY_NO_ANCHOR,
-		/* 16 */ YY_NO_ANCHOR,
-		/* 17 */ YY_NO_ANCHOR,
-		/* 18 */ YY_NO_ANCHOR,
-		/* 19 */ YY_NO_ANCHOR,
-		/* 20 */ YY_NO_ANCHOR,
-		/* 21 */ YY_NO_ANCHOR,
-		/* 22 */ YY_NO_ANCHOR,
-		/* 23 */ YY_NO_ANCHOR,
-		/* 24 */ YY_NO_ANCHOR,
-		/* 25 */ YY_NO_ANCHOR,
-		/* 26 */ YY_NO_ANCHOR,
-		/* 27 */ YY_NO_ANCHOR,
-		/* 28 */ YY_NO_ANCHOR,
-		/* 29 */ YY_NO_ANCHOR,
-		/* 30 */ YY_NO_ANCHOR,
-		/* 31 */ YY_NO_ANCHOR,
-		/* 32 */ YY_NO_ANCHOR,
-		/* 33 */ YY_NO_ANCHOR,
-		/* 34 */ YY_NO_ANCHOR,
-		/* 35 */ YY_NO_ANCHOR,
-		/* 36 */ YY_NO_ANCHOR,
-		/* 37 */ YY_NO_ANCHOR,
-		/* 38 */ YY_NO_ANCHOR,
-		/* 39 */ YY_NO_ANCHOR,
-		/* 40 */ YY_NO_ANCHOR,
-		/* 41 */ YY_NO_ANCHOR,
-		/* 42 */ YY_NO_ANCHOR,
-		/* 43 */ YY_NO_ANCHOR,
-		/* 44 */ YY_NO_ANCHOR,
-		/* 45 */ YY_NO_ANCHOR,
-		/* 46 */ YY_NO_ANCHOR,
-		/* 47 */ YY_NO_ANCHOR,
-		/* 48 */ YY_NO_ANCHOR,
-		/* 49 */ YY_NOT_ACCEPT,
-		/* 50 */ YY_NO_ANCHOR,
-		/* 51 */ YY_NO_ANCHOR,
-		/* 52 */ YY_NO_ANCHOR,
-		/* 53 */ YY_NO_ANCHOR,
-		/* 54 */ YY_NO_ANCHOR,
-		/* 55 */ YY_NO_ANCHOR,
-		/* 56 */ YY_NO_ANCHOR,
-		/* 57 */ YY_NO_ANCHOR,
-		/* 58 */ YY_NO_ANCHOR,
-		/* 59 */ YY_NO_ANCHOR,
-		/* 60 */ YY_NO_ANCHOR,
-		/* 61 */ YY_NO_ANCHOR,
-		/* 62 */ YY_NO_ANCHOR,
-		/* 63 */ YY_NO_ANCHOR,
-		/* 64 */ YY_NO_ANCHOR,
-		/* 65 */ YY_NO_ANCHOR,
-		/* 66 */ YY_NO_ANCHOR,
-		/* 67 */ YY_NO_ANCHOR,
-		/* 68 */ YY_NO_ANCHOR,
-		/* 69 */ YY_NO_ANCHOR,
-		/* 70 */ YY_NO_ANCHOR,
-		/* 71 */ YY_NO_ANCHOR,
-		/* 72 */ YY_NO_ANCHOR,
-		/* 73 */ YY_NO_ANCHOR,
-		/* 74 */ YY_NO_ANCHOR,
-		/* 75 */ YY_NO_ANCHOR,
-		/* 76 */ YY_NO_ANCHOR,
-		/* 77 */ YY_NO_ANCHOR,
-		/* 78 */ YY_NO_ANCHOR,
-		/* 79 */ YY_NO_ANCHOR,
-		/* 80 */ YY_NO_ANCHOR,
-		/* 81 */ YY_NO_ANCHOR,
-		/* 82 */ YY_NO_ANCHOR,
-		/* 83 */ YY_NO_ANCHOR,
-		/* 84 */ YY_NO_ANCHOR,
-		/* 85 */ YY_NO_ANCHOR,
-		/* 86 */ YY_NO_ANCHOR,
-		/* 87 */ YY_NO_ANCHOR,
-		/* 88 */ YY_NO_ANCHOR,
-		/* 89 */ YY_NO_ANCHOR,
-		/* 90 */ YY_NO_ANCHOR,
-		/* 91 */ YY_NO_ANCHOR,
-		/* 92 */ YY_NO_ANCHOR,
-		/* 93 */ YY_NO_ANCHOR,
-		/* 94 */ YY_NO_ANCHOR,
-		/* 95 */ YY_NO_ANCHOR,
-		/* 96 */ YY_NO_ANCHOR,
-		/* 97 */ YY_NO_ANCHOR,
-		/* 98 */ YY_NO_ANCHOR,
-		/* 99 */ YY_NO_ANCHOR,
-		/* 100 */ YY_NO_ANCHOR,
-		/* 101 */ YY_NO_ANCHOR
+	private static final int yy_acpt[] = {
+		/* 0 */ 0,
+		/* 1 */ 4,
+		/* 2 */ 4,
+		/* 3 */ 4,
+		/* 4 */ 4,
+		/* 5 */ 4,
+		/* 6 */ 4,
+		/* 7 */ 4,
+		/* 8 */ 4,
+		/* 9 */ 4,
+		/* 10 */ 4,
+		/* 11 */ 4,
+		/* 12 */ 4,
+		/* 13 */ 4,
+		/* 14 */ 4,
+		/* 15 */ 4,
+		/* 16 */ 4,
+		/* 17 */ 4,
+		/* 18 */ 4,
+		/* 19 */ 4,
+		/* 20 */ 4,
+		/* 21 */ 4,
+		/* 22 */ 4,
+		/* 23 */ 4,
+		/* 24 */ 4,
+		/* 25 */ 4,
+		/* 26 */ 4,
+		/* 27 */ 4,
+		/* 28 */ 4,
+		/* 29 */ 4,
+		/* 30 */ 4,
+		/* 31 */ 4,
+		/* 32 */ 4,
+		/* 33 */ 4,
+		/* 34 */ 4,
+		/* 35 */ 4,
+		/* 36 */ 4,
+		/* 37 */ 0,
+		/* 38 */ 4,
+		/* 39 */ 4,
+		/* 40 */ 4,
+		/* 41 */ 4,
+		/* 42 */ 4,
+		/* 43 */ 4,
+		/* 44 */ 4
 	};
-	private int yy_cmap[] = unpackFromString(1,130,
-"46:9,28,27,46:2,24,46:18,28,46,23,30,46:2,43,26,33,34,42,41,36,38,37,29,22:" +
-"10,46,35,40,45,39,26,46,20:26,46,25,46:2,21,46,5,1,13,12,4,14,9,17,7,20:2,3" +
-",20,6,2,18,20,10,15,8,19,11,16,20:3,31,44,32,46:2,0:2")[0];
-
-	private int yy_rmap[] = unpackFromString(1,102,
-"0,1,2,3,4,5,1:2,6,7,8,1:7,9,10,11,12,1,13,14,1,15,1:10,14:4,1,14:7,16,17,18" +
-",19,20,21,22,23,24,20,25,26,27,28,29,30,31,32,33,34,35,36,37,38,39,40,41,42" +
-",43,44,45,46,47,48,49,50,51,52,53,54,55,56,57,58,59,60,61,62,63,64,14,65,14")[0];
-
-	private int yy_nxt[][] = unpackFromString(66,47,
-"1,2,101:2,80,101:2,50,81,101,97,82,101:2,91,83,92,101,93,101:3,3,4,-1,5,6,7" +
-",8,9,10,11,12,13,14,15,16,17,18,19,20,21,22,51,55,23,6,-1:48,101,98,101:18," +
-"99:2,-1:46,3,-1:25,4:22,25,4,26,4,-1,4:19,-1:45,27,-1:29,8,-1:47,10,-1:18,1" +
-"0:26,-1,10:19,-1:38,28,29,-1:52,30,-1:39,31,-1:6,32,-1:42,33,-1:50,36,-1:2," +
-"101:20,99:2,-1:25,52:5,4,52,4,52:14,4,52,4:2,-1,52:19,-1,49:22,41,49:3,-1,4" +
-"9:19,-1,101:5,100,101:7,24,101:6,99:2,-1:67,34,-1:4,52:22,41,52,56,52,-1,52" +
-":19,-1,58:22,-1,58,60,58,-1,58:19,-1,101:3,37,101:16,99:2,-1:68,35,-1:3,49:" +
-"5,52,49,52,49:14,53,49,52:2,-1,49:19,-1,101:3,38,101:16,99:2,-1:25,101:11,3" +
-"9,101:8,99:2,-1:30,58,-1,58,-1:14,58,-1,58:2,-1:21,101:5,40,101:14,99:2,-1:" +
-"25,101:3,42,101:16,99:2,-1:25,101:3,43,101:16,99:2,-1:25,101:7,44,101:12,99" +
-":2,-1:25,101:5,45,101:14,99:2,-1:25,101:11,46,101:8,99:2,-1:25,101:5,47,101" +
-":14,99:2,-1:25,101:9,48,101:10,99:2,-1:25,101:14,54,101:5,99:2,-1:25,101:18" +
-",57,101,99:2,-1:25,101:6,59,101:13,99:2,-1:25,101:4,61,101:15,99:2,-1:25,10" +
-"1:14,62,101:5,99:2,-1:25,101:2,63,101:17,99:2,-1:25,101:5,64,101:14,99:2,-1" +
-":25,101:9,65,101:10,99:2,-1:25,101:9,66,101:10,99:2,-1:25,101:4,67,101:15,9" +
-"9:2,-1:25,101:3,68,101:16,99:2,-1:25,101:2,69,101:17,99:2,-1:25,101:9,70,10" +
-"1:10,99:2,-1:25,101,71,101:18,99:2,-1:25,101:12,72,101:7,99:2,-1:25,101:2,7" +
-"3,101:17,99:2,-1:25,101:6,74,101:13,99:2,-1:25,101:6,75,101:13,99:2,-1:25,1" +
-"01:18,76,101,99:2,-1:25,101,77,101:18,99:2,-1:25,101:3,78,101:16,99:2,-1:25" +
-",101:8,79,101:11,99:2,-1:25,101:4,84,101:15,99:2,-1:25,101:16,85,101:3,99:2" +
-",-1:25,101:9,86,101:10,99:2,-1:25,101:7,87,101:4,88,101:7,99:2,-1:25,101:2," +
-"89,101:17,99:2,-1:25,101:3,90,101:16,99:2,-1:25,101:3,94,101:16,99:2,-1:25," +
-"101,95,101:18,99:2,-1:25,101:7,96,101:12,99:2,-1:24");
+	private static final byte yy_cmap[] = new byte[130];
+	private static final int yy_rbase[] = new int[45];
+	private static final short yy_flat[] = new short[616];
+	static {
+		int t[] = yy_unpack(130, new String[] {
+			"\034\034\034\034\034\034\034\034\034\012\011\034\034\005\034\034\034\034\034" +
+			"\034\034\034\034\034\034\034\034\034\034\034\034\034\012\034\004\014\034\034" +
+			"\031\007\017\020\030\027\022\024\023\013\003\003\003\003\003\003\003\003\003" +
+			"\003\034\021\026\033\025\007\034\002\002\002\002\002\002\002\002\002\002\002" +
+			"\002\002\002\002\002\002\002\002\002\002\002\002\002\002\002\034\006\034\034" +
+			"\002\034\002\002\002\002\002\002\002\002\002\002\002\002\002\010\002\002\002" +
+			"\002\002\010\002\002\002\002\002\002\015\032\016\034\034\001\001"
+		});
+		for (int i = 0; i < t.length; i++)
+			yy_cmap[i] = (byte) t[i];
+		t = yy_unpack(45, new String[] {
+			"\001\002\003\004\005\006\002\002\007\010\011\002\002\002\002\002\002\002\012" +
+			"\013\014\015\002\016\002\017\002\002\002\002\002\002\002\002\002\002\002\020" +
+			"\021\022\023\024\025\023\026"
+		});
+		for (int i = 0; i < t.length; i++)
+			yy_rbase[i] = t[i] * 28;
+		t = yy_unpack(616, new String[] {
+			"\002\003\004\005\000\006\007\003\010\011\012\013\014\015\016\017\020\021\022" +
+			"\023\024\025\026\027'*\030\007\000\000\000\000\000\000\000\000\000\000\000\000" +
+			"\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\003\003" +
+			"\000\000\000\000\003\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+			"\000\000\000\000\000\000\000\000\004\000\000\000\000\000\000\000\000\000\000" +
+			"\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\005\005\031" +
+			"\005\032\005\005\000\005\005\005\005\005\005\005\005\005\005\005\005\005\005" +
+			"\005\005\005\005\005\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+			"\000\000\000\000\000\000\000\000\000\000\000\000\033\000\000\000\000\000\000" +
+			"\000\000\000\000\011\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+			"\000\000\000\000\000\000\000\000\000\000\000\000\000\000\013\000\000\000\000" +
+			"\000\000\000\000\000\000\000\000\000\000\000\000\000\000\013\013\013\013\013" +
+			"\013\013\000\013\013\013\013\013\013\013\013\013\013\013\013\013\013\013\013" +
+			"\013\013\013\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+			"\000\000\000\034\035\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+			"\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+			"\036\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+			"\000\000\037\000\000\000\000\000\000 \000\000\000\000\000\000\000\000\000\000" +
+			"\000\000\000\000\000\000\000\000\000\000\000\000\000!\000\000\000\000\000\000" +
+			"\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+			"\000\000\000\000\000\000$\000\000((\005(\005\005\005\000(((((((((((((((((((\000" +
+			"&&%&&&&\000&&&&&&&&&&&&&&&&&&&\000\000\000\000\000\000\000\000\000\000\000\000" +
+			"\000\000\000\000\000\000\000\000\000\000\000\000\042\000\000\000\000((%(+((\000" +
+			"(((((((((((((((((((\000,,\000,-,,\000,,,,,,,,,,,,,,,,,,,\000\000\000\000\000" +
+			"\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000" +
+			"\000#\000\000\000&&)&(((\000&&&&&&&&&&&&&&&&&&&\000\000\000,\000,,,\000\000\000" +
+			"\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		});
+		for (int i = 0; i < t.length; i++)
+			yy_flat[i] = (short) t[i];
+	}
 
 	public java_cup.runtime.Symbol next_token ()
 		throws java.io.IOException {
@@ -409,7 +383,7 @@ class Yylex implements java_cup.runtime.Scanner {
 			if (yy_initial && yy_at_bol) yy_lookahead = YY_BOL;
 			else yy_lookahead = yy_advance();
 			yy_next_state = YY_F;
-			yy_next_state = yy_nxt[yy_rmap[yy_state]][yy_cmap[yy_lookahead]];
+			yy_next_state = yy_flat[yy_rbase[yy_state] + yy_cmap[yy_lookahead]];
 			if (YY_EOF == yy_lookahead && true == yy_initial) {
 
 return new Symbol(sym.EOF);
@@ -422,6 +396,18 @@ return new Symbol(sym.EOF);
 					yy_last_accept_state = yy_state;
 					yy_mark_end();
 				}
+				while (yy_buffer_index < yy_buffer_read) {
+					yy_lookahead = yy_buffer[yy_buffer_index];
+					if (yy_lookahead > 127) break;
+					yy_next_state = yy_flat[yy_rbase[yy_state] + yy_cmap[yy_lookahead]];
+					if (YY_F == yy_next_state) break;
+					++yy_buffer_index;
+					yy_state = yy_next_state;
+					if (YY_NOT_ACCEPT != yy_acpt[yy_state]) {
+						yy_last_accept_state = yy_state;
+						yy_buffer_end = yy_buffer_index;
+					}
+				}
 			}
 			else {
 				if (YY_NO_STATE == yy_last_accept_state) {
@@ -440,26 +426,36 @@ return new Symbol(sym.EOF);
 						break;
 					case 2:
 						{
+            // keywords share this rule; Keywords classifies them
+            int kw = Keywords.lookup(yy_buffer, yy_buffer_start, yylength());
+            if (kw >= 0) {
+                return new Symbol(kw, new TokenVal(yyline+1, charNum()));
+            }
+            // intern straight from the buffer so a repeated name
+            // does not allocate a new String
+            int idNum = IdPool.intern(yy_buffer, yy_buffer_start, yylength());
             Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
+                             new IdTokenVal(yyline+1, charNum(), idNum));
             return S;
           }
 					case -3:
 						break;
 					case 3:
-						{ double val = Double.parseDouble(yytext());
-            int intVal;
-            if (val > Integer.MAX_VALUE) {
-                ErrMsg.warn(yyline+1, CharNum.num,
-                            "integer literal too large (using max value)");
-                intVal = Integer.MAX_VALUE;
-            } else {
-                intVal = Integer.parseInt(yytext());
+						{ // convert straight from the buffer, stopping at the first
+            // digit that would overflow
+            int intVal = 0;
+            for (int i = yy_buffer_start; i < yy_buffer_end; i++) {
+                int d = yy_buffer[i] - '0';
+                if (intVal > (Integer.MAX_VALUE - d) / 10) {
+                    diag.warn(yyline+1, charNum(),
+                              "integer literal too large (using max value)");
+                    intVal = Integer.MAX_VALUE;
+                    break;
+                }
+                intVal = intVal * 10 + d;
             }
             Symbol S = new Symbol(sym.INTLITERAL,
-                             new IntLitTokenVal(yyline+1, CharNum.num, intVal));
-            CharNum.num += yytext().length();
+                             new IntLitTokenVal(yyline+1, charNum(), intVal));
             return S;
           }
 					case -4:
@@ -467,777 +463,258 @@ return new Symbol(sym.EOF);
 					case 4:
 						{
             // unterminated string
-            ErrMsg.fatal(yyline+1, CharNum.num,
+            diag.error(yyline+1, charNum(),
                          "ignoring unterminated string literal");
           }
 					case -5:
 						break;
 					case 5:
-						{ Symbol S = new Symbol(sym.NOT, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.NOT, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -6:
 						break;
 					case 6:
-						{ ErrMsg.fatal(yyline+1, CharNum.num,
+						{ diag.error(yyline+1, charNum(),
             "ignoring illegal character: " + yytext());
-            CharNum.num++;
           }
 					case -7:
 						break;
 					case 7:
-						{ CharNum.num = 1; }
+						{ lineStart = yychar + 1; }
 					case -8:
 						break;
 					case 8:
-						{ CharNum.num += yytext().length(); }
+						{ }
 					case -9:
 						break;
 					case 9:
-						{ Symbol S = new Symbol(sym.DIVIDE, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.DIVIDE, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -10:
 						break;
 					case 10:
-						{ // comment - ignore. Note: don't need to update char num 
-            // since everything to end of line will be ignored
+						{ // comment - ignore
           }
 					case -11:
 						break;
 					case 11:
-						{ Symbol S = new Symbol(sym.LCURLY, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.LCURLY, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -12:
 						break;
 					case 12:
-						{ Symbol S = new Symbol(sym.RCURLY, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.RCURLY, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -13:
 						break;
 					case 13:
-						{ Symbol S = new Symbol(sym.LPAREN, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.LPAREN, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -14:
 						break;
 					case 14:
-						{ Symbol S = new Symbol(sym.RPAREN, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.RPAREN, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -15:
 						break;
 					case 15:
-						{ Symbol S = new Symbol(sym.SEMICOLON, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.SEMICOLON, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -16:
 						break;
 					case 16:
-						{ Symbol S = new Symbol(sym.COMMA, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.COMMA, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -17:
 						break;
 					case 17:
-						{ Symbol S = new Symbol(sym.DOT, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.DOT, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -18:
 						break;
 					case 18:
-						{ Symbol S = new Symbol(sym.MINUS, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.MINUS, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -19:
 						break;
 					case 19:
-						{ Symbol S = new Symbol(sym.GREATER, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.GREATER, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -20:
 						break;
 					case 20:
-						{ Symbol S = new Symbol(sym.LESS, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.LESS, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -21:
 						break;
 					case 21:
-						{ Symbol S = new Symbol(sym.PLUS, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.PLUS, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -22:
 						break;
 					case 22:
-						{ Symbol S = new Symbol(sym.TIMES, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.TIMES, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -23:
 						break;
 					case 23:
-						{ Symbol S = new Symbol(sym.ASSIGN, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num++;
+						{ Symbol S = new Symbol(sym.ASSIGN, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -24:
 						break;
 					case 24:
-						{ Symbol S = new Symbol(sym.IF, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += yytext().length();
+						{
+            TokenText strVal = wholeSource
+                ? new TokenText(yy_buffer, yy_buffer_start, yylength())
+                : new TokenText(yytext());
+            Symbol S = new Symbol(sym.STRINGLITERAL,
+                             new StrLitTokenVal(yyline+1, charNum(), strVal));
             return S;
           }
 					case -25:
 						break;
 					case 25:
 						{
-            String strVal = yytext();
-            Symbol S = new Symbol(sym.STRINGLITERAL,
-                             new StrLitTokenVal(yyline+1, CharNum.num, strVal));
-            CharNum.num += yytext().length();
-            return S;
+            // bad escape character
+            diag.error(yyline+1, charNum(),
+             "ignoring unterminated string literal with bad escaped character");
           }
 					case -26:
 						break;
 					case 26:
-						{
-            // bad escape character
-            ErrMsg.fatal(yyline+1, CharNum.num,
-             "ignoring unterminated string literal with bad escaped character");
+						{ Symbol S = new Symbol(sym.NOTEQUALS, new TokenVal(yyline+1, charNum()));
+            return S;
           }
 					case -27:
 						break;
 					case 27:
-						{ Symbol S = new Symbol(sym.NOTEQUALS, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += 2;
+						{ Symbol S = new Symbol(sym.MINUSMINUS, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -28:
 						break;
 					case 28:
-						{ Symbol S = new Symbol(sym.MINUSMINUS, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += 2;
+						{ Symbol S = new Symbol(sym.READ, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -29:
 						break;
 					case 29:
-						{ Symbol S = new Symbol(sym.READ, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += 2;
+						{ Symbol S = new Symbol(sym.GREATEREQ, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -30:
 						break;
 					case 30:
-						{ Symbol S = new Symbol(sym.GREATEREQ, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += 2;
+						{ Symbol S = new Symbol(sym.WRITE, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -31:
 						break;
 					case 31:
-						{ Symbol S = new Symbol(sym.WRITE, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += 2;
+						{ Symbol S = new Symbol(sym.LESSEQ, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -32:
 						break;
 					case 32:
-						{ Symbol S = new Symbol(sym.LESSEQ, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += 2;
+						{ Symbol S = new Symbol(sym.PLUSPLUS, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -33:
 						break;
 					case 33:
-						{ Symbol S = new Symbol(sym.PLUSPLUS, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += 2;
+						{ Symbol S = new Symbol(sym.AND, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -34:
 						break;
 					case 34:
-						{ Symbol S = new Symbol(sym.AND, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += 2;
+						{ Symbol S = new Symbol(sym.OR, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -35:
 						break;
 					case 35:
-						{ Symbol S = new Symbol(sym.OR, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += 2;
+						{ Symbol S = new Symbol(sym.EQUALS, new TokenVal(yyline+1, charNum()));
             return S;
           }
 					case -36:
 						break;
 					case 36:
-						{ Symbol S = new Symbol(sym.EQUALS, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += 2;
-            return S;
-          }
-					case -37:
-						break;
-					case 37:
-						{ Symbol S = new Symbol(sym.ELSE, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -38:
-						break;
-					case 38:
-						{ Symbol S = new Symbol(sym.TRUE, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -39:
-						break;
-					case 39:
-						{ Symbol S = new Symbol(sym.VOID, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -40:
-						break;
-					case 40:
-						{ Symbol S = new Symbol(sym.SCAN, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -41:
-						break;
-					case 41:
 						{
             // bad escape character
-            ErrMsg.fatal(yyline+1, CharNum.num,
+            diag.error(yyline+1, charNum(),
                          "ignoring string literal with bad escaped character");
-            CharNum.num += yytext().length();
-          }
-					case -42:
-						break;
-					case 42:
-						{ Symbol S = new Symbol(sym.FALSE, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -43:
-						break;
-					case 43:
-						{ Symbol S = new Symbol(sym.WHILE, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -44:
-						break;
-					case 44:
-						{ Symbol S = new Symbol(sym.PRINT, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -45:
-						break;
-					case 45:
-						{ Symbol S = new Symbol(sym.RETURN, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -46:
-						break;
-					case 46:
-						{ Symbol S = new Symbol(sym.RECORD, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -47:
-						break;
-					case 47:
-						{ Symbol S = new Symbol(sym.BOOL, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += yytext().length();
-            return S;
           }
-					case -48:
-						break;
-					case 48:
-						{ Symbol S = new Symbol(sym.INT, new TokenVal(yyline+1, CharNum.num));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -49:
-						break;
-					case 50:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -50:
+					case -37:
 						break;
-					case 51:
-						{ ErrMsg.fatal(yyline+1, CharNum.num,
+					case 38:
+						{ diag.error(yyline+1, charNum(),
             "ignoring illegal character: " + yytext());
-            CharNum.num++;
           }
-					case -51:
+					case -38:
 						break;
-					case 52:
+					case 39:
 						{
             // bad escape character
-            ErrMsg.fatal(yyline+1, CharNum.num,
+            diag.error(yyline+1, charNum(),
              "ignoring unterminated string literal with bad escaped character");
           }
-					case -52:
+					case -39:
 						break;
-					case 53:
+					case 40:
 						{
             // bad escape character
-            ErrMsg.fatal(yyline+1, CharNum.num,
+            diag.error(yyline+1, charNum(),
                          "ignoring string literal with bad escaped character");
-            CharNum.num += yytext().length();
-          }
-					case -53:
-						break;
-					case 54:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
           }
-					case -54:
+					case -40:
 						break;
-					case 55:
-						{ ErrMsg.fatal(yyline+1, CharNum.num,
+					case 41:
+						{ diag.error(yyline+1, charNum(),
             "ignoring illegal character: " + yytext());
-            CharNum.num++;
           }
-					case -55:
+					case -41:
 						break;
-					case 56:
+					case 42:
 						{
             // bad escape character
-            ErrMsg.fatal(yyline+1, CharNum.num,
+            diag.error(yyline+1, charNum(),
              "ignoring unterminated string literal with bad escaped character");
           }
-					case -56:
-						break;
-					case 57:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -57:
+					case -42:
 						break;
-					case 58:
+					case 43:
 						{
             // bad escape character
-            ErrMsg.fatal(yyline+1, CharNum.num,
+            diag.error(yyline+1, charNum(),
              "ignoring unterminated string literal with bad escaped character");
           }
-					case -58:
-						break;
-					case 59:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -59:
+					case -43:
 						break;
-					case 60:
+					case 44:
 						{
             // bad escape character
-            ErrMsg.fatal(yyline+1, CharNum.num,
+            diag.error(yyline+1, charNum(),
              "ignoring unterminated string literal with bad escaped character");
           }
-					case -60:
-						break;
-					case 61:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -61:
-						break;
-					case 62:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -62:
-						break;
-					case 63:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -63:
-						break;
-					case 64:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -64:
-						break;
-					case 65:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -65:
-						break;
-					case 66:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -66:
-						break;
-					case 67:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -67:
-						break;
-					case 68:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -68:
-						break;
-					case 69:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -69:
-						break;
-					case 70:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -70:
-						break;
-					case 71:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -71:
-						break;
-					case 72:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -72:
-						break;
-					case 73:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -73:
-						break;
-					case 74:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -74:
-						break;
-					case 75:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -75:
-						break;
-					case 76:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -76:
-						break;
-					case 77:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -77:
-						break;
-					case 78:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -78:
-						break;
-					case 79:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -79:
-						break;
-					case 80:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -80:
-						break;
-					case 81:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -81:
-						break;
-					case 82:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -82:
-						break;
-					case 83:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -83:
-						break;
-					case 84:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -84:
-						break;
-					case 85:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -85:
-						break;
-					case 86:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -86:
-						break;
-					case 87:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -87:
-						break;
-					case 88:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -88:
-						break;
-					case 89:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -89:
-						break;
-					case 90:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -90:
-						break;
-					case 91:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -91:
-						break;
-					case 92:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -92:
-						break;
-					case 93:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -93:
-						break;
-					case 94:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -94:
-						break;
-					case 95:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -95:
-						break;
-					case 96:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -96:
-						break;
-					case 97:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -97:
-						break;
-					case 98:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -98:
-						break;
-					case 99:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -99:
-						break;
-					case 100:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -100:
-						break;
-					case 101:
-						{
-            Symbol S = new Symbol(sym.ID, 
-                             new IdTokenVal(yyline+1, CharNum.num, yytext()));
-            CharNum.num += yytext().length();
-            return S;
-          }
-					case -101:
+					case -44:
 						break;
 					default:
 						yy_error(YY_E_INTERNAL,false);
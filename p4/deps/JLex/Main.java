@@ -178,6 +178,7 @@ import java.lang.System;
 import java.lang.Integer;
 import java.lang.Character;
 
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.Stack;
 import java.util.Hashtable;
@@ -250,9 +251,6 @@ class CSpec
   /* DFA Machine. */
   Vector m_dfa_states; /* Vector of states, with index
 				 corresponding to label. */
-  Hashtable m_dfa_sets; /* Hashtable taking set of NFA states
-				  to corresponding DFA state, 
-				  if the latter exists. */
   
   /* Accept States and Corresponding Anchors. */
   Vector m_accept_vector;
@@ -291,6 +289,8 @@ class CSpec
   boolean m_unix;
   boolean m_public;
   boolean m_ignorecase;
+  boolean m_flat_table;
+  boolean m_direct_code;
 
   char m_init_code[];
   int m_init_read;
@@ -373,6 +373,8 @@ class CSpec
         m_public = false;
 	m_yyeof = false;
 	m_ignorecase = false;
+	m_flat_table = false;
+	m_direct_code = false;
 
 	/* Initialize variables for JLex runtime options. */
 	m_verbose = true;
@@ -381,7 +383,6 @@ class CSpec
 	m_nfa_states = new Vector();
 	
 	m_dfa_states = new Vector();
-	m_dfa_sets = new Hashtable();
 
 	m_dtrans_vector = new Vector();
 	m_dtrans_ncols = CUtility.MAX_SEVEN_BIT + 1;
@@ -617,6 +618,21 @@ class CEmit
 	    print_details();
 	  }
 
+	  /* %directcode needs no transition tables at all. */
+	  if (m_spec.m_direct_code)
+	    {
+	      m_spec.m_flat_table = false;
+	    }
+
+	  /* %flattable packs states into chars; fall back if they don't fit. */
+	  if (m_spec.m_flat_table
+	      && m_spec.m_accept_vector.size() >= Character.MAX_VALUE)
+	    {
+	      System.out.println("JLex Warning: too many states for %flattable;"
+				 + " emitting the standard tables.");
+	      m_spec.m_flat_table = false;
+	    }
+
 	  emit_header();
 	  emit_construct();
 	  emit_helpers();
@@ -1068,6 +1084,29 @@ class CEmit
 	m_outstream.println("\t}");*/
 
 
+	if (m_spec.m_direct_code)
+	  {
+	    return;
+	  }
+
+	if (m_spec.m_flat_table)
+	  {
+	    // Function: private static int[] yy_unpack(int size, String[] st)
+	    // Decodes the %flattable tables: one value per char, plus one.
+	    m_outstream.println("\tprivate static int[] yy_unpack"+
+				"(int size, String[] st) {");
+	    m_outstream.println("\t\tint res[] = new int[size];");
+	    m_outstream.println("\t\tint k = 0;");
+	    m_outstream.println("\t\tfor (int i = 0; i < st.length; i++) {");
+	    m_outstream.println("\t\t\tfor (int j = 0; j < st[i].length(); j++) {");
+	    m_outstream.println("\t\t\t\tres[k++] = st[i].charAt(j) - 1;");
+	    m_outstream.println("\t\t\t}");
+	    m_outstream.println("\t\t}");
+	    m_outstream.println("\t\treturn res;");
+	    m_outstream.println("\t}");
+	    return;
+	  }
+
 	// Function: private int [][] unpackFromString(int size1, int size2, String st)
 	// Added 6/24/98 Raimondas Lencevicius
 	// May be made more efficient by replacing String operations
@@ -1169,6 +1208,12 @@ class CEmit
 	    CUtility.ASSERT(null != m_outstream);
 	  }
 
+	if (m_spec.m_flat_table)
+	  {
+	    emit_flat_table();
+	    return;
+	  }
+
 	m_outstream.println("\tprivate int yy_acpt[] = {");
 	size = m_spec.m_accept_vector.size();
 	for (elem = 0; elem < size; ++elem)
@@ -1212,6 +1257,12 @@ class CEmit
 	  }
 	m_outstream.println("\t};");
 
+	if (m_spec.m_direct_code)
+	  {
+	    emit_direct_code();
+	    return;
+	  }
+
 	// CSA: modified yy_cmap to use string packing 9-Aug-1999
 	int[] yy_cmap = new int[m_spec.m_ccls_map.length];
 	for (i = 0; i < m_spec.m_ccls_map.length; ++i)
@@ -1244,6 +1295,248 @@ class CEmit
 	m_outstream.println();
       }
 
+  /***************************************************************
+    Function: emit_direct_code
+    Description: Emits the %directcode transition function: the
+    DFA as code instead of tables.  Each distinct row of the DFA
+    becomes a method yy_rowN(c) that returns the next state on
+    input c (a char, BOL or EOF) or YY_F.  Long runs of chars with
+    the same next state are range tests and the rest are case
+    labels of a switch on c.  yy_next() dispatches on the state.
+    **************************************************************/
+  private void emit_direct_code
+    (
+     )
+      throws java.io.IOException
+      {
+	int c;
+	int elem;
+	int size;
+	CDTrans dtrans;
+
+	int nchars = m_spec.m_ccls_map.length;
+	int[] yy_cmap = new int[nchars];
+	for (c = 0; c < nchars; ++c)
+	    yy_cmap[c] = m_spec.m_col_map[m_spec.m_ccls_map[c]];
+
+	m_outstream.println("\tprivate static int yy_next "
+			    + "(int yy_state, int c) {");
+	m_outstream.println("\t\tswitch (yy_state) {");
+	size = m_spec.m_dtrans_vector.size();
+	for (elem = 0; elem < size; ++elem)
+	  {
+	    boolean any = false;
+	    for (int s = 0; s < m_spec.m_row_map.length; ++s)
+	      {
+		if (m_spec.m_row_map[s] == elem)
+		  {
+		    m_outstream.print((any ? " " : "\t\t") + "case " + s + ":");
+		    any = true;
+		  }
+	      }
+	    if (any)
+	      {
+		m_outstream.println(" return yy_row" + elem + "(c);");
+	      }
+	  }
+	m_outstream.println("\t\tdefault: return -1;");
+	m_outstream.println("\t\t}");
+	m_outstream.println("\t}");
+
+	for (elem = 0; elem < size; ++elem)
+	  {
+	    dtrans = (CDTrans) m_spec.m_dtrans_vector.elementAt(elem);
+	    int[] next = new int[nchars];
+	    for (c = 0; c < nchars; ++c)
+	      next[c] = dtrans.m_dtrans[yy_cmap[c]];
+
+	    m_outstream.println("\tprivate static int yy_row" + elem
+				+ " (int c) {");
+
+	    /* Long runs as range tests, collecting the short ones. */
+	    StringBuffer cases = new StringBuffer();
+	    int lo = 0;
+	    while (lo < nchars)
+	      {
+		int hi = lo;
+		while (hi + 1 < nchars && next[hi + 1] == next[lo])
+		  ++hi;
+		if (CDTrans.F != next[lo])
+		  {
+		    if (hi - lo >= 8)
+		      {
+			m_outstream.println("\t\tif (c >= " + lo + " && c <= "
+					    + hi + ") return " + next[lo] + ";");
+		      }
+		    else
+		      {
+			for (c = lo; c <= hi; ++c)
+			  cases.append("\t\tcase " + c + ": return "
+				       + next[c] + ";\n");
+		      }
+		  }
+		lo = hi + 1;
+	      }
+	    if (cases.length() > 0)
+	      {
+		m_outstream.println("\t\tswitch (c) {");
+		m_outstream.print(cases.toString());
+		m_outstream.println("\t\t}");
+	      }
+	    m_outstream.println("\t\treturn -1;");
+	    m_outstream.println("\t}");
+	  }
+	m_outstream.println();
+      }
+
+  /***************************************************************
+    Function: emit_flat_table
+    Description: Emits the %flattable transition tables.  They are
+    static, built once per class, and typed as narrowly as the
+    spec allows:
+	   yy_flat[]  - the distinct rows of the DFA, one after
+			another; the next state from state s on a
+			char of class c is yy_flat[yy_rbase[s] + c].
+	   yy_rbase[] - start of each state's row in yy_flat.
+	   yy_cmap[]  - char class of each input char, BOL and EOF.
+	   yy_acpt[]  - accept/anchor flags of each state.
+    **************************************************************/
+  private void emit_flat_table
+    (
+     )
+      throws java.io.IOException
+      {
+	int i;
+	int elem;
+	int size;
+	int ncols;
+	CDTrans dtrans;
+	CAccept accept;
+
+	size = m_spec.m_accept_vector.size();
+	m_outstream.println("\tprivate static final int yy_acpt[] = {");
+	for (elem = 0; elem < size; ++elem)
+	  {
+	    accept = (CAccept) m_spec.m_accept_vector.elementAt(elem);
+	    int flags = 0;			/* YY_NOT_ACCEPT */
+	    if (null != accept)
+	      {
+		if (0 != (m_spec.m_anchor_array[elem] & CSpec.START))
+		  flags |= 1;			/* YY_START */
+		if (0 != (m_spec.m_anchor_array[elem] & CSpec.END))
+		  flags |= 2;			/* YY_END */
+		if (0 == flags)
+		  flags = 4;			/* YY_NO_ANCHOR */
+	      }
+	    m_outstream.print("\t\t/* "+elem+" */ "+flags);
+	    if (elem < size - 1)
+	      {
+		m_outstream.print(",");
+	      }
+	    m_outstream.println();
+	  }
+	m_outstream.println("\t};");
+
+	ncols = m_spec.m_dtrans_ncols;
+	String ctype = (ncols <= Byte.MAX_VALUE) ? "byte" : "char";
+	String stype = (size <= Short.MAX_VALUE) ? "short" : "char";
+
+	int[] yy_cmap = new int[m_spec.m_ccls_map.length];
+	for (i = 0; i < m_spec.m_ccls_map.length; ++i)
+	    yy_cmap[i] = m_spec.m_col_map[m_spec.m_ccls_map[i]];
+
+	int rows = m_spec.m_dtrans_vector.size();
+	int[] yy_flat = new int[rows * ncols];
+	for (elem = 0; elem < rows; elem++) {
+	    dtrans = (CDTrans) m_spec.m_dtrans_vector.elementAt(elem);
+	    CUtility.ASSERT(dtrans.m_dtrans.length==ncols);
+	    System.arraycopy(dtrans.m_dtrans, 0, yy_flat, elem * ncols, ncols);
+	}
+
+	m_outstream.println("\tprivate static final "+ctype+" yy_cmap[] = new "
+			    +ctype+"["+yy_cmap.length+"];");
+	m_outstream.println("\tprivate static final int yy_rbase[] = new int["
+			    +m_spec.m_row_map.length+"];");
+	m_outstream.println("\tprivate static final "+stype+" yy_flat[] = new "
+			    +stype+"["+yy_flat.length+"];");
+	m_outstream.println("\tstatic {");
+	m_outstream.print("\t\tint t[] = yy_unpack(");
+	emit_table_as_chars(yy_cmap);
+	m_outstream.println(");");
+	m_outstream.println("\t\tfor (int i = 0; i < t.length; i++)");
+	m_outstream.println("\t\t\tyy_cmap[i] = ("+ctype+") t[i];");
+	m_outstream.print("\t\tt = yy_unpack(");
+	emit_table_as_chars(m_spec.m_row_map);
+	m_outstream.println(");");
+	m_outstream.println("\t\tfor (int i = 0; i < t.length; i++)");
+	m_outstream.println("\t\t\tyy_rbase[i] = t[i] * "+ncols+";");
+	m_outstream.print("\t\tt = yy_unpack(");
+	emit_table_as_chars(yy_flat);
+	m_outstream.println(");");
+	m_outstream.println("\t\tfor (int i = 0; i < t.length; i++)");
+	m_outstream.println("\t\t\tyy_flat[i] = ("+stype+") t[i];");
+	m_outstream.println("\t}");
+	m_outstream.println();
+      }
+
+  /***************************************************************
+    Function: emit_table_as_chars
+    Description: Output an integer array for yy_unpack(): its
+    length, then the values plus one, one char each, as an array
+    of string literals small enough for the class file's constant
+    pool.  Values must lie in -1 .. Character.MAX_VALUE - 1.
+    **************************************************************/
+  private void emit_table_as_chars(int[] ia) {
+	m_outstream.println(ia.length + ", new String[] {");
+	StringBuffer outstr = new StringBuffer();
+	int chunk = 0;
+	for (int i = 0; i < ia.length; ++i)
+	  {
+	    int c = ia[i] + 1;
+	    CUtility.ASSERT(c >= 0 && c <= Character.MAX_VALUE);
+	    if (c >= ' ' && c < 0x7f && c != '"' && c != '\\')
+	      {
+		outstr.append((char) c);
+	      }
+	    else if (c < 0400)
+	      {
+		/* octal, so \n and friends can't end the literal early */
+		outstr.append("\\" + Integer.toOctalString(c / 64)
+			      + Integer.toOctalString(c / 8 % 8)
+			      + Integer.toOctalString(c % 8));
+	      }
+	    else
+	      {
+		outstr.append("\\u");
+		String hex = Integer.toHexString(c);
+		for (int k = hex.length(); k < 4; ++k)
+		  outstr.append('0');
+		outstr.append(hex);
+	      }
+	    ++chunk;
+	    if (outstr.length() > 75 || i == ia.length - 1)
+	      {
+		m_outstream.print("\t\t\t\"" + outstr + "\"");
+		outstr = new StringBuffer();
+		if (i == ia.length - 1)
+		  {
+		    m_outstream.println();
+		  }
+		else if (chunk >= 16384)
+		  {
+		    /* new literal: keeps each under the 64K byte limit */
+		    m_outstream.println(",");
+		    chunk = 0;
+		  }
+		else
+		  {
+		    m_outstream.println(" +");
+		  }
+	      }
+	  }
+	m_outstream.print("\t\t}");
+  }
+
   /***************************************************************
     Function: emit_driver
     Description: Output an integer table as a string.  Written by
@@ -1417,8 +1710,21 @@ class CEmit
 	  m_outstream.println("\t\t\tyy_next_state = YY_F;");
 	  /*m_outstream.println("\t\t\t\tyy_next_state = "
 				 + "yy_next(yy_state,yy_lookahead);");*/
-	  m_outstream.println("\t\t\tyy_next_state = "
- 	   + "yy_nxt[yy_rmap[yy_state]][yy_cmap[yy_lookahead]];");
+	  if (m_spec.m_direct_code)
+	    {
+	      m_outstream.println("\t\t\tyy_next_state = "
+		+ "yy_next(yy_state, yy_lookahead);");
+	    }
+	  else if (m_spec.m_flat_table)
+	    {
+	      m_outstream.println("\t\t\tyy_next_state = "
+		+ "yy_flat[yy_rbase[yy_state] + yy_cmap[yy_lookahead]];");
+	    }
+	  else
+	    {
+	      m_outstream.println("\t\t\tyy_next_state = "
+		+ "yy_nxt[yy_rmap[yy_state]][yy_cmap[yy_lookahead]];");
+	    }
 
 	  if (NOT_EDBG)
 	    {
@@ -1473,6 +1779,26 @@ class CEmit
 	  m_outstream.println("\t\t\t\t\tyy_mark_end();");
 	  m_outstream.println("\t\t\t\t}");
 	  /*m_outstream.println("\t\t\t\tyy_prev_state = yy_state;");*/
+	  if (m_spec.m_flat_table || m_spec.m_direct_code)
+	    {
+	      /* Hot loop: run the DFA straight over buffered ASCII input,
+		 leaving everything else to yy_advance() above. */
+	      m_outstream.println("\t\t\t\twhile (yy_buffer_index < yy_buffer_read) {");
+	      m_outstream.println("\t\t\t\t\tyy_lookahead = yy_buffer[yy_buffer_index];");
+	      m_outstream.println("\t\t\t\t\tif (yy_lookahead > 127) break;");
+	      m_outstream.println("\t\t\t\t\tyy_next_state = "
+		+ (m_spec.m_direct_code
+		   ? "yy_next(yy_state, yy_lookahead);"
+		   : "yy_flat[yy_rbase[yy_state] + yy_cmap[yy_lookahead]];"));
+	      m_outstream.println("\t\t\t\t\tif (YY_F == yy_next_state) break;");
+	      m_outstream.println("\t\t\t\t\t++yy_buffer_index;");
+	      m_outstream.println("\t\t\t\t\tyy_state = yy_next_state;");
+	      m_outstream.println("\t\t\t\t\tif (YY_NOT_ACCEPT != yy_acpt[yy_state]) {");
+	      m_outstream.println("\t\t\t\t\t\tyy_last_accept_state = yy_state;");
+	      m_outstream.println("\t\t\t\t\t\tyy_buffer_end = yy_buffer_index;");
+	      m_outstream.println("\t\t\t\t\t}");
+	      m_outstream.println("\t\t\t\t}");
+	    }
 	  /*m_outstream.println("\t\t\t\tyy_state = yy_next_state;");*/
 	  m_outstream.println("\t\t\t}");
 
@@ -1607,36 +1933,6 @@ class CEmit
       }
 }
 
-/***************************************************************
-  Class: CBunch
-  **************************************************************/
-class CBunch
-{
-  /***************************************************************
-    Member Variables
-    **************************************************************/
-  Vector m_nfa_set; /* Vector of CNfa states in dfa state. */
-  SparseBitSet m_nfa_bit; /* BitSet representation of CNfa labels. */
-  CAccept m_accept; /* Accepting actions, or null if nonaccepting state. */
-  int m_anchor; /* Anchors on regular expression. */
-  int m_accept_index; /* CNfa index corresponding to accepting actions. */
-
-  /***************************************************************
-    Function: CBunch
-    Description: Constructor.
-    **************************************************************/
-  CBunch
-    (
-     )
-      {
-	m_nfa_set = null;
-	m_nfa_bit = null;
-	m_accept = null;
-	m_anchor = CSpec.NONE;
-	m_accept_index = -1;
-      }
-}
-
 /***************************************************************
   Class: CMakeNfa
   **************************************************************/
@@ -2919,10 +3215,12 @@ class CMinimize
 
 			    if (CUtility.DEBUG)
 			      {
-				CUtility.ASSERT(m_group.contains(new_group)
-						== true);
-				CUtility.ASSERT(m_group.contains(dtrans_group)
-						== true);
+				/* By identity: Vector.contains() would compare
+				   whole groups with equals(). */
+				CUtility.ASSERT(m_group.elementAt(m_ingroup[next.m_label])
+						== new_group);
+				CUtility.ASSERT(m_group.elementAt(i)
+						== dtrans_group);
 				CUtility.ASSERT(dtrans_group.contains(first)
 						== true);
 				CUtility.ASSERT(dtrans_group.contains(next)
@@ -3118,6 +3416,32 @@ class CNfa2Dfa
   private int m_unmarked_dfa;
   private CLexGen m_lexGen;
 
+  /* NFA states by label, and for each the columns (character
+     classes) it has an edge on, or null if it has none. */
+  private CNfa m_nfa[];
+  private int m_edge_cols[][];
+
+  /* NFA set of each DFA state, by DFA label: the NFA labels in
+     ascending order, so equal sets are equal arrays. */
+  private int m_dfa_nfa_sets[][];
+
+  /* Hashed cache of the sets above: open addressing, each slot
+     holding a DFA label plus one, or 0 if empty. */
+  private int m_slots[];
+
+  /* Scratch for move() and e_closure(). */
+  private int m_targets[][];	/* NFA labels reached on each column. */
+  private int m_target_count[];
+  private int m_stack[];
+  private int m_closure[];
+  private int m_seen[];		/* m_stamp if already in the closure. */
+  private int m_stamp;
+
+  /* Accepting details of the last closure. */
+  private CAccept m_accept;
+  private int m_anchor;
+  private int m_accept_index;
+
   /***************************************************************
     Constants
     **************************************************************/
@@ -3159,6 +3483,18 @@ class CNfa2Dfa
 	m_lexGen = null;
 	m_spec = null;
 	m_unmarked_dfa = 0;
+
+	m_nfa = null;
+	m_edge_cols = null;
+	m_dfa_nfa_sets = null;
+	m_slots = null;
+	m_targets = null;
+	m_target_count = null;
+	m_stack = null;
+	m_closure = null;
+	m_seen = null;
+	m_stamp = 0;
+	m_accept = null;
       }
 
   /***************************************************************
@@ -3171,11 +3507,10 @@ class CNfa2Dfa
      CSpec spec
      )
       {
-	int i;
-
 	reset();
 	set(lexGen,spec);
 
+	init_nfa();
 	make_dtrans();
 	free_nfa_states();
 
@@ -3186,32 +3521,95 @@ class CNfa2Dfa
 	  }
 
 	free_dfa_states();
+	reset();
       }     
 
-   /***************************************************************
+  /***************************************************************
+    Function: init_nfa
+    Description: Flattens the NFA for the subset construction:
+    indexes it by label, works out once which columns each
+    state has an edge on, and allocates the scratch arrays.
+    **************************************************************/
+  private void init_nfa
+    (
+     )
+      {
+	int i;
+	int c;
+	int n;
+	int size;
+	int ncols;
+	int cols[];
+	CNfa nfa;
+
+	size = m_spec.m_nfa_states.size();
+	ncols = m_spec.m_dtrans_ncols;
+
+	m_nfa = new CNfa[size];
+	m_edge_cols = new int[size][];
+	cols = new int[ncols];
+	for (i = 0; i < size; ++i)
+	  {
+	    nfa = (CNfa) m_spec.m_nfa_states.elementAt(i);
+
+	    if (CUtility.DEBUG)
+	      {
+		CUtility.ASSERT(i == nfa.m_label);
+	      }
+
+	    m_nfa[i] = nfa;
+	    if (CNfa.CCL == nfa.m_edge)
+	      {
+		n = 0;
+		for (c = 0; c < ncols; ++c)
+		  {
+		    if (nfa.m_set.contains(c))
+		      {
+			cols[n++] = c;
+		      }
+		  }
+		m_edge_cols[i] = Arrays.copyOf(cols, n);
+	      }
+	    else if (0 <= nfa.m_edge)
+	      {
+		m_edge_cols[i] = new int[] { nfa.m_edge };
+	      }
+	  }
+
+	m_targets = new int[ncols][];
+	m_target_count = new int[ncols];
+	m_stack = new int[size];
+	m_closure = new int[size];
+	m_seen = new int[size];
+	m_stamp = 0;
+
+	m_dfa_nfa_sets = new int[64][];
+	m_slots = new int[128];
+      }
+
+  /***************************************************************
     Function: make_dtrans
     Description: Creates uncompressed CDTrans transition table.
+    DFA states are made in the order they are first reached, and
+    processed in the order they were made.
     **************************************************************/
   private void make_dtrans
     (
      )
-     /* throws java.lang.CloneNotSupportedException*/
       {
-	CDfa next;
 	CDfa dfa;
-	CBunch bunch;
 	int i;
+	int c;
 	int nextstate;
 	int size;
+	int set[];
 	CDTrans dtrans;
-	CNfa nfa;
 	int istate;
 	int nstates;
+	Vector rules;
 	
 	System.out.print("Working on DFA states.");
 
-	/* Reference passing type and initializations. */
-	bunch = new CBunch();
 	m_unmarked_dfa = 0;
 
 	/* Allocate mapping array. */
@@ -3223,34 +3621,17 @@ class CNfa2Dfa
 	    /* CSA bugfix: if we skip all zero size rules, then
 	       an specification with no rules produces an illegal
 	       lexer (0 states) instead of a lexer that rejects
-	       everything (1 nonaccepting state). [27-Jul-1999]
-	    if (0 == m_spec.m_state_rules[istate].size())
-	      {
-		m_spec.m_state_dtrans[istate] = CDTrans.F;
-		continue;
-	      }
-	    */
+	       everything (1 nonaccepting state). [27-Jul-1999] */
 		
-	    /* Create start state and initialize fields. */
-	    bunch.m_nfa_set = (Vector) m_spec.m_state_rules[istate].clone();
-	    sortStates(bunch.m_nfa_set);
-	    
-	    bunch.m_nfa_bit = new SparseBitSet();
-	    
-	    /* Initialize bit set. */
-	    size = bunch.m_nfa_set.size();
-	    for (i = 0; size > i; ++i)
+	    /* Create start state. */
+	    rules = m_spec.m_state_rules[istate];
+	    size = rules.size();
+	    set = new int[size];
+	    for (i = 0; i < size; ++i)
 	      {
-		nfa = (CNfa) bunch.m_nfa_set.elementAt(i);
-		bunch.m_nfa_bit.set(nfa.m_label);
+		set[i] = ((CNfa) rules.elementAt(i)).m_label;
 	      }
-	    
-	    bunch.m_accept = null;
-	    bunch.m_anchor = CSpec.NONE;
-	    bunch.m_accept_index = CUtility.INT_MAX;
-	    
-	    e_closure(bunch);
-	    add_to_dstates(bunch);
+	    add_to_dstates(e_closure(set, size));
 	    
 	    m_spec.m_state_dtrans[istate] = m_spec.m_dtrans_vector.size();
 
@@ -3272,43 +3653,25 @@ class CNfa2Dfa
 		dtrans = new CDTrans(m_spec.m_dtrans_vector.size(),m_spec);
 		dtrans.m_accept = dfa.m_accept;
 		dtrans.m_anchor = dfa.m_anchor;
+
+		/* Move on every column at once. */
+		move(m_dfa_nfa_sets[dfa.m_label]);
 		
 		/* Set CDTrans array for each character transition. */
-		for (i = 0; i < m_spec.m_dtrans_ncols; ++i)
+		for (c = 0; c < m_spec.m_dtrans_ncols; ++c)
 		  {
-		    if (CUtility.DEBUG)
-		      {
-			CUtility.ASSERT(0 <= i);
-			CUtility.ASSERT(m_spec.m_dtrans_ncols > i);
-		      }
-		    
-		    /* Create new dfa set by attempting character transition. */
-		    move(dfa.m_nfa_set,dfa.m_nfa_bit,i,bunch);
-		    if (null != bunch.m_nfa_set)
-		      {
-			e_closure(bunch);
-		      }
-		    
-		    if (CUtility.DEBUG)
-		      {
-			CUtility.ASSERT((null == bunch.m_nfa_set 
-					 && null == bunch.m_nfa_bit)
-					|| (null != bunch.m_nfa_set 
-					    && null != bunch.m_nfa_bit));
-		      }
-		    
-		    /* Create new state or set state to empty. */
-		    if (null == bunch.m_nfa_set)
+		    if (0 == m_target_count[c])
 		      {
 			nextstate = CDTrans.F;
 		      }
 		    else 
 		      {
-			nextstate = in_dstates(bunch);
+			set = e_closure(m_targets[c], m_target_count[c]);
+			nextstate = in_dstates(set);
 			
 			if (NOT_IN_DSTATES == nextstate)
 			  {
-			    nextstate = add_to_dstates(bunch);
+			    nextstate = add_to_dstates(set);
 			  }
 		      }
 		    
@@ -3317,7 +3680,7 @@ class CNfa2Dfa
 			CUtility.ASSERT(nextstate < m_spec.m_dfa_states.size());
 		      }
 		    
-		    dtrans.m_dtrans[i] = nextstate;
+		    dtrans.m_dtrans[c] = nextstate;
 		  }
 		
 		if (CUtility.DEBUG)
@@ -3340,7 +3703,6 @@ class CNfa2Dfa
      )
       {
 	m_spec.m_dfa_states = null;
-	m_spec.m_dfa_sets = null;
       }
 
   /***************************************************************
@@ -3360,84 +3722,60 @@ class CNfa2Dfa
 
   /***************************************************************
     Function: e_closure
-    Description: Alters and returns input set.
+    Description: Returns the epsilon closure of the first size
+    labels of set, in ascending order, and leaves the accepting
+    details of the closure in m_accept, m_anchor and
+    m_accept_index.  The lowest-labelled accepting NFA state
+    wins, as it comes from the earliest rule.
     **************************************************************/
-  private void e_closure
+  private int[] e_closure
     (
-     CBunch bunch
+     int set[],
+     int size
      )
       {
-	Stack nfa_stack;
-	int size;
 	int i;
+	int top;
+	int count;
+	int label;
 	CNfa state;
 
-	/* Debug checks. */
-	if (CUtility.DEBUG)
-	  {
-	    CUtility.ASSERT(null != bunch);
-	    CUtility.ASSERT(null != bunch.m_nfa_set);
-	    CUtility.ASSERT(null != bunch.m_nfa_bit);
-	  }
+	m_accept = null;
+	m_anchor = CSpec.NONE;
+	m_accept_index = CUtility.INT_MAX;
 
-	bunch.m_accept = null;
-	bunch.m_anchor = CSpec.NONE;
-	bunch.m_accept_index = CUtility.INT_MAX;
-	
 	/* Create initial stack. */
-	nfa_stack = new Stack();
-	size = bunch.m_nfa_set.size();
+	++m_stamp;
+	top = 0;
+	count = 0;
 	for (i = 0; i < size; ++i)
 	  {
-	    state = (CNfa) bunch.m_nfa_set.elementAt(i);
-	    
-	    if (CUtility.DEBUG)
+	    label = set[i];
+	    if (m_stamp != m_seen[label])
 	      {
-		CUtility.ASSERT(bunch.m_nfa_bit.get(state.m_label));
+		m_seen[label] = m_stamp;
+		m_stack[top++] = label;
+		m_closure[count++] = label;
 	      }
-
-	    nfa_stack.push(state);
 	  }
 
 	/* Main loop. */
-	while (false == nfa_stack.empty())
+	while (0 < top)
 	  {
-	    state = (CNfa) nfa_stack.pop();
-	    
-	    if (CUtility.OLD_DUMP_DEBUG)
-	      {
-		if (null != state.m_accept)
-		  {
-		    System.out.println("Looking at accepting state " + state.m_label
-				       + " with <"
-				       + (new String(state.m_accept.m_action,0,
-						     state.m_accept.m_action_read))
-				       + ">");
-		  }
-	      }
+	    state = m_nfa[m_stack[--top]];
 
 	    if (null != state.m_accept 
-		&& state.m_label < bunch.m_accept_index)
+		&& state.m_label < m_accept_index)
 	      {
-		bunch.m_accept_index = state.m_label;
-		bunch.m_accept = state.m_accept;
-		bunch.m_anchor = state.m_anchor;
-
-		if (CUtility.OLD_DUMP_DEBUG)
-		  {
-		    System.out.println("Found accepting state " + state.m_label
-				       + " with <"
-				       + (new String(state.m_accept.m_action,0,
-						     state.m_accept.m_action_read))
-				       + ">");
-		  }
+		m_accept_index = state.m_label;
+		m_accept = state.m_accept;
+		m_anchor = state.m_anchor;
 
 		if (CUtility.DEBUG)
 		  {
-		    CUtility.ASSERT(null != bunch.m_accept);
-		    CUtility.ASSERT(CSpec.NONE == bunch.m_anchor
-				    || 0 != (bunch.m_anchor & CSpec.END)
-				    || 0 != (bunch.m_anchor & CSpec.START));
+		    CUtility.ASSERT(CSpec.NONE == m_anchor
+				    || 0 != (m_anchor & CSpec.END)
+				    || 0 != (m_anchor & CSpec.START));
 		  }
 	      }
 
@@ -3445,161 +3783,78 @@ class CNfa2Dfa
 	      {
 		if (null != state.m_next)
 		  {
-		    if (false == bunch.m_nfa_set.contains(state.m_next))
+		    label = state.m_next.m_label;
+		    if (m_stamp != m_seen[label])
 		      {
-			if (CUtility.DEBUG)
-			  {
-			    CUtility.ASSERT(false == bunch.m_nfa_bit.get(state.m_next.m_label));
-			  }
-			
-			bunch.m_nfa_bit.set(state.m_next.m_label);
-			bunch.m_nfa_set.addElement(state.m_next);
-			nfa_stack.push(state.m_next);
+			m_seen[label] = m_stamp;
+			m_stack[top++] = label;
+			m_closure[count++] = label;
 		      }
 		  }
 
 		if (null != state.m_next2)
 		  {
-		    if (false == bunch.m_nfa_set.contains(state.m_next2))
+		    label = state.m_next2.m_label;
+		    if (m_stamp != m_seen[label])
 		      {
-			if (CUtility.DEBUG)
-			  {
-			    CUtility.ASSERT(false == bunch.m_nfa_bit.get(state.m_next2.m_label));
-			  }
-			
-			bunch.m_nfa_bit.set(state.m_next2.m_label);
-			bunch.m_nfa_set.addElement(state.m_next2);
-			nfa_stack.push(state.m_next2);
+			m_seen[label] = m_stamp;
+			m_stack[top++] = label;
+			m_closure[count++] = label;
 		      }
 		  }
 	      }
 	  }
 
-	if (null != bunch.m_nfa_set)
-	  {
-	    sortStates(bunch.m_nfa_set);
-	  }
-
-	return;
+	set = Arrays.copyOf(m_closure, count);
+	Arrays.sort(set);
+	return set;
       }
 
   /***************************************************************
     Function: move
-    Description: Returns null if resulting NFA set is empty.
+    Description: Fills m_targets and m_target_count with the NFA
+    labels that nfa_set reaches on each column, in one pass over
+    the set.  A count of 0 means the move is empty.
     **************************************************************/
-  void move
+  private void move
     (
-     Vector nfa_set,
-     SparseBitSet nfa_bit,
-     int b,
-     CBunch bunch
+     int nfa_set[]
      )
       {
-	int size;
-	int index;
-	CNfa state;
-	
-	bunch.m_nfa_set = null;
-	bunch.m_nfa_bit = null;
+	int i;
+	int j;
+	int c;
+	int n;
+	int cols[];
+	int next;
 
-	size = nfa_set.size();
-	for (index = 0; index < size; ++index)
-	  {
-	    state = (CNfa) nfa_set.elementAt(index);
-	    
-	    if (b == state.m_edge
-		|| (CNfa.CCL == state.m_edge
-		    && true == state.m_set.contains(b)))
-	      {
-		if (null == bunch.m_nfa_set)
-		  {
-		    if (CUtility.DEBUG)
-		      {
-			CUtility.ASSERT(null == bunch.m_nfa_bit);
-		      }
-		    
-		    bunch.m_nfa_set = new Vector();
-		    /*bunch.m_nfa_bit 
-			= new SparseBitSet(m_spec.m_nfa_states.size());*/
-		    bunch.m_nfa_bit = new SparseBitSet();
-		  }
+	Arrays.fill(m_target_count, 0);
 
-		bunch.m_nfa_set.addElement(state.m_next);
-		/*System.out.println("Size of bitset: " + bunch.m_nfa_bit.size());
-		System.out.println("Reference index: " + state.m_next.m_label);
-		System.out.flush();*/
-		bunch.m_nfa_bit.set(state.m_next.m_label);
-	      }
-	  }
-	
-	if (null != bunch.m_nfa_set)
+	for (i = 0; i < nfa_set.length; ++i)
 	  {
-	    if (CUtility.DEBUG)
+	    cols = m_edge_cols[nfa_set[i]];
+	    if (null == cols)
 	      {
-		CUtility.ASSERT(null != bunch.m_nfa_bit);
+		continue;
 	      }
-	    
-	    sortStates(bunch.m_nfa_set);
-	  }
-
-	return;
-      }
-
-  /***************************************************************
-    Function: sortStates
-    **************************************************************/
-  private void sortStates
-    (
-     Vector nfa_set
-     )
-      {
-	CNfa elem;
-	int begin;
-	int size;
-	int index;
-	int value;
-	int smallest_index;
-	int smallest_value;
-	CNfa begin_elem;
-
-	size = nfa_set.size();
-	for (begin = 0; begin < size; ++begin)
-	  {
-	    elem = (CNfa) nfa_set.elementAt(begin);
-	    smallest_value = elem.m_label;
-	    smallest_index = begin;
 
-	    for (index = begin + 1; index < size; ++index)
+	    next = m_nfa[nfa_set[i]].m_next.m_label;
+	    for (j = 0; j < cols.length; ++j)
 	      {
-		elem = (CNfa) nfa_set.elementAt(index);
-		value = elem.m_label;
-
-		if (value < smallest_value)
+		c = cols[j];
+		n = m_target_count[c];
+		if (null == m_targets[c])
+		  {
+		    m_targets[c] = new int[8];
+		  }
+		else if (n == m_targets[c].length)
 		  {
-		    smallest_index = index;
-		    smallest_value = value;
+		    m_targets[c] = Arrays.copyOf(m_targets[c], 2 * n);
 		  }
+		m_targets[c][n] = next;
+		m_target_count[c] = n + 1;
 	      }
-
-	    begin_elem = (CNfa) nfa_set.elementAt(begin);
-	    elem = (CNfa) nfa_set.elementAt(smallest_index);
-	    nfa_set.setElementAt(elem,begin);
-	    nfa_set.setElementAt(begin_elem,smallest_index);
 	  }
-
-	if (CUtility.OLD_DEBUG)
-	  {
-	    System.out.print("NFA vector indices: ");  
-	    
-	    for (index = 0; index < size; ++index)
-	      {
-		elem = (CNfa) nfa_set.elementAt(index);
-		System.out.print(elem.m_label + " ");
-	      }
-	    System.out.println();
-	  }	
-
-	return;
       }
 
   /***************************************************************
@@ -3620,20 +3875,14 @@ class CNfa2Dfa
 
 	    if (false == dfa.m_mark)
 	      {
-		if (CUtility.OLD_DUMP_DEBUG)
-		  {
-		    System.out.print("*");
-		    System.out.flush();
-		  }
-
 		if (m_spec.m_verbose && true == CUtility.OLD_DUMP_DEBUG)
 		  {
 		    System.out.println("---------------");
-		    System.out.print("working on DFA state " 
-				     + m_unmarked_dfa
-				     + " = NFA states: ");
-		    m_lexGen.print_set(dfa.m_nfa_set);
-		    System.out.println();
+		    System.out.println("working on DFA state " 
+				       + m_unmarked_dfa
+				       + " = NFA states: "
+				       + Arrays.toString(m_dfa_nfa_sets
+							 [m_unmarked_dfa]));
 		  }
 
 		return dfa;
@@ -3647,85 +3896,118 @@ class CNfa2Dfa
   
   /***************************************************************
     function: add_to_dstates
-    Description: Takes as input a CBunch with details of
-    a dfa state that needs to be created.
+    Description: Takes as input the NFA set of a dfa state that
+    needs to be created, with its accepting details from
+    e_closure().
     1) Allocates a new dfa state and saves it in 
     the appropriate CSpec vector.
-    2) Initializes the fields of the dfa state
-    with the information in the CBunch.
-    3) Returns index of new dfa.
+    2) Initializes the fields of the dfa state.
+    3) Registers the set in the set cache, replacing any
+    earlier state with the same set.
+    4) Returns index of new dfa.
     **************************************************************/
   private int add_to_dstates
     (
-     CBunch bunch
+     int set[]
      )
       {
 	CDfa dfa;
-	
+	int s;
+	int mask;
+
 	if (CUtility.DEBUG)
 	  {
-	    CUtility.ASSERT(null != bunch.m_nfa_set);
-	    CUtility.ASSERT(null != bunch.m_nfa_bit);
-	    CUtility.ASSERT(null != bunch.m_accept 
-			    || CSpec.NONE == bunch.m_anchor);
+	    CUtility.ASSERT(null != m_accept 
+			    || CSpec.NONE == m_anchor);
 	  }
 
 	/* Allocate, passing CSpec so dfa label can be set. */
 	dfa = CAlloc.newCDfa(m_spec);
 	
 	/* Initialize fields, including the mark field. */
-	dfa.m_nfa_set = (Vector) bunch.m_nfa_set.clone();
-	dfa.m_nfa_bit = (SparseBitSet) bunch.m_nfa_bit.clone();
-	dfa.m_accept = bunch.m_accept;
-	dfa.m_anchor = bunch.m_anchor;
+	dfa.m_accept = m_accept;
+	dfa.m_anchor = m_anchor;
 	dfa.m_mark = false;
-	
-	/* Register dfa state using BitSet in CSpec Hashtable. */
-	m_spec.m_dfa_sets.put(dfa.m_nfa_bit,dfa);
-	/*registerCDfa(dfa);*/
 
-	if (CUtility.OLD_DUMP_DEBUG)
+	if (dfa.m_label == m_dfa_nfa_sets.length)
 	  {
-	    System.out.print("Registering set : ");
-	    m_lexGen.print_set(dfa.m_nfa_set);
-	    System.out.println();
+	    m_dfa_nfa_sets = Arrays.copyOf(m_dfa_nfa_sets,
+					   2 * m_dfa_nfa_sets.length);
 	  }
+	m_dfa_nfa_sets[dfa.m_label] = set;
+
+	/* Keep the cache at most half full. */
+	if (2 * (dfa.m_label + 1) > m_slots.length)
+	  {
+	    rehash();
+	  }
+	mask = m_slots.length - 1;
+	s = Arrays.hashCode(set) & mask;
+	while (0 != m_slots[s]
+	       && false == Arrays.equals(m_dfa_nfa_sets[m_slots[s] - 1], set))
+	  {
+	    s = (s + 1) & mask;
+	  }
+	m_slots[s] = dfa.m_label + 1;
 
 	return dfa.m_label;
       }
 
   /***************************************************************
-    Function: in_dstates
+    Function: rehash
+    Description: Doubles the set cache.  Only the newest state
+    for each set is kept, as add_to_dstates() replaces.
     **************************************************************/
-  private int in_dstates
+  private void rehash
     (
-     CBunch bunch
      )
       {
-	CDfa dfa;
-	
-	if (CUtility.OLD_DEBUG)
+	int old[];
+	int i;
+	int s;
+	int mask;
+
+	old = m_slots;
+	m_slots = new int[2 * old.length];
+	mask = m_slots.length - 1;
+	for (i = 0; i < old.length; ++i)
 	  {
-	    System.out.print("Looking for set : ");
-	    m_lexGen.print_set(bunch.m_nfa_set);
+	    if (0 != old[i])
+	      {
+		s = Arrays.hashCode(m_dfa_nfa_sets[old[i] - 1]) & mask;
+		while (0 != m_slots[s])
+		  {
+		    s = (s + 1) & mask;
+		  }
+		m_slots[s] = old[i];
+	      }
 	  }
+      }
 
-	dfa = (CDfa) m_spec.m_dfa_sets.get(bunch.m_nfa_bit);
+  /***************************************************************
+    Function: in_dstates
+    Description: Returns the label of the dfa state with the NFA
+    set, or NOT_IN_DSTATES.
+    **************************************************************/
+  private int in_dstates
+    (
+     int set[]
+     )
+      {
+	int s;
+	int mask;
 
-	if (null != dfa)
+	mask = m_slots.length - 1;
+	s = Arrays.hashCode(set) & mask;
+	while (0 != m_slots[s])
 	  {
-	    if (CUtility.OLD_DUMP_DEBUG)
+	    if (Arrays.equals(m_dfa_nfa_sets[m_slots[s] - 1], set))
 	      {
-		System.out.println(" FOUND!");
+		return m_slots[s] - 1;
 	      }
-	    
-	    return dfa.m_label;
+	    s = (s + 1) & mask;
 	  }
 
-	if (CUtility.OLD_DUMP_DEBUG)
-	  {
-	    System.out.println(" NOT FOUND!");
-	  }
 	return NOT_IN_DSTATES;
       }
 
@@ -3900,8 +4182,6 @@ class CDfa
   boolean m_mark;
   CAccept m_accept;
   int m_anchor;
-  Vector m_nfa_set;
-  SparseBitSet m_nfa_bit;
   int m_label;
 
   /***************************************************************
@@ -3918,9 +4198,6 @@ class CDfa
 	m_accept = null;
 	m_anchor = CSpec.NONE;
 
-	m_nfa_set = null;
-	m_nfa_bit = null;
-
 	m_label = label;
       }
 }
@@ -5280,6 +5557,22 @@ class CLexGen
     '\0'
     };
 
+  private char m_directcode_dir[] = { 
+    '%', 'd', 'i', 
+    'r', 'e', 'c',
+    't', 'c', 'o',
+    'd', 'e',
+    '\0'
+    };
+
+  private char m_flattable_dir[] = { 
+    '%', 'f', 'l', 
+    'a', 't', 't',
+    'a', 'b', 'l',
+    'e',
+    '\0'
+    };
+
   private char m_unicode_dir[] = { 
     '%', 'u', 'n', 
     'i', 'c', 'o',
@@ -5542,6 +5835,23 @@ class CLexGen
 		      CError.parse_error(CError.E_DIRECT,
 					 m_input.m_line_number);
 		      break;
+
+		    case 'd':
+		      if (0 == CUtility.charncmp(m_input.m_line,
+						 0,
+						 m_directcode_dir,
+						 0,
+						 m_directcode_dir.length - 1))
+			{
+			  m_input.m_line_index = m_directcode_dir.length;
+			  m_spec.m_direct_code = true;
+			  break;
+			}
+
+		      /* Bad directive. */
+		      CError.parse_error(CError.E_DIRECT,
+					 m_input.m_line_number);
+		      break;
 		      
 		    case 'e':
 		      if (0 == CUtility.charncmp(m_input.m_line,
@@ -5611,6 +5921,16 @@ class CLexGen
 			  m_spec.m_dtrans_ncols = CUtility.MAX_EIGHT_BIT + 1;
 			  break;
 			}
+		      else if (0 == CUtility.charncmp(m_input.m_line,
+						      0,
+						      m_flattable_dir,
+						      0,
+						      m_flattable_dir.length - 1))
+			{
+			  m_input.m_line_index = m_flattable_dir.length;
+			  m_spec.m_flat_table = true;
+			  break;
+			}
 
 		      /* Bad directive. */
 		      CError.parse_error(CError.E_DIRECT,
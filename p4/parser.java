@@ -27,323 +27,337 @@ public class parser extends java_cup.runtime.lr_parser {
 
   /** Production table. */
   protected static final short _production_table[][] = 
-    unpackFromStrings(new String[] {
-    "\000\104\000\002\002\004\000\002\002\003\000\002\003" +
+    ParseTables.unpack(new String[] {
+    "\000\107\000\002\002\004\000\002\002\003\000\002\003" +
     "\004\000\002\003\002\000\002\004\003\000\002\004\003" +
-    "\000\002\004\003\000\002\005\004\000\002\005\002\000" +
-    "\002\006\005\000\002\006\006\000\002\007\006\000\002" +
-    "\010\010\000\002\011\004\000\002\011\003\000\002\012" +
-    "\004\000\002\012\005\000\002\013\003\000\002\013\005" +
-    "\000\002\014\004\000\002\015\006\000\002\016\004\000" +
-    "\002\016\002\000\002\017\004\000\002\017\005\000\002" +
-    "\017\005\000\002\017\010\000\002\017\015\000\002\017" +
-    "\010\000\002\017\006\000\002\017\006\000\002\017\004" +
-    "\000\002\017\005\000\002\017\004\000\002\020\005\000" +
-    "\002\021\003\000\002\021\005\000\002\021\005\000\002" +
-    "\021\005\000\002\021\005\000\002\021\005\000\002\021" +
+    "\000\002\004\003\000\002\004\004\000\002\004\004\000" +
+    "\002\005\004\000\002\005\002\000\002\006\005\000\002" +
+    "\006\006\000\002\007\006\000\002\010\010\000\002\011" +
+    "\004\000\002\011\003\000\002\012\004\000\002\012\005" +
+    "\000\002\013\003\000\002\013\005\000\002\014\004\000" +
+    "\002\015\006\000\002\016\004\000\002\016\002\000\002" +
+    "\017\004\000\002\017\005\000\002\017\005\000\002\017" +
+    "\010\000\002\017\015\000\002\017\010\000\002\017\006" +
+    "\000\002\017\006\000\002\017\004\000\002\017\005\000" +
+    "\002\017\004\000\002\017\004\000\002\020\005\000\002" +
+    "\021\003\000\002\021\005\000\002\021\005\000\002\021" +
     "\005\000\002\021\005\000\002\021\005\000\002\021\005" +
-    "\000\002\021\005\000\002\021\004\000\002\021\005\000" +
-    "\002\021\005\000\002\021\004\000\002\021\003\000\002" +
-    "\022\003\000\002\022\003\000\002\022\003\000\002\022" +
-    "\003\000\002\022\003\000\002\022\005\000\002\022\003" +
-    "\000\002\023\005\000\002\023\006\000\002\024\003\000" +
-    "\002\024\005\000\002\025\003\000\002\025\003\000\002" +
-    "\025\003\000\002\026\003\000\002\026\005\000\002\027" +
-    "\003" });
+    "\000\002\021\005\000\002\021\005\000\002\021\005\000" +
+    "\002\021\005\000\002\021\004\000\002\021\005\000\002" +
+    "\021\005\000\002\021\004\000\002\021\003\000\002\022" +
+    "\003\000\002\022\003\000\002\022\003\000\002\022\003" +
+    "\000\002\022\003\000\002\022\005\000\002\022\003\000" +
+    "\002\023\005\000\002\023\006\000\002\024\003\000\002" +
+    "\024\005\000\002\025\003\000\002\025\003\000\002\025" +
+    "\003\000\002\026\003\000\002\026\005\000\002\027\003" +
+    "" });
 
   /** Access to production table. */
   public short[][] production_table() {return _production_table;}
 
   /** Parse-action table. */
   protected static final short[][] _action_table = 
-    unpackFromStrings(new String[] {
-    "\000\210\000\014\002\ufffe\004\ufffe\005\ufffe\006\ufffe\011" +
-    "\ufffe\001\002\000\014\002\000\004\011\005\010\006\013" +
-    "\011\014\001\002\000\004\002\006\001\002\000\004\002" +
-    "\001\001\002\000\014\002\ufffd\004\ufffd\005\ufffd\006\ufffd" +
-    "\011\ufffd\001\002\000\004\020\uffc2\001\002\000\004\020" +
-    "\uffc3\001\002\000\014\002\ufffb\004\ufffb\005\ufffb\006\ufffb" +
-    "\011\ufffb\001\002\000\004\020\uffc1\001\002\000\004\020" +
-    "\020\001\002\000\004\020\020\001\002\000\014\002\uffff" +
-    "\004\uffff\005\uffff\006\uffff\011\uffff\001\002\000\014\002" +
-    "\ufffc\004\ufffc\005\ufffc\006\ufffc\011\ufffc\001\002\000\056" +
-    "\020\uffbe\023\uffbe\025\uffbe\026\uffbe\027\uffbe\030\uffbe\031" +
-    "\uffbe\034\uffbe\035\uffbe\036\uffbe\037\uffbe\040\uffbe\041\uffbe" +
-    "\042\uffbe\044\uffbe\045\uffbe\046\uffbe\047\uffbe\050\uffbe\051" +
-    "\uffbe\052\uffbe\053\uffbe\001\002\000\006\025\024\027\022" +
-    "\001\002\000\034\002\ufff8\004\ufff8\005\ufff8\006\ufff8\011" +
-    "\ufff8\012\ufff8\013\ufff8\014\ufff8\016\ufff8\017\ufff8\020\ufff8" +
-    "\024\ufff8\026\ufff8\001\002\000\004\023\035\001\002\000" +
-    "\012\004\011\005\010\006\013\026\025\001\002\000\004" +
-    "\023\ufff2\001\002\000\004\020\020\001\002\000\004\026" +
-    "\033\001\002\000\006\026\ufff0\030\031\001\002\000\010" +
-    "\004\011\005\010\006\013\001\002\000\004\026\uffef\001" +
-    "\002\000\004\023\ufff1\001\002\000\006\026\uffee\030\uffee" +
-    "\001\002\000\030\004\ufff9\005\ufff9\006\ufff9\011\ufff9\012" +
-    "\ufff9\013\ufff9\014\ufff9\016\ufff9\017\ufff9\020\ufff9\024\ufff9" +
-    "\001\002\000\014\002\ufff6\004\ufff6\005\ufff6\006\ufff6\011" +
-    "\ufff6\001\002\000\030\004\011\005\010\006\013\011\040" +
-    "\012\uffeb\013\uffeb\014\uffeb\016\uffeb\017\uffeb\020\uffeb\024" +
-    "\uffeb\001\002\000\004\020\020\001\002\000\004\020\020" +
-    "\001\002\000\020\012\056\013\054\014\047\016\044\017" +
-    "\055\020\020\024\053\001\002\000\030\004\ufffa\005\ufffa" +
-    "\006\ufffa\011\ufffa\012\ufffa\013\ufffa\014\ufffa\016\ufffa\017" +
-    "\ufffa\020\ufffa\024\ufffa\001\002\000\022\007\070\010\072" +
-    "\020\020\021\100\022\076\025\101\040\065\043\077\001" +
-    "\002\000\054\023\uffc0\025\164\026\uffc0\027\uffc0\030\uffc0" +
-    "\031\uffc0\034\uffc0\035\uffc0\036\uffc0\037\uffc0\040\uffc0\041" +
-    "\uffc0\042\uffc0\044\uffc0\045\uffc0\046\uffc0\047\uffc0\050\uffc0" +
-    "\051\uffc0\052\uffc0\053\uffc0\001\002\000\020\012\uffec\013" +
-    "\uffec\014\uffec\016\uffec\017\uffec\020\uffec\024\uffec\001\002" +
-    "\000\022\007\070\010\072\020\020\021\100\022\076\025" +
-    "\101\040\065\043\077\001\002\000\012\031\063\034\135" +
-    "\035\147\036\146\001\002\000\004\027\145\001\002\000" +
-    "\004\027\144\001\002\000\014\002\uffed\004\uffed\005\uffed" +
-    "\006\uffed\011\uffed\001\002\000\004\032\141\001\002\000" +
-    "\024\007\070\010\072\020\020\021\100\022\076\025\101" +
-    "\027\074\040\065\043\077\001\002\000\004\033\057\001" +
-    "\002\000\004\020\020\001\002\000\006\027\062\031\063" +
-    "\001\002\000\006\027\uffc0\031\uffc0\001\002\000\020\012" +
-    "\uffe4\013\uffe4\014\uffe4\016\uffe4\017\uffe4\020\uffe4\024\uffe4" +
-    "\001\002\000\004\020\020\001\002\000\052\023\uffbf\026" +
-    "\uffbf\027\uffbf\030\uffbf\031\uffbf\034\uffbf\035\uffbf\036\uffbf" +
-    "\037\uffbf\040\uffbf\041\uffbf\042\uffbf\044\uffbf\045\uffbf\046" +
-    "\uffbf\047\uffbf\050\uffbf\051\uffbf\052\uffbf\053\uffbf\001\002" +
-    "\000\022\007\070\010\072\020\020\021\100\022\076\025" +
-    "\101\040\065\043\077\001\002\000\042\023\uffcf\026\uffcf" +
-    "\027\uffcf\030\uffcf\037\uffcf\040\uffcf\041\uffcf\042\uffcf\044" +
-    "\uffcf\045\uffcf\046\uffcf\047\uffcf\050\uffcf\051\uffcf\052\uffcf" +
-    "\053\uffcf\001\002\000\034\027\137\037\112\040\104\041" +
-    "\115\042\105\044\103\045\117\046\116\047\106\050\113" +
-    "\051\110\052\107\053\111\001\002\000\042\023\uffcd\026" +
-    "\uffcd\027\uffcd\030\uffcd\037\uffcd\040\uffcd\041\uffcd\042\uffcd" +
-    "\044\uffcd\045\uffcd\046\uffcd\047\uffcd\050\uffcd\051\uffcd\052" +
-    "\uffcd\053\uffcd\001\002\000\046\023\uffce\026\uffce\027\uffce" +
-    "\030\uffce\031\063\034\135\037\uffce\040\uffce\041\uffce\042" +
-    "\uffce\044\uffce\045\uffce\046\uffce\047\uffce\050\uffce\051\uffce" +
-    "\052\uffce\053\uffce\001\002\000\042\023\uffcc\026\uffcc\027" +
-    "\uffcc\030\uffcc\037\uffcc\040\uffcc\041\uffcc\042\uffcc\044\uffcc" +
-    "\045\uffcc\046\uffcc\047\uffcc\050\uffcc\051\uffcc\052\uffcc\053" +
-    "\uffcc\001\002\000\042\023\uffde\026\uffde\027\uffde\030\uffde" +
-    "\037\uffde\040\uffde\041\uffde\042\uffde\044\uffde\045\uffde\046" +
-    "\uffde\047\uffde\050\uffde\051\uffde\052\uffde\053\uffde\001\002" +
-    "\000\020\012\uffe0\013\uffe0\014\uffe0\016\uffe0\017\uffe0\020" +
-    "\uffe0\024\uffe0\001\002\000\042\023\uffc8\026\uffc8\027\uffc8" +
-    "\030\uffc8\037\uffc8\040\uffc8\041\uffc8\042\uffc8\044\uffc8\045" +
-    "\uffc8\046\uffc8\047\uffc8\050\uffc8\051\uffc8\052\uffc8\053\uffc8" +
-    "\001\002\000\042\023\uffca\026\uffca\027\uffca\030\uffca\037" +
-    "\uffca\040\uffca\041\uffca\042\uffca\044\uffca\045\uffca\046\uffca" +
-    "\047\uffca\050\uffca\051\uffca\052\uffca\053\uffca\001\002\000" +
-    "\022\007\070\010\072\020\020\021\100\022\076\025\101" +
-    "\040\065\043\077\001\002\000\042\023\uffcb\026\uffcb\027" +
-    "\uffcb\030\uffcb\037\uffcb\040\uffcb\041\uffcb\042\uffcb\044\uffcb" +
-    "\045\uffcb\046\uffcb\047\uffcb\050\uffcb\051\uffcb\052\uffcb\053" +
-    "\uffcb\001\002\000\022\007\070\010\072\020\020\021\100" +
-    "\022\076\025\101\040\065\043\077\001\002\000\034\026" +
-    "\114\037\112\040\104\041\115\042\105\044\103\045\117" +
-    "\046\116\047\106\050\113\051\110\052\107\053\111\001" +
-    "\002\000\022\007\070\010\072\020\020\021\100\022\076" +
-    "\025\101\040\065\043\077\001\002\000\022\007\070\010" +
-    "\072\020\020\021\100\022\076\025\101\040\065\043\077" +
-    "\001\002\000\022\007\070\010\072\020\020\021\100\022" +
-    "\076\025\101\040\065\043\077\001\002\000\022\007\070" +
-    "\010\072\020\020\021\100\022\076\025\101\040\065\043" +
-    "\077\001\002\000\022\007\070\010\072\020\020\021\100" +
-    "\022\076\025\101\040\065\043\077\001\002\000\022\007" +
-    "\070\010\072\020\020\021\100\022\076\025\101\040\065" +
-    "\043\077\001\002\000\022\007\070\010\072\020\020\021" +
-    "\100\022\076\025\101\040\065\043\077\001\002\000\022" +
-    "\007\070\010\072\020\020\021\100\022\076\025\101\040" +
-    "\065\043\077\001\002\000\022\007\070\010\072\020\020" +
-    "\021\100\022\076\025\101\040\065\043\077\001\002\000" +
-    "\042\023\uffc9\026\uffc9\027\uffc9\030\uffc9\037\uffc9\040\uffc9" +
-    "\041\uffc9\042\uffc9\044\uffc9\045\uffc9\046\uffc9\047\uffc9\050" +
-    "\uffc9\051\uffc9\052\uffc9\053\uffc9\001\002\000\022\007\070" +
-    "\010\072\020\020\021\100\022\076\025\101\040\065\043" +
-    "\077\001\002\000\022\007\070\010\072\020\020\021\100" +
-    "\022\076\025\101\040\065\043\077\001\002\000\022\007" +
-    "\070\010\072\020\020\021\100\022\076\025\101\040\065" +
-    "\043\077\001\002\000\042\023\uffd1\026\uffd1\027\uffd1\030" +
-    "\uffd1\037\112\040\104\041\115\042\105\044\103\045\uffd1" +
-    "\046\116\047\106\050\113\051\110\052\107\053\111\001" +
-    "\002\000\026\023\uffd9\026\uffd9\027\uffd9\030\uffd9\037\112" +
-    "\040\104\041\115\042\105\044\uffd9\045\uffd9\001\002\000" +
-    "\042\023\uffdb\026\uffdb\027\uffdb\030\uffdb\037\uffdb\040\uffdb" +
-    "\041\uffdb\042\uffdb\044\uffdb\045\uffdb\046\uffdb\047\uffdb\050" +
-    "\uffdb\051\uffdb\052\uffdb\053\uffdb\001\002\000\026\023\uffd7" +
-    "\026\uffd7\027\uffd7\030\uffd7\037\112\040\104\041\115\042" +
-    "\105\044\uffd7\045\uffd7\001\002\000\042\023\uffdd\026\uffdd" +
-    "\027\uffdd\030\uffdd\037\uffdd\040\uffdd\041\115\042\105\044" +
-    "\uffdd\045\uffdd\046\uffdd\047\uffdd\050\uffdd\051\uffdd\052\uffdd" +
-    "\053\uffdd\001\002\000\026\023\uffd4\026\uffd4\027\uffd4\030" +
-    "\uffd4\037\112\040\104\041\115\042\105\044\uffd4\045\uffd4" +
-    "\001\002\000\026\023\uffd5\026\uffd5\027\uffd5\030\uffd5\037" +
-    "\112\040\104\041\115\042\105\044\uffd5\045\uffd5\001\002" +
-    "\000\026\023\uffd6\026\uffd6\027\uffd6\030\uffd6\037\112\040" +
-    "\104\041\115\042\105\044\uffd6\045\uffd6\001\002\000\026" +
-    "\023\uffd8\026\uffd8\027\uffd8\030\uffd8\037\112\040\104\041" +
-    "\115\042\105\044\uffd8\045\uffd8\001\002\000\042\023\uffda" +
-    "\026\uffda\027\uffda\030\uffda\037\uffda\040\uffda\041\uffda\042" +
-    "\uffda\044\uffda\045\uffda\046\uffda\047\uffda\050\uffda\051\uffda" +
-    "\052\uffda\053\uffda\001\002\000\042\023\uffdc\026\uffdc\027" +
-    "\uffdc\030\uffdc\037\uffdc\040\uffdc\041\115\042\105\044\uffdc" +
-    "\045\uffdc\046\uffdc\047\uffdc\050\uffdc\051\uffdc\052\uffdc\053" +
-    "\uffdc\001\002\000\042\023\uffd2\026\uffd2\027\uffd2\030\uffd2" +
-    "\037\112\040\104\041\115\042\105\044\uffd2\045\uffd2\046" +
-    "\116\047\106\050\113\051\110\052\107\053\111\001\002" +
-    "\000\042\023\uffd3\026\uffd3\027\uffd3\030\uffd3\037\uffd3\040" +
-    "\uffd3\041\uffd3\042\uffd3\044\uffd3\045\uffd3\046\uffd3\047\uffd3" +
-    "\050\uffd3\051\uffd3\052\uffd3\053\uffd3\001\002\000\022\007" +
-    "\070\010\072\020\020\021\100\022\076\025\101\040\065" +
-    "\043\077\001\002\000\042\023\uffdf\026\uffdf\027\uffdf\030" +
-    "\uffdf\037\112\040\104\041\115\042\105\044\103\045\117" +
-    "\046\116\047\106\050\113\051\110\052\107\053\111\001" +
-    "\002\000\020\012\uffe1\013\uffe1\014\uffe1\016\uffe1\017\uffe1" +
-    "\020\uffe1\024\uffe1\001\002\000\042\023\uffd0\026\uffd0\027" +
-    "\uffd0\030\uffd0\037\uffd0\040\uffd0\041\115\042\105\044\uffd0" +
-    "\045\uffd0\046\uffd0\047\uffd0\050\uffd0\051\uffd0\052\uffd0\053" +
-    "\uffd0\001\002\000\022\007\070\010\072\020\020\021\100" +
-    "\022\076\025\101\040\065\043\077\001\002\000\034\027" +
-    "\143\037\112\040\104\041\115\042\105\044\103\045\117" +
-    "\046\116\047\106\050\113\051\110\052\107\053\111\001" +
-    "\002\000\020\012\uffe3\013\uffe3\014\uffe3\016\uffe3\017\uffe3" +
-    "\020\uffe3\024\uffe3\001\002\000\020\012\uffe2\013\uffe2\014" +
-    "\uffe2\016\uffe2\017\uffe2\020\uffe2\024\uffe2\001\002\000\020" +
-    "\012\uffea\013\uffea\014\uffea\016\uffea\017\uffea\020\uffea\024" +
-    "\uffea\001\002\000\004\027\151\001\002\000\004\027\150" +
-    "\001\002\000\020\012\uffe9\013\uffe9\014\uffe9\016\uffe9\017" +
-    "\uffe9\020\uffe9\024\uffe9\001\002\000\020\012\uffe8\013\uffe8" +
-    "\014\uffe8\016\uffe8\017\uffe8\020\uffe8\024\uffe8\001\002\000" +
-    "\034\023\153\037\112\040\104\041\115\042\105\044\103" +
-    "\045\117\046\116\047\106\050\113\051\110\052\107\053" +
-    "\111\001\002\000\030\004\ufff9\005\ufff9\006\ufff9\011\ufff9" +
-    "\012\ufff9\013\ufff9\014\ufff9\016\ufff9\017\ufff9\020\ufff9\024" +
-    "\ufff9\001\002\000\030\004\011\005\010\006\013\011\040" +
-    "\012\uffeb\013\uffeb\014\uffeb\016\uffeb\017\uffeb\020\uffeb\024" +
-    "\uffeb\001\002\000\020\012\056\013\054\014\047\016\044" +
-    "\017\055\020\020\024\156\001\002\000\022\012\uffe7\013" +
-    "\uffe7\014\uffe7\015\157\016\uffe7\017\uffe7\020\uffe7\024\uffe7" +
-    "\001\002\000\004\023\160\001\002\000\030\004\ufff9\005" +
-    "\ufff9\006\ufff9\011\ufff9\012\ufff9\013\ufff9\014\ufff9\016\ufff9" +
-    "\017\ufff9\020\ufff9\024\ufff9\001\002\000\030\004\011\005" +
-    "\010\006\013\011\040\012\uffeb\013\uffeb\014\uffeb\016\uffeb" +
-    "\017\uffeb\020\uffeb\024\uffeb\001\002\000\020\012\056\013" +
-    "\054\014\047\016\044\017\055\020\020\024\163\001\002" +
-    "\000\020\012\uffe6\013\uffe6\014\uffe6\016\uffe6\017\uffe6\020" +
-    "\uffe6\024\uffe6\001\002\000\024\007\070\010\072\020\020" +
-    "\021\100\022\076\025\101\026\167\040\065\043\077\001" +
-    "\002\000\036\026\uffc5\030\uffc5\037\112\040\104\041\115" +
-    "\042\105\044\103\045\117\046\116\047\106\050\113\051" +
-    "\110\052\107\053\111\001\002\000\006\026\171\030\170" +
+    ParseTables.unpack(new String[] {
+    "\000\215\000\016\002\ufffe\003\ufffe\004\ufffe\005\ufffe\006" +
+    "\ufffe\011\ufffe\001\002\000\016\002\000\003\016\004\011" +
+    "\005\010\006\013\011\014\001\002\000\004\002\006\001" +
+    "\002\000\004\002\001\001\002\000\016\002\ufffd\003\ufffd" +
+    "\004\ufffd\005\ufffd\006\ufffd\011\ufffd\001\002\000\004\020" +
+    "\uffbf\001\002\000\004\020\uffc0\001\002\000\016\002\ufffb" +
+    "\003\ufffb\004\ufffb\005\ufffb\006\ufffb\011\ufffb\001\002\000" +
+    "\004\020\uffbe\001\002\000\004\020\023\001\002\000\004" +
+    "\020\023\001\002\000\006\024\022\027\021\001\002\000" +
+    "\016\002\uffff\003\uffff\004\uffff\005\uffff\006\uffff\011\uffff" +
+    "\001\002\000\016\002\ufffc\003\ufffc\004\ufffc\005\ufffc\006" +
+    "\ufffc\011\ufffc\001\002\000\016\002\ufffa\003\ufffa\004\ufffa" +
+    "\005\ufffa\006\ufffa\011\ufffa\001\002\000\016\002\ufff9\003" +
+    "\ufff9\004\ufff9\005\ufff9\006\ufff9\011\ufff9\001\002\000\056" +
+    "\020\uffbb\023\uffbb\025\uffbb\026\uffbb\027\uffbb\030\uffbb\031" +
+    "\uffbb\034\uffbb\035\uffbb\036\uffbb\037\uffbb\040\uffbb\041\uffbb" +
+    "\042\uffbb\044\uffbb\045\uffbb\046\uffbb\047\uffbb\050\uffbb\051" +
+    "\uffbb\052\uffbb\053\uffbb\001\002\000\006\025\027\027\025" +
+    "\001\002\000\036\002\ufff6\003\ufff6\004\ufff6\005\ufff6\006" +
+    "\ufff6\011\ufff6\012\ufff6\013\ufff6\014\ufff6\016\ufff6\017\ufff6" +
+    "\020\ufff6\024\ufff6\026\ufff6\001\002\000\004\023\040\001" +
+    "\002\000\012\004\011\005\010\006\013\026\030\001\002" +
+    "\000\004\023\ufff0\001\002\000\004\020\023\001\002\000" +
+    "\006\026\035\030\034\001\002\000\006\026\uffee\030\uffee" +
+    "\001\002\000\010\004\011\005\010\006\013\001\002\000" +
+    "\004\023\uffef\001\002\000\006\026\uffed\030\uffed\001\002" +
+    "\000\006\026\uffec\030\uffec\001\002\000\032\003\ufff7\004" +
+    "\ufff7\005\ufff7\006\ufff7\011\ufff7\012\ufff7\013\ufff7\014\ufff7" +
+    "\016\ufff7\017\ufff7\020\ufff7\024\ufff7\001\002\000\016\002" +
+    "\ufff4\003\ufff4\004\ufff4\005\ufff4\006\ufff4\011\ufff4\001\002" +
+    "\000\032\003\uffe9\004\011\005\010\006\013\011\043\012" +
+    "\uffe9\013\uffe9\014\uffe9\016\uffe9\017\uffe9\020\uffe9\024\uffe9" +
+    "\001\002\000\004\020\023\001\002\000\004\020\023\001" +
+    "\002\000\032\003\ufff8\004\ufff8\005\ufff8\006\ufff8\011\ufff8" +
+    "\012\ufff8\013\ufff8\014\ufff8\016\ufff8\017\ufff8\020\ufff8\024" +
+    "\ufff8\001\002\000\022\003\055\012\062\013\056\014\053" +
+    "\016\047\017\061\020\023\024\057\001\002\000\022\007" +
+    "\074\010\076\020\023\021\105\022\100\025\104\040\071" +
+    "\043\103\001\002\000\054\023\uffbd\025\171\026\uffbd\027" +
+    "\uffbd\030\uffbd\031\uffbd\034\uffbd\035\uffbd\036\uffbd\037\uffbd" +
+    "\040\uffbd\041\uffbd\042\uffbd\044\uffbd\045\uffbd\046\uffbd\047" +
+    "\uffbd\050\uffbd\051\uffbd\052\uffbd\053\uffbd\001\002\000\022" +
+    "\003\uffea\012\uffea\013\uffea\014\uffea\016\uffea\017\uffea\020" +
+    "\uffea\024\uffea\001\002\000\012\031\067\034\141\035\166" +
+    "\036\165\001\002\000\022\007\074\010\076\020\023\021" +
+    "\105\022\100\025\104\040\071\043\103\001\002\000\004" +
+    "\027\152\001\002\000\004\027\151\001\002\000\004\032" +
+    "\146\001\002\000\016\002\uffeb\003\uffeb\004\uffeb\005\uffeb" +
+    "\006\uffeb\011\uffeb\001\002\000\004\027\145\001\002\000" +
+    "\024\007\074\010\076\020\023\021\105\022\100\025\104" +
+    "\027\102\040\071\043\103\001\002\000\004\033\063\001" +
+    "\002\000\004\020\023\001\002\000\006\027\066\031\067" +
+    "\001\002\000\006\027\uffbd\031\uffbd\001\002\000\022\003" +
+    "\uffe2\012\uffe2\013\uffe2\014\uffe2\016\uffe2\017\uffe2\020\uffe2" +
+    "\024\uffe2\001\002\000\004\020\023\001\002\000\052\023" +
+    "\uffbc\026\uffbc\027\uffbc\030\uffbc\031\uffbc\034\uffbc\035\uffbc" +
+    "\036\uffbc\037\uffbc\040\uffbc\041\uffbc\042\uffbc\044\uffbc\045" +
+    "\uffbc\046\uffbc\047\uffbc\050\uffbc\051\uffbc\052\uffbc\053\uffbc" +
+    "\001\002\000\022\007\074\010\076\020\023\021\105\022" +
+    "\100\025\104\040\071\043\103\001\002\000\042\023\uffcc" +
+    "\026\uffcc\027\uffcc\030\uffcc\037\uffcc\040\uffcc\041\uffcc\042" +
+    "\uffcc\044\uffcc\045\uffcc\046\uffcc\047\uffcc\050\uffcc\051\uffcc" +
+    "\052\uffcc\053\uffcc\001\002\000\034\027\143\037\116\040" +
+    "\107\041\121\042\111\044\110\045\123\046\122\047\112" +
+    "\050\117\051\114\052\113\053\115\001\002\000\042\023" +
+    "\uffca\026\uffca\027\uffca\030\uffca\037\uffca\040\uffca\041\uffca" +
+    "\042\uffca\044\uffca\045\uffca\046\uffca\047\uffca\050\uffca\051" +
+    "\uffca\052\uffca\053\uffca\001\002\000\046\023\uffcb\026\uffcb" +
+    "\027\uffcb\030\uffcb\031\067\034\141\037\uffcb\040\uffcb\041" +
+    "\uffcb\042\uffcb\044\uffcb\045\uffcb\046\uffcb\047\uffcb\050\uffcb" +
+    "\051\uffcb\052\uffcb\053\uffcb\001\002\000\042\023\uffc9\026" +
+    "\uffc9\027\uffc9\030\uffc9\037\uffc9\040\uffc9\041\uffc9\042\uffc9" +
+    "\044\uffc9\045\uffc9\046\uffc9\047\uffc9\050\uffc9\051\uffc9\052" +
+    "\uffc9\053\uffc9\001\002\000\042\023\uffdb\026\uffdb\027\uffdb" +
+    "\030\uffdb\037\uffdb\040\uffdb\041\uffdb\042\uffdb\044\uffdb\045" +
+    "\uffdb\046\uffdb\047\uffdb\050\uffdb\051\uffdb\052\uffdb\053\uffdb" +
     "\001\002\000\042\023\uffc7\026\uffc7\027\uffc7\030\uffc7\037" +
     "\uffc7\040\uffc7\041\uffc7\042\uffc7\044\uffc7\045\uffc7\046\uffc7" +
     "\047\uffc7\050\uffc7\051\uffc7\052\uffc7\053\uffc7\001\002\000" +
-    "\022\007\070\010\072\020\020\021\100\022\076\025\101" +
-    "\040\065\043\077\001\002\000\042\023\uffc6\026\uffc6\027" +
-    "\uffc6\030\uffc6\037\uffc6\040\uffc6\041\uffc6\042\uffc6\044\uffc6" +
-    "\045\uffc6\046\uffc6\047\uffc6\050\uffc6\051\uffc6\052\uffc6\053" +
-    "\uffc6\001\002\000\036\026\uffc4\030\uffc4\037\112\040\104" +
-    "\041\115\042\105\044\103\045\117\046\116\047\106\050" +
-    "\113\051\110\052\107\053\111\001\002\000\034\023\174" +
-    "\037\112\040\104\041\115\042\105\044\103\045\117\046" +
-    "\116\047\106\050\113\051\110\052\107\053\111\001\002" +
-    "\000\030\004\ufff9\005\ufff9\006\ufff9\011\ufff9\012\ufff9\013" +
-    "\ufff9\014\ufff9\016\ufff9\017\ufff9\020\ufff9\024\ufff9\001\002" +
-    "\000\030\004\011\005\010\006\013\011\040\012\uffeb\013" +
-    "\uffeb\014\uffeb\016\uffeb\017\uffeb\020\uffeb\024\uffeb\001\002" +
-    "\000\020\012\056\013\054\014\047\016\044\017\055\020" +
-    "\020\024\177\001\002\000\020\012\uffe5\013\uffe5\014\uffe5" +
-    "\016\uffe5\017\uffe5\020\uffe5\024\uffe5\001\002\000\004\027" +
-    "\022\001\002\000\004\020\020\001\002\000\004\027\203" +
-    "\001\002\000\034\002\ufff7\004\ufff7\005\ufff7\006\ufff7\011" +
-    "\ufff7\012\ufff7\013\ufff7\014\ufff7\016\ufff7\017\ufff7\020\ufff7" +
-    "\024\ufff7\026\ufff7\001\002\000\006\020\020\025\205\001" +
-    "\002\000\012\004\011\005\010\006\013\011\040\001\002" +
-    "\000\014\004\011\005\010\006\013\011\040\026\210\001" +
-    "\002\000\014\004\ufff3\005\ufff3\006\ufff3\011\ufff3\026\ufff3" +
-    "\001\002\000\004\027\212\001\002\000\014\004\ufff4\005" +
-    "\ufff4\006\ufff4\011\ufff4\026\ufff4\001\002\000\014\002\ufff5" +
-    "\004\ufff5\005\ufff5\006\ufff5\011\ufff5\001\002" });
+    "\042\023\uffc5\026\uffc5\027\uffc5\030\uffc5\037\uffc5\040\uffc5" +
+    "\041\uffc5\042\uffc5\044\uffc5\045\uffc5\046\uffc5\047\uffc5\050" +
+    "\uffc5\051\uffc5\052\uffc5\053\uffc5\001\002\000\022\003\uffde" +
+    "\012\uffde\013\uffde\014\uffde\016\uffde\017\uffde\020\uffde\024" +
+    "\uffde\001\002\000\022\007\074\010\076\020\023\021\105" +
+    "\022\100\025\104\040\071\043\103\001\002\000\022\007" +
+    "\074\010\076\020\023\021\105\022\100\025\104\040\071" +
+    "\043\103\001\002\000\042\023\uffc8\026\uffc8\027\uffc8\030" +
+    "\uffc8\037\uffc8\040\uffc8\041\uffc8\042\uffc8\044\uffc8\045\uffc8" +
+    "\046\uffc8\047\uffc8\050\uffc8\051\uffc8\052\uffc8\053\uffc8\001" +
+    "\002\000\034\026\120\037\116\040\107\041\121\042\111" +
+    "\044\110\045\123\046\122\047\112\050\117\051\114\052" +
+    "\113\053\115\001\002\000\022\007\074\010\076\020\023" +
+    "\021\105\022\100\025\104\040\071\043\103\001\002\000" +
+    "\022\007\074\010\076\020\023\021\105\022\100\025\104" +
+    "\040\071\043\103\001\002\000\022\007\074\010\076\020" +
+    "\023\021\105\022\100\025\104\040\071\043\103\001\002" +
+    "\000\022\007\074\010\076\020\023\021\105\022\100\025" +
+    "\104\040\071\043\103\001\002\000\022\007\074\010\076" +
+    "\020\023\021\105\022\100\025\104\040\071\043\103\001" +
+    "\002\000\022\007\074\010\076\020\023\021\105\022\100" +
+    "\025\104\040\071\043\103\001\002\000\022\007\074\010" +
+    "\076\020\023\021\105\022\100\025\104\040\071\043\103" +
+    "\001\002\000\022\007\074\010\076\020\023\021\105\022" +
+    "\100\025\104\040\071\043\103\001\002\000\022\007\074" +
+    "\010\076\020\023\021\105\022\100\025\104\040\071\043" +
+    "\103\001\002\000\042\023\uffc6\026\uffc6\027\uffc6\030\uffc6" +
+    "\037\uffc6\040\uffc6\041\uffc6\042\uffc6\044\uffc6\045\uffc6\046" +
+    "\uffc6\047\uffc6\050\uffc6\051\uffc6\052\uffc6\053\uffc6\001\002" +
+    "\000\022\007\074\010\076\020\023\021\105\022\100\025" +
+    "\104\040\071\043\103\001\002\000\022\007\074\010\076" +
+    "\020\023\021\105\022\100\025\104\040\071\043\103\001" +
+    "\002\000\022\007\074\010\076\020\023\021\105\022\100" +
+    "\025\104\040\071\043\103\001\002\000\042\023\uffce\026" +
+    "\uffce\027\uffce\030\uffce\037\116\040\107\041\121\042\111" +
+    "\044\110\045\uffce\046\122\047\112\050\117\051\114\052" +
+    "\113\053\115\001\002\000\026\023\uffd6\026\uffd6\027\uffd6" +
+    "\030\uffd6\037\116\040\107\041\121\042\111\044\uffd6\045" +
+    "\uffd6\001\002\000\042\023\uffd8\026\uffd8\027\uffd8\030\uffd8" +
+    "\037\uffd8\040\uffd8\041\uffd8\042\uffd8\044\uffd8\045\uffd8\046" +
+    "\uffd8\047\uffd8\050\uffd8\051\uffd8\052\uffd8\053\uffd8\001\002" +
+    "\000\026\023\uffd4\026\uffd4\027\uffd4\030\uffd4\037\116\040" +
+    "\107\041\121\042\111\044\uffd4\045\uffd4\001\002\000\042" +
+    "\023\uffda\026\uffda\027\uffda\030\uffda\037\uffda\040\uffda\041" +
+    "\121\042\111\044\uffda\045\uffda\046\uffda\047\uffda\050\uffda" +
+    "\051\uffda\052\uffda\053\uffda\001\002\000\026\023\uffd1\026" +
+    "\uffd1\027\uffd1\030\uffd1\037\116\040\107\041\121\042\111" +
+    "\044\uffd1\045\uffd1\001\002\000\026\023\uffd2\026\uffd2\027" +
+    "\uffd2\030\uffd2\037\116\040\107\041\121\042\111\044\uffd2" +
+    "\045\uffd2\001\002\000\026\023\uffd3\026\uffd3\027\uffd3\030" +
+    "\uffd3\037\116\040\107\041\121\042\111\044\uffd3\045\uffd3" +
+    "\001\002\000\026\023\uffd5\026\uffd5\027\uffd5\030\uffd5\037" +
+    "\116\040\107\041\121\042\111\044\uffd5\045\uffd5\001\002" +
+    "\000\042\023\uffd7\026\uffd7\027\uffd7\030\uffd7\037\uffd7\040" +
+    "\uffd7\041\uffd7\042\uffd7\044\uffd7\045\uffd7\046\uffd7\047\uffd7" +
+    "\050\uffd7\051\uffd7\052\uffd7\053\uffd7\001\002\000\042\023" +
+    "\uffcf\026\uffcf\027\uffcf\030\uffcf\037\116\040\107\041\121" +
+    "\042\111\044\uffcf\045\uffcf\046\122\047\112\050\117\051" +
+    "\114\052\113\053\115\001\002\000\042\023\uffd9\026\uffd9" +
+    "\027\uffd9\030\uffd9\037\uffd9\040\uffd9\041\121\042\111\044" +
+    "\uffd9\045\uffd9\046\uffd9\047\uffd9\050\uffd9\051\uffd9\052\uffd9" +
+    "\053\uffd9\001\002\000\042\023\uffd0\026\uffd0\027\uffd0\030" +
+    "\uffd0\037\uffd0\040\uffd0\041\uffd0\042\uffd0\044\uffd0\045\uffd0" +
+    "\046\uffd0\047\uffd0\050\uffd0\051\uffd0\052\uffd0\053\uffd0\001" +
+    "\002\000\022\007\074\010\076\020\023\021\105\022\100" +
+    "\025\104\040\071\043\103\001\002\000\042\023\uffdc\026" +
+    "\uffdc\027\uffdc\030\uffdc\037\116\040\107\041\121\042\111" +
+    "\044\110\045\123\046\122\047\112\050\117\051\114\052" +
+    "\113\053\115\001\002\000\022\003\uffdf\012\uffdf\013\uffdf" +
+    "\014\uffdf\016\uffdf\017\uffdf\020\uffdf\024\uffdf\001\002\000" +
+    "\042\023\uffcd\026\uffcd\027\uffcd\030\uffcd\037\uffcd\040\uffcd" +
+    "\041\121\042\111\044\uffcd\045\uffcd\046\uffcd\047\uffcd\050" +
+    "\uffcd\051\uffcd\052\uffcd\053\uffcd\001\002\000\022\003\uffe0" +
+    "\012\uffe0\013\uffe0\014\uffe0\016\uffe0\017\uffe0\020\uffe0\024" +
+    "\uffe0\001\002\000\022\007\074\010\076\020\023\021\105" +
+    "\022\100\025\104\040\071\043\103\001\002\000\034\027" +
+    "\150\037\116\040\107\041\121\042\111\044\110\045\123" +
+    "\046\122\047\112\050\117\051\114\052\113\053\115\001" +
+    "\002\000\022\003\uffe1\012\uffe1\013\uffe1\014\uffe1\016\uffe1" +
+    "\017\uffe1\020\uffe1\024\uffe1\001\002\000\022\003\uffdd\012" +
+    "\uffdd\013\uffdd\014\uffdd\016\uffdd\017\uffdd\020\uffdd\024\uffdd" +
+    "\001\002\000\022\003\uffe8\012\uffe8\013\uffe8\014\uffe8\016" +
+    "\uffe8\017\uffe8\020\uffe8\024\uffe8\001\002\000\034\023\154" +
+    "\037\116\040\107\041\121\042\111\044\110\045\123\046" +
+    "\122\047\112\050\117\051\114\052\113\053\115\001\002" +
+    "\000\032\003\ufff7\004\ufff7\005\ufff7\006\ufff7\011\ufff7\012" +
+    "\ufff7\013\ufff7\014\ufff7\016\ufff7\017\ufff7\020\ufff7\024\ufff7" +
+    "\001\002\000\032\003\uffe9\004\011\005\010\006\013\011" +
+    "\043\012\uffe9\013\uffe9\014\uffe9\016\uffe9\017\uffe9\020\uffe9" +
+    "\024\uffe9\001\002\000\022\003\055\012\062\013\056\014" +
+    "\053\016\047\017\061\020\023\024\157\001\002\000\024" +
+    "\003\uffe5\012\uffe5\013\uffe5\014\uffe5\015\160\016\uffe5\017" +
+    "\uffe5\020\uffe5\024\uffe5\001\002\000\004\023\161\001\002" +
+    "\000\032\003\ufff7\004\ufff7\005\ufff7\006\ufff7\011\ufff7\012" +
+    "\ufff7\013\ufff7\014\ufff7\016\ufff7\017\ufff7\020\ufff7\024\ufff7" +
+    "\001\002\000\032\003\uffe9\004\011\005\010\006\013\011" +
+    "\043\012\uffe9\013\uffe9\014\uffe9\016\uffe9\017\uffe9\020\uffe9" +
+    "\024\uffe9\001\002\000\022\003\055\012\062\013\056\014" +
+    "\053\016\047\017\061\020\023\024\164\001\002\000\022" +
+    "\003\uffe4\012\uffe4\013\uffe4\014\uffe4\016\uffe4\017\uffe4\020" +
+    "\uffe4\024\uffe4\001\002\000\004\027\170\001\002\000\004" +
+    "\027\167\001\002\000\022\003\uffe7\012\uffe7\013\uffe7\014" +
+    "\uffe7\016\uffe7\017\uffe7\020\uffe7\024\uffe7\001\002\000\022" +
+    "\003\uffe6\012\uffe6\013\uffe6\014\uffe6\016\uffe6\017\uffe6\020" +
+    "\uffe6\024\uffe6\001\002\000\024\007\074\010\076\020\023" +
+    "\021\105\022\100\025\104\026\174\040\071\043\103\001" +
+    "\002\000\036\026\uffc2\030\uffc2\037\116\040\107\041\121" +
+    "\042\111\044\110\045\123\046\122\047\112\050\117\051" +
+    "\114\052\113\053\115\001\002\000\006\026\176\030\175" +
+    "\001\002\000\042\023\uffc4\026\uffc4\027\uffc4\030\uffc4\037" +
+    "\uffc4\040\uffc4\041\uffc4\042\uffc4\044\uffc4\045\uffc4\046\uffc4" +
+    "\047\uffc4\050\uffc4\051\uffc4\052\uffc4\053\uffc4\001\002\000" +
+    "\022\007\074\010\076\020\023\021\105\022\100\025\104" +
+    "\040\071\043\103\001\002\000\042\023\uffc3\026\uffc3\027" +
+    "\uffc3\030\uffc3\037\uffc3\040\uffc3\041\uffc3\042\uffc3\044\uffc3" +
+    "\045\uffc3\046\uffc3\047\uffc3\050\uffc3\051\uffc3\052\uffc3\053" +
+    "\uffc3\001\002\000\036\026\uffc1\030\uffc1\037\116\040\107" +
+    "\041\121\042\111\044\110\045\123\046\122\047\112\050" +
+    "\117\051\114\052\113\053\115\001\002\000\034\023\201" +
+    "\037\116\040\107\041\121\042\111\044\110\045\123\046" +
+    "\122\047\112\050\117\051\114\052\113\053\115\001\002" +
+    "\000\032\003\ufff7\004\ufff7\005\ufff7\006\ufff7\011\ufff7\012" +
+    "\ufff7\013\ufff7\014\ufff7\016\ufff7\017\ufff7\020\ufff7\024\ufff7" +
+    "\001\002\000\032\003\uffe9\004\011\005\010\006\013\011" +
+    "\043\012\uffe9\013\uffe9\014\uffe9\016\uffe9\017\uffe9\020\uffe9" +
+    "\024\uffe9\001\002\000\022\003\055\012\062\013\056\014" +
+    "\053\016\047\017\061\020\023\024\204\001\002\000\022" +
+    "\003\uffe3\012\uffe3\013\uffe3\014\uffe3\016\uffe3\017\uffe3\020" +
+    "\uffe3\024\uffe3\001\002\000\004\027\025\001\002\000\004" +
+    "\020\023\001\002\000\004\027\210\001\002\000\036\002" +
+    "\ufff5\003\ufff5\004\ufff5\005\ufff5\006\ufff5\011\ufff5\012\ufff5" +
+    "\013\ufff5\014\ufff5\016\ufff5\017\ufff5\020\ufff5\024\ufff5\026" +
+    "\ufff5\001\002\000\006\020\023\025\212\001\002\000\012" +
+    "\004\011\005\010\006\013\011\043\001\002\000\014\004" +
+    "\011\005\010\006\013\011\043\026\215\001\002\000\014" +
+    "\004\ufff1\005\ufff1\006\ufff1\011\ufff1\026\ufff1\001\002\000" +
+    "\004\027\217\001\002\000\014\004\ufff2\005\ufff2\006\ufff2" +
+    "\011\ufff2\026\ufff2\001\002\000\016\002\ufff3\003\ufff3\004" +
+    "\ufff3\005\ufff3\006\ufff3\011\ufff3\001\002" });
 
   /** Access to parse-action table. */
   public short[][] action_table() {return _action_table;}
 
   /** <code>reduce_goto</code> table. */
   protected static final short[][] _reduce_table = 
-    unpackFromStrings(new String[] {
-    "\000\210\000\006\002\004\003\003\001\001\000\014\004" +
-    "\015\006\006\007\016\010\011\025\014\001\001\000\002" +
+    ParseTables.unpack(new String[] {
+    "\000\215\000\006\002\004\003\003\001\001\000\014\004" +
+    "\016\006\006\007\017\010\011\025\014\001\001\000\002" +
     "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
     "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\004\027\203\001\001\000\004\027\020\001\001\000" +
-    "\002\001\001\000\002\001\001\000\002\001\001\000\004" +
-    "\012\022\001\001\000\002\001\001\000\004\015\035\001" +
-    "\001\000\010\013\026\014\027\025\025\001\001\000\002" +
-    "\001\001\000\004\027\033\001\001\000\002\001\001\000" +
-    "\002\001\001\000\010\013\031\014\027\025\025\001\001" +
-    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\004\005\036\001\001\000\002\001\001\000\010\006\042" +
-    "\016\041\025\040\001\001\000\004\027\200\001\001\000" +
-    "\004\027\177\001\001\000\014\017\045\020\050\023\051" +
-    "\026\047\027\044\001\001\000\002\001\001\000\016\020" +
-    "\072\021\172\022\065\023\074\026\070\027\044\001\001" +
-    "\000\002\001\001\000\002\001\001\000\016\020\072\021" +
-    "\151\022\065\023\074\026\070\027\044\001\001\000\002" +
+    "\000\004\027\210\001\001\000\004\027\023\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\004\012" +
+    "\025\001\001\000\002\001\001\000\004\015\040\001\001" +
+    "\000\010\013\031\014\032\025\030\001\001\000\002\001" +
+    "\001\000\004\027\036\001\001\000\002\001\001\000\002" +
+    "\001\001\000\006\014\035\025\030\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\004\005\041" +
+    "\001\001\000\002\001\001\000\010\006\044\016\045\025" +
+    "\043\001\001\000\004\027\205\001\001\000\004\027\204" +
+    "\001\001\000\002\001\001\000\014\017\050\020\053\023" +
+    "\057\026\051\027\047\001\001\000\016\020\076\021\177" +
+    "\022\071\023\100\026\074\027\047\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\016\020\076" +
+    "\021\152\022\071\023\100\026\074\027\047\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\016\020\076\021\072\022" +
+    "\071\023\100\026\074\027\047\001\001\000\002\001\001" +
+    "\000\006\026\063\027\064\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\004\027\067\001\001" +
+    "\000\002\001\001\000\016\020\076\021\143\022\071\023" +
+    "\100\026\074\027\047\001\001\000\002\001\001\000\002" +
     "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
-    "\001\000\002\001\001\000\016\020\072\021\066\022\065" +
-    "\023\074\026\070\027\044\001\001\000\002\001\001\000" +
-    "\006\026\057\027\060\001\001\000\002\001\001\000\002" +
-    "\001\001\000\002\001\001\000\004\027\063\001\001\000" +
-    "\002\001\001\000\016\020\072\021\137\022\065\023\074" +
-    "\026\070\027\044\001\001\000\002\001\001\000\002\001" +
     "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\002\001\001\000\016\020\072\021\133\022\065\023\074" +
-    "\026\070\027\044\001\001\000\002\001\001\000\016\020" +
-    "\072\021\101\022\065\023\074\026\070\027\044\001\001" +
-    "\000\002\001\001\000\016\020\072\021\132\022\065\023" +
-    "\074\026\070\027\044\001\001\000\016\020\072\021\131" +
-    "\022\065\023\074\026\070\027\044\001\001\000\016\020" +
-    "\072\021\130\022\065\023\074\026\070\027\044\001\001" +
-    "\000\016\020\072\021\127\022\065\023\074\026\070\027" +
-    "\044\001\001\000\016\020\072\021\126\022\065\023\074" +
-    "\026\070\027\044\001\001\000\016\020\072\021\125\022" +
-    "\065\023\074\026\070\027\044\001\001\000\016\020\072" +
-    "\021\124\022\065\023\074\026\070\027\044\001\001\000" +
-    "\016\020\072\021\123\022\065\023\074\026\070\027\044" +
-    "\001\001\000\016\020\072\021\122\022\065\023\074\026" +
-    "\070\027\044\001\001\000\002\001\001\000\016\020\072" +
-    "\021\121\022\065\023\074\026\070\027\044\001\001\000" +
-    "\016\020\072\021\120\022\065\023\074\026\070\027\044" +
-    "\001\001\000\016\020\072\021\117\022\065\023\074\026" +
-    "\070\027\044\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\016\020\076\021\137\022\071\023" +
+    "\100\026\074\027\047\001\001\000\016\020\076\021\105" +
+    "\022\071\023\100\026\074\027\047\001\001\000\002\001" +
+    "\001\000\002\001\001\000\016\020\076\021\136\022\071" +
+    "\023\100\026\074\027\047\001\001\000\016\020\076\021" +
+    "\135\022\071\023\100\026\074\027\047\001\001\000\016" +
+    "\020\076\021\134\022\071\023\100\026\074\027\047\001" +
+    "\001\000\016\020\076\021\133\022\071\023\100\026\074" +
+    "\027\047\001\001\000\016\020\076\021\132\022\071\023" +
+    "\100\026\074\027\047\001\001\000\016\020\076\021\131" +
+    "\022\071\023\100\026\074\027\047\001\001\000\016\020" +
+    "\076\021\130\022\071\023\100\026\074\027\047\001\001" +
+    "\000\016\020\076\021\127\022\071\023\100\026\074\027" +
+    "\047\001\001\000\016\020\076\021\126\022\071\023\100" +
+    "\026\074\027\047\001\001\000\002\001\001\000\016\020" +
+    "\076\021\125\022\071\023\100\026\074\027\047\001\001" +
+    "\000\016\020\076\021\124\022\071\023\100\026\074\027" +
+    "\047\001\001\000\016\020\076\021\123\022\071\023\100" +
+    "\026\074\027\047\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
     "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
     "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\016\020\076\021\141\022" +
+    "\071\023\100\026\074\027\047\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\016\020\076\021\146\022\071\023\100\026\074\027\047" +
     "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
-    "\001\000\002\001\001\000\016\020\072\021\135\022\065" +
-    "\023\074\026\070\027\044\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\016\020\072\021\141" +
-    "\022\065\023\074\026\070\027\044\001\001\000\002\001" +
-    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\001\000\002\001\001\000\002\001\001\000\004\005\154" +
+    "\001\001\000\010\006\044\016\155\025\043\001\001\000" +
+    "\014\017\050\020\053\023\057\026\051\027\047\001\001" +
+    "\000\002\001\001\000\002\001\001\000\004\005\161\001" +
+    "\001\000\010\006\044\016\162\025\043\001\001\000\014" +
+    "\017\050\020\053\023\057\026\051\027\047\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\020\020\076\021\171\022" +
+    "\071\023\100\024\172\026\074\027\047\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\016\020" +
+    "\076\021\176\022\071\023\100\026\074\027\047\001\001" +
     "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\004\005\153\001\001" +
-    "\000\010\006\042\016\154\025\040\001\001\000\014\017" +
-    "\045\020\050\023\051\026\047\027\044\001\001\000\002" +
-    "\001\001\000\002\001\001\000\004\005\160\001\001\000" +
-    "\010\006\042\016\161\025\040\001\001\000\014\017\045" +
-    "\020\050\023\051\026\047\027\044\001\001\000\002\001" +
-    "\001\000\020\020\072\021\164\022\065\023\074\024\165" +
-    "\026\070\027\044\001\001\000\002\001\001\000\002\001" +
-    "\001\000\002\001\001\000\016\020\072\021\171\022\065" +
-    "\023\074\026\070\027\044\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\004\005\174\001\001" +
-    "\000\010\006\042\016\175\025\040\001\001\000\014\017" +
-    "\045\020\050\023\051\026\047\027\044\001\001\000\002" +
-    "\001\001\000\002\001\001\000\004\027\201\001\001\000" +
-    "\002\001\001\000\002\001\001\000\004\027\201\001\001" +
-    "\000\010\006\206\011\205\025\040\001\001\000\006\006" +
-    "\210\025\040\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001\000\002\001\001" });
+    "\004\005\201\001\001\000\010\006\044\016\202\025\043" +
+    "\001\001\000\014\017\050\020\053\023\057\026\051\027" +
+    "\047\001\001\000\002\001\001\000\002\001\001\000\004" +
+    "\027\206\001\001\000\002\001\001\000\002\001\001\000" +
+    "\004\027\206\001\001\000\010\006\213\011\212\025\043" +
+    "\001\001\000\006\006\215\025\043\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "" });
 
   /** Access to <code>reduce_goto</code> table. */
   public short[][] reduce_table() {return _reduce_table;}
@@ -383,16 +397,84 @@ public class parser extends java_cup.runtime.lr_parser {
 
 
 
+/* In compact mode (flat != null) each top-level declaration is flattened
+ * into flat as soon as it is parsed, instead of being kept in the AST.
+ * In streaming mode (stream != null) it is analyzed and unparsed right
+ * away and then dropped.
+ */
+FlatAST flat = null;
+DeclStream stream = null;
+
+/* Where syntax errors are reported. */
+Diagnostics diag = null;
+
+public void setDiagnostics(Diagnostics diag) {
+    this.diag = diag;
+}
+
+public void setFlatAST(FlatAST flat) {
+    this.flat = flat;
+}
+
+public void setDeclStream(DeclStream stream) {
+    this.stream = stream;
+}
+
+/* The number of syntax errors reported.  The parser recovers from most of
+ * them, through the error productions for decl and stmt, and goes on to
+ * report the next one; what it has parsed is still returned.
+ */
+int syntaxErrors = 0;
+
+public int getSyntaxErrorCount() {
+    return syntaxErrors;
+}
+
 public void syntax_error(Symbol currToken) {
+    syntaxErrors++;
     if (currToken.value == null) {
-        ErrMsg.fatal(0,0, "Syntax error at end of file");
+        diag.error(0,0, "Syntax error at end of file");
     }
     else {
-        ErrMsg.fatal(((TokenVal)currToken.value).lineNum,
+        diag.error(((TokenVal)currToken.value).lineNum,
                      ((TokenVal)currToken.value).charNum,
                      "Syntax error");
     }
-    System.exit(-1);
+}
+
+/* Parses with LalrDriver, which runs these tables and actions without
+ * lr_parser's table searches and synchronized stack.  -Dbrevis.cupdriver
+ * uses lr_parser's own loop instead, and -Dbrevis.descent the hand-written
+ * DescentParser, which only takes its tokens from this parser.
+ */
+public Symbol parse() throws Exception {
+    if (System.getProperty("brevis.descent") != null) {
+        return new DescentParser(this).parse();
+    }
+    if (System.getProperty("brevis.cupdriver") != null) {
+        return super.parse();
+    }
+    init_actions();
+    user_init();
+    return new LalrDriver(this).parse();
+}
+
+/* Called when error recovery fails, e.g. when the input ends before the
+ * parser can resynchronize; the error has already been reported by
+ * syntax_error, so just stop the parse.
+ * Throwing instead of exiting lets the caller clean up, and lets other
+ * compilations in the same JVM carry on.
+ */
+public void unrecovered_syntax_error(Symbol currToken) throws SyntaxError {
+    done_parsing();
+    throw new SyntaxError();
+}
+
+/* Thrown by parse() after a syntax error has been reported. */
+public static class SyntaxError extends Exception {
+    public SyntaxError() {
+        super("syntax error");
+    }
 }
 
 
@@ -406,7 +488,7 @@ class CUP$parser$actions {
     this.parser = parser;
   }
 
-  /** Method 0 with the actual generated action code for actions 0 to 300. */
+  /** Method 0 with the actual generated action code for actions 0 to 7. */
   public final java_cup.runtime.Symbol CUP$parser$do_action_part00000000(
     int                        CUP$parser$act_num,
     java_cup.runtime.lr_parser CUP$parser$parser,
@@ -440,7 +522,7 @@ class CUP$parser$actions {
               ProgramNode RESULT =null;
 		int dleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
 		int dright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
-		LinkedList d = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		ArrayList d = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
 		 RESULT = new ProgramNode(new DeclListNode(d));
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("program",0, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
@@ -450,14 +532,22 @@ class CUP$parser$actions {
           /*. . . . . . . . . . . . . . . . . . . .*/
           case 2: // declList ::= declList decl 
             {
-              LinkedList RESULT =null;
+              ArrayList RESULT =null;
 		int dlleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int dlright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList dl = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList dl = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		int dleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
 		int dright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
 		DeclNode d = (DeclNode)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
-		 dl.addLast(d);
+		 if (d == null) {
+                       // a declaration skipped by error recovery
+                   } else if (parser.stream != null) {
+                       parser.stream.addDecl(d);
+                   } else if (parser.flat != null) {
+                       parser.flat.addDecl(d);
+                   } else {
+                       dl.add(d);
+                   }
                    RESULT = dl;
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("declList",1, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
@@ -467,8 +557,8 @@ class CUP$parser$actions {
           /*. . . . . . . . . . . . . . . . . . . .*/
           case 3: // declList ::= 
             {
-              LinkedList RESULT =null;
-		 RESULT = new LinkedList<DeclNode>();
+              ArrayList RESULT =null;
+		 RESULT = new ArrayList<DeclNode>();
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("declList",1, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
             }
@@ -514,16 +604,58 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 7: // varDeclList ::= varDeclList varDecl 
+          case 7: // decl ::= error SEMICOLON 
+            {
+              DeclNode RESULT =null;
+		 RESULT = null;
+                
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("decl",2, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /* . . . . . .*/
+          default:
+            throw new Exception(
+               "Invalid action number "+CUP$parser$act_num+"found in internal parse table");
+
+        }
+    } /* end of method */
+
+  /** Method 1 with the actual generated action code for actions 8 to 15. */
+  public final java_cup.runtime.Symbol CUP$parser$do_action_part00000001(
+    int                        CUP$parser$act_num,
+    java_cup.runtime.lr_parser CUP$parser$parser,
+    java.util.Stack            CUP$parser$stack,
+    int                        CUP$parser$top)
+    throws java.lang.Exception
+    {
+      /* Symbol object for return from actions */
+      java_cup.runtime.Symbol CUP$parser$result;
+
+      /* select the action based on the action number */
+      switch (CUP$parser$act_num)
+        {
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 8: // decl ::= error RCURLY 
+            {
+              DeclNode RESULT =null;
+		 RESULT = null;
+                
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("decl",2, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 9: // varDeclList ::= varDeclList varDecl 
             {
-              LinkedList RESULT =null;
+              ArrayList RESULT =null;
 		int vdlleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int vdlright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList vdl = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList vdl = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		int vdleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
 		int vdright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
 		VarDeclNode vd = (VarDeclNode)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
-		 vdl.addLast(vd);
+		 vdl.add(vd);
                    RESULT = vdl;
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("varDeclList",3, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
@@ -531,17 +663,17 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 8: // varDeclList ::= 
+          case 10: // varDeclList ::= 
             {
-              LinkedList RESULT =null;
-		 RESULT = new LinkedList<VarDeclNode>();
+              ArrayList RESULT =null;
+		 RESULT = new ArrayList<VarDeclNode>();
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("varDeclList",3, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 9: // varDecl ::= type id SEMICOLON 
+          case 11: // varDecl ::= type id SEMICOLON 
             {
               VarDeclNode RESULT =null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -557,7 +689,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 10: // varDecl ::= RECORD id id SEMICOLON 
+          case 12: // varDecl ::= RECORD id id SEMICOLON 
             {
               VarDeclNode RESULT =null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -573,7 +705,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 11: // fnDecl ::= type id formals fnBody 
+          case 13: // fnDecl ::= type id formals fnBody 
             {
               FnDeclNode RESULT =null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
@@ -584,7 +716,7 @@ class CUP$parser$actions {
 		IdNode i = (IdNode)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
 		int fleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int fright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList f = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList f = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		int fbleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
 		int fbright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
 		FnBodyNode fb = (FnBodyNode)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
@@ -595,7 +727,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 12: // recordDecl ::= RECORD id LPAREN recordBody RPAREN SEMICOLON 
+          case 14: // recordDecl ::= RECORD id LPAREN recordBody RPAREN SEMICOLON 
             {
               RecordDeclNode RESULT =null;
 		int ileft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
@@ -603,7 +735,7 @@ class CUP$parser$actions {
 		IdNode i = (IdNode)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
 		int rbleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
 		int rbright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		LinkedList rb = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		ArrayList rb = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
 		 RESULT = new RecordDeclNode(i, new DeclListNode(rb));
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("recordDecl",6, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
@@ -611,32 +743,53 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 13: // recordBody ::= recordBody varDecl 
+          case 15: // recordBody ::= recordBody varDecl 
             {
-              LinkedList RESULT =null;
+              ArrayList RESULT =null;
 		int rbleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int rbright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList rb = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList rb = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		int vdleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
 		int vdright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
 		VarDeclNode vd = (VarDeclNode)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
-		 rb.addLast(vd);
+		 rb.add(vd);
                    RESULT = rb;
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("recordBody",7, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
             }
           return CUP$parser$result;
 
+          /* . . . . . .*/
+          default:
+            throw new Exception(
+               "Invalid action number "+CUP$parser$act_num+"found in internal parse table");
+
+        }
+    } /* end of method */
+
+  /** Method 2 with the actual generated action code for actions 16 to 23. */
+  public final java_cup.runtime.Symbol CUP$parser$do_action_part00000002(
+    int                        CUP$parser$act_num,
+    java_cup.runtime.lr_parser CUP$parser$parser,
+    java.util.Stack            CUP$parser$stack,
+    int                        CUP$parser$top)
+    throws java.lang.Exception
+    {
+      /* Symbol object for return from actions */
+      java_cup.runtime.Symbol CUP$parser$result;
+
+      /* select the action based on the action number */
+      switch (CUP$parser$act_num)
+        {
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 14: // recordBody ::= varDecl 
+          case 16: // recordBody ::= varDecl 
             {
-              LinkedList RESULT =null;
+              ArrayList RESULT =null;
 		int vdleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
 		int vdright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
 		VarDeclNode vd = (VarDeclNode)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
-		 LinkedList<VarDeclNode> list = 
-                                           new LinkedList<VarDeclNode>();
-                   list.addLast(vd);
+		 ArrayList<VarDeclNode> list = new ArrayList<VarDeclNode>();
+                   list.add(vd);
                    RESULT = list;
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("recordBody",7, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
@@ -644,22 +797,22 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 15: // formals ::= LPAREN RPAREN 
+          case 17: // formals ::= LPAREN RPAREN 
             {
-              LinkedList RESULT =null;
-		 RESULT = new LinkedList<FormalDeclNode>();
+              ArrayList RESULT =null;
+		 RESULT = new ArrayList<FormalDeclNode>();
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("formals",8, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 16: // formals ::= LPAREN formalsList RPAREN 
+          case 18: // formals ::= LPAREN formalsList RPAREN 
             {
-              LinkedList RESULT =null;
+              ArrayList RESULT =null;
 		int flleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int flright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList fl = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList fl = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 RESULT = fl;
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("formals",8, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
@@ -667,15 +820,15 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 17: // formalsList ::= formalDecl 
+          case 19: // formalsList ::= formalDecl 
             {
-              LinkedList RESULT =null;
+              ArrayList RESULT =null;
 		int fdleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
 		int fdright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
 		FormalDeclNode fd = (FormalDeclNode)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
-		 LinkedList<FormalDeclNode> list = 
-                                              new LinkedList<FormalDeclNode>();
-                   list.addLast(fd);
+		 ArrayList<FormalDeclNode> list =
+                                              new ArrayList<FormalDeclNode>();
+                   list.add(fd);
                    RESULT = list;
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("formalsList",9, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
@@ -683,16 +836,16 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 18: // formalsList ::= formalDecl COMMA formalsList 
+          case 20: // formalsList ::= formalsList COMMA formalDecl 
             {
-              LinkedList RESULT =null;
-		int fdleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
-		int fdright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		FormalDeclNode fd = (FormalDeclNode)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
-		int flleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
-		int flright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
-		LinkedList fl = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
-		 fl.addFirst(fd);
+              ArrayList RESULT =null;
+		int flleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int flright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		ArrayList fl = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int fdleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
+		int fdright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
+		FormalDeclNode fd = (FormalDeclNode)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
+		 fl.add(fd);
                    RESULT = fl;
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("formalsList",9, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
@@ -700,7 +853,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 19: // formalDecl ::= type id 
+          case 21: // formalDecl ::= type id 
             {
               FormalDeclNode RESULT =null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -716,15 +869,15 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 20: // fnBody ::= LCURLY varDeclList stmtList RCURLY 
+          case 22: // fnBody ::= LCURLY varDeclList stmtList RCURLY 
             {
               FnBodyNode RESULT =null;
 		int vdlleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
 		int vdlright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		LinkedList vdl = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		ArrayList vdl = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
 		int slleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int slright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList sl = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList sl = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 RESULT = new FnBodyNode(
                             new DeclListNode(vdl), new StmtListNode(sl));
                 
@@ -733,34 +886,58 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 21: // stmtList ::= stmtList stmt 
+          case 23: // stmtList ::= stmtList stmt 
             {
-              LinkedList RESULT =null;
+              ArrayList RESULT =null;
 		int slleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int slright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList sl = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList sl = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
 		int sright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
 		StmtNode s = (StmtNode)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
-		 sl.addLast(s);
+		 if (s != null) {
+                       sl.add(s);
+                   }
                    RESULT = sl;
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("stmtList",12, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
             }
           return CUP$parser$result;
 
+          /* . . . . . .*/
+          default:
+            throw new Exception(
+               "Invalid action number "+CUP$parser$act_num+"found in internal parse table");
+
+        }
+    } /* end of method */
+
+  /** Method 3 with the actual generated action code for actions 24 to 31. */
+  public final java_cup.runtime.Symbol CUP$parser$do_action_part00000003(
+    int                        CUP$parser$act_num,
+    java_cup.runtime.lr_parser CUP$parser$parser,
+    java.util.Stack            CUP$parser$stack,
+    int                        CUP$parser$top)
+    throws java.lang.Exception
+    {
+      /* Symbol object for return from actions */
+      java_cup.runtime.Symbol CUP$parser$result;
+
+      /* select the action based on the action number */
+      switch (CUP$parser$act_num)
+        {
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 22: // stmtList ::= 
+          case 24: // stmtList ::= 
             {
-              LinkedList RESULT =null;
-		 RESULT = new LinkedList<StmtNode>();
+              ArrayList RESULT =null;
+		 RESULT = new ArrayList<StmtNode>();
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("stmtList",12, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 23: // stmt ::= assignExp SEMICOLON 
+          case 25: // stmt ::= assignExp SEMICOLON 
             {
               StmtNode RESULT =null;
 		int aeleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -773,7 +950,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 24: // stmt ::= loc PLUSPLUS SEMICOLON 
+          case 26: // stmt ::= loc PLUSPLUS SEMICOLON 
             {
               StmtNode RESULT =null;
 		int lcleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -786,7 +963,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 25: // stmt ::= loc MINUSMINUS SEMICOLON 
+          case 27: // stmt ::= loc MINUSMINUS SEMICOLON 
             {
               StmtNode RESULT =null;
 		int lcleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -799,7 +976,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 26: // stmt ::= IF exp LCURLY varDeclList stmtList RCURLY 
+          case 28: // stmt ::= IF exp LCURLY varDeclList stmtList RCURLY 
             {
               StmtNode RESULT =null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
@@ -807,10 +984,10 @@ class CUP$parser$actions {
 		ExpNode e = (ExpNode)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
 		int vdlleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
 		int vdlright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		LinkedList vdl = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		ArrayList vdl = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
 		int slleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int slright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList sl = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList sl = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 RESULT = new IfStmtNode(e, 
                                 new DeclListNode(vdl), new StmtListNode(sl));
                 
@@ -819,7 +996,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 27: // stmt ::= IF exp LCURLY varDeclList stmtList RCURLY ELSE LCURLY varDeclList stmtList RCURLY 
+          case 29: // stmt ::= IF exp LCURLY varDeclList stmtList RCURLY ELSE LCURLY varDeclList stmtList RCURLY 
             {
               StmtNode RESULT =null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-9)).left;
@@ -827,16 +1004,16 @@ class CUP$parser$actions {
 		ExpNode e = (ExpNode)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-9)).value;
 		int vdltleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).left;
 		int vdltright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).right;
-		LinkedList vdlt = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-7)).value;
+		ArrayList vdlt = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-7)).value;
 		int sltleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).left;
 		int sltright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).right;
-		LinkedList slt = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-6)).value;
+		ArrayList slt = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-6)).value;
 		int vdleleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
 		int vdleright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		LinkedList vdle = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		ArrayList vdle = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
 		int sleleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int sleright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList sle = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList sle = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 RESULT = new IfElseStmtNode(e, 
                                 new DeclListNode(vdlt), new StmtListNode(slt),
                                 new DeclListNode(vdle), new StmtListNode(sle));
@@ -846,7 +1023,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 28: // stmt ::= WHILE exp LCURLY varDeclList stmtList RCURLY 
+          case 30: // stmt ::= WHILE exp LCURLY varDeclList stmtList RCURLY 
             {
               StmtNode RESULT =null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
@@ -854,10 +1031,10 @@ class CUP$parser$actions {
 		ExpNode e = (ExpNode)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
 		int vdlleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
 		int vdlright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		LinkedList vdl = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		ArrayList vdl = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
 		int slleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int slright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList sl = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList sl = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 RESULT = new WhileStmtNode(e, 
                                 new DeclListNode(vdl), new StmtListNode(sl));
                 
@@ -866,7 +1043,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 29: // stmt ::= SCAN READ loc SEMICOLON 
+          case 31: // stmt ::= SCAN READ loc SEMICOLON 
             {
               StmtNode RESULT =null;
 		int lcleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -878,8 +1055,30 @@ class CUP$parser$actions {
             }
           return CUP$parser$result;
 
+          /* . . . . . .*/
+          default:
+            throw new Exception(
+               "Invalid action number "+CUP$parser$act_num+"found in internal parse table");
+
+        }
+    } /* end of method */
+
+  /** Method 4 with the actual generated action code for actions 32 to 39. */
+  public final java_cup.runtime.Symbol CUP$parser$do_action_part00000004(
+    int                        CUP$parser$act_num,
+    java_cup.runtime.lr_parser CUP$parser$parser,
+    java.util.Stack            CUP$parser$stack,
+    int                        CUP$parser$top)
+    throws java.lang.Exception
+    {
+      /* Symbol object for return from actions */
+      java_cup.runtime.Symbol CUP$parser$result;
+
+      /* select the action based on the action number */
+      switch (CUP$parser$act_num)
+        {
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 30: // stmt ::= PRINT WRITE exp SEMICOLON 
+          case 32: // stmt ::= PRINT WRITE exp SEMICOLON 
             {
               StmtNode RESULT =null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -892,7 +1091,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 31: // stmt ::= fncall SEMICOLON 
+          case 33: // stmt ::= fncall SEMICOLON 
             {
               StmtNode RESULT =null;
 		int fleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -905,7 +1104,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 32: // stmt ::= RETURN exp SEMICOLON 
+          case 34: // stmt ::= RETURN exp SEMICOLON 
             {
               StmtNode RESULT =null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -918,7 +1117,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 33: // stmt ::= RETURN SEMICOLON 
+          case 35: // stmt ::= RETURN SEMICOLON 
             {
               StmtNode RESULT =null;
 		 RESULT = new ReturnStmtNode(null);
@@ -928,7 +1127,17 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 34: // assignExp ::= loc ASSIGN exp 
+          case 36: // stmt ::= error SEMICOLON 
+            {
+              StmtNode RESULT =null;
+		 RESULT = null;
+                
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("stmt",13, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 37: // assignExp ::= loc ASSIGN exp 
             {
               AssignExpNode RESULT =null;
 		int lcleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -944,7 +1153,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 35: // exp ::= assignExp 
+          case 38: // exp ::= assignExp 
             {
               ExpNode RESULT =null;
 		int aeleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -957,7 +1166,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 36: // exp ::= exp PLUS exp 
+          case 39: // exp ::= exp PLUS exp 
             {
               ExpNode RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -972,8 +1181,30 @@ class CUP$parser$actions {
             }
           return CUP$parser$result;
 
+          /* . . . . . .*/
+          default:
+            throw new Exception(
+               "Invalid action number "+CUP$parser$act_num+"found in internal parse table");
+
+        }
+    } /* end of method */
+
+  /** Method 5 with the actual generated action code for actions 40 to 47. */
+  public final java_cup.runtime.Symbol CUP$parser$do_action_part00000005(
+    int                        CUP$parser$act_num,
+    java_cup.runtime.lr_parser CUP$parser$parser,
+    java.util.Stack            CUP$parser$stack,
+    int                        CUP$parser$top)
+    throws java.lang.Exception
+    {
+      /* Symbol object for return from actions */
+      java_cup.runtime.Symbol CUP$parser$result;
+
+      /* select the action based on the action number */
+      switch (CUP$parser$act_num)
+        {
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 37: // exp ::= exp MINUS exp 
+          case 40: // exp ::= exp MINUS exp 
             {
               ExpNode RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -989,7 +1220,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 38: // exp ::= exp TIMES exp 
+          case 41: // exp ::= exp TIMES exp 
             {
               ExpNode RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1005,7 +1236,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 39: // exp ::= exp DIVIDE exp 
+          case 42: // exp ::= exp DIVIDE exp 
             {
               ExpNode RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1021,7 +1252,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 40: // exp ::= exp EQUALS exp 
+          case 43: // exp ::= exp EQUALS exp 
             {
               ExpNode RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1037,7 +1268,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 41: // exp ::= exp NOTEQUALS exp 
+          case 44: // exp ::= exp NOTEQUALS exp 
             {
               ExpNode RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1053,7 +1284,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 42: // exp ::= exp LESS exp 
+          case 45: // exp ::= exp LESS exp 
             {
               ExpNode RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1069,7 +1300,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 43: // exp ::= exp LESSEQ exp 
+          case 46: // exp ::= exp LESSEQ exp 
             {
               ExpNode RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1085,7 +1316,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 44: // exp ::= exp GREATER exp 
+          case 47: // exp ::= exp GREATER exp 
             {
               ExpNode RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1100,8 +1331,30 @@ class CUP$parser$actions {
             }
           return CUP$parser$result;
 
+          /* . . . . . .*/
+          default:
+            throw new Exception(
+               "Invalid action number "+CUP$parser$act_num+"found in internal parse table");
+
+        }
+    } /* end of method */
+
+  /** Method 6 with the actual generated action code for actions 48 to 55. */
+  public final java_cup.runtime.Symbol CUP$parser$do_action_part00000006(
+    int                        CUP$parser$act_num,
+    java_cup.runtime.lr_parser CUP$parser$parser,
+    java.util.Stack            CUP$parser$stack,
+    int                        CUP$parser$top)
+    throws java.lang.Exception
+    {
+      /* Symbol object for return from actions */
+      java_cup.runtime.Symbol CUP$parser$result;
+
+      /* select the action based on the action number */
+      switch (CUP$parser$act_num)
+        {
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 45: // exp ::= exp GREATEREQ exp 
+          case 48: // exp ::= exp GREATEREQ exp 
             {
               ExpNode RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1117,7 +1370,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 46: // exp ::= NOT exp 
+          case 49: // exp ::= NOT exp 
             {
               ExpNode RESULT =null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1130,7 +1383,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 47: // exp ::= exp AND exp 
+          case 50: // exp ::= exp AND exp 
             {
               ExpNode RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1146,7 +1399,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 48: // exp ::= exp OR exp 
+          case 51: // exp ::= exp OR exp 
             {
               ExpNode RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1162,7 +1415,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 49: // exp ::= MINUS exp 
+          case 52: // exp ::= MINUS exp 
             {
               ExpNode RESULT =null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1175,7 +1428,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 50: // exp ::= term 
+          case 53: // exp ::= term 
             {
               ExpNode RESULT =null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1188,7 +1441,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 51: // term ::= loc 
+          case 54: // term ::= loc 
             {
               ExpNode RESULT =null;
 		int lcleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1201,7 +1454,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 52: // term ::= TRUE 
+          case 55: // term ::= TRUE 
             {
               ExpNode RESULT =null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1213,8 +1466,30 @@ class CUP$parser$actions {
             }
           return CUP$parser$result;
 
+          /* . . . . . .*/
+          default:
+            throw new Exception(
+               "Invalid action number "+CUP$parser$act_num+"found in internal parse table");
+
+        }
+    } /* end of method */
+
+  /** Method 7 with the actual generated action code for actions 56 to 63. */
+  public final java_cup.runtime.Symbol CUP$parser$do_action_part00000007(
+    int                        CUP$parser$act_num,
+    java_cup.runtime.lr_parser CUP$parser$parser,
+    java.util.Stack            CUP$parser$stack,
+    int                        CUP$parser$top)
+    throws java.lang.Exception
+    {
+      /* Symbol object for return from actions */
+      java_cup.runtime.Symbol CUP$parser$result;
+
+      /* select the action based on the action number */
+      switch (CUP$parser$act_num)
+        {
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 53: // term ::= FALSE 
+          case 56: // term ::= FALSE 
             {
               ExpNode RESULT =null;
 		int fleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1227,7 +1502,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 54: // term ::= INTLITERAL 
+          case 57: // term ::= INTLITERAL 
             {
               ExpNode RESULT =null;
 		int ileft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1240,7 +1515,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 55: // term ::= STRINGLITERAL 
+          case 58: // term ::= STRINGLITERAL 
             {
               ExpNode RESULT =null;
 		int sleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1253,7 +1528,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 56: // term ::= LPAREN exp RPAREN 
+          case 59: // term ::= LPAREN exp RPAREN 
             {
               ExpNode RESULT =null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -1266,7 +1541,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 57: // term ::= fncall 
+          case 60: // term ::= fncall 
             {
               ExpNode RESULT =null;
 		int fleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1279,21 +1554,21 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 58: // fncall ::= id LPAREN RPAREN 
+          case 61: // fncall ::= id LPAREN RPAREN 
             {
               CallExpNode RESULT =null;
 		int ileft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
 		int iright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
 		IdNode i = (IdNode)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
 		 RESULT = new CallExpNode(i, 
-                                new ExpListNode(new LinkedList<ExpNode>()));
+                                new ExpListNode(new ArrayList<ExpNode>()));
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("fncall",17, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 59: // fncall ::= id LPAREN actualList RPAREN 
+          case 62: // fncall ::= id LPAREN actualList RPAREN 
             {
               CallExpNode RESULT =null;
 		int ileft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
@@ -1301,7 +1576,7 @@ class CUP$parser$actions {
 		IdNode i = (IdNode)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
 		int alleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
 		int alright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
-		LinkedList al = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		ArrayList al = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 RESULT = new CallExpNode(i, new ExpListNode(al));
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("fncall",17, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
@@ -1309,31 +1584,53 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 60: // actualList ::= exp 
+          case 63: // actualList ::= exp 
             {
-              LinkedList RESULT =null;
+              ArrayList RESULT =null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
 		ExpNode e = (ExpNode)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
-		 LinkedList<ExpNode> list = new LinkedList<ExpNode>();
-                   list.addLast(e);
+		 ArrayList<ExpNode> list = new ArrayList<ExpNode>();
+                   list.add(e);
                    RESULT = list;
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("actualList",18, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
             }
           return CUP$parser$result;
 
+          /* . . . . . .*/
+          default:
+            throw new Exception(
+               "Invalid action number "+CUP$parser$act_num+"found in internal parse table");
+
+        }
+    } /* end of method */
+
+  /** Method 8 with the actual generated action code for actions 64 to 70. */
+  public final java_cup.runtime.Symbol CUP$parser$do_action_part00000008(
+    int                        CUP$parser$act_num,
+    java_cup.runtime.lr_parser CUP$parser$parser,
+    java.util.Stack            CUP$parser$stack,
+    int                        CUP$parser$top)
+    throws java.lang.Exception
+    {
+      /* Symbol object for return from actions */
+      java_cup.runtime.Symbol CUP$parser$result;
+
+      /* select the action based on the action number */
+      switch (CUP$parser$act_num)
+        {
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 61: // actualList ::= actualList COMMA exp 
+          case 64: // actualList ::= actualList COMMA exp 
             {
-              LinkedList RESULT =null;
+              ArrayList RESULT =null;
 		int alleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
 		int alright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		LinkedList al = (LinkedList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		ArrayList al = (ArrayList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
 		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
 		ExpNode e = (ExpNode)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
-		 al.addLast(e);
+		 al.add(e);
                    RESULT = al;
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("actualList",18, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
@@ -1341,7 +1638,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 62: // type ::= BOOL 
+          case 65: // type ::= BOOL 
             {
               TypeNode RESULT =null;
 		 RESULT = new BoolNode();
@@ -1351,7 +1648,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 63: // type ::= INT 
+          case 66: // type ::= INT 
             {
               TypeNode RESULT =null;
 		 RESULT = new IntNode();
@@ -1361,7 +1658,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 64: // type ::= VOID 
+          case 67: // type ::= VOID 
             {
               TypeNode RESULT =null;
 		 RESULT = new VoidNode();
@@ -1371,7 +1668,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 65: // loc ::= id 
+          case 68: // loc ::= id 
             {
               ExpNode RESULT =null;
 		int ileft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1384,7 +1681,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 66: // loc ::= loc DOT id 
+          case 69: // loc ::= loc DOT id 
             {
               ExpNode RESULT =null;
 		int lcleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1400,13 +1697,13 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 67: // id ::= ID 
+          case 70: // id ::= ID 
             {
               IdNode RESULT =null;
 		int ileft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
 		int iright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
 		IdTokenVal i = (IdTokenVal)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
-		 RESULT = new IdNode(i.lineNum, i.charNum, i.idVal);
+		 RESULT = new IdNode(i.lineNum, i.charNum, i.idNum);
                 
               CUP$parser$result = parser.getSymbolFactory().newSymbol("id",21, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
             }
@@ -1428,12 +1725,67 @@ class CUP$parser$actions {
     int                        CUP$parser$top)
     throws java.lang.Exception
     {
-              return CUP$parser$do_action_part00000000(
+      switch (CUP$parser$act_num / 8)
+        {
+          case 0:
+            return CUP$parser$do_action_part00000000(
                                CUP$parser$act_num,
                                CUP$parser$parser,
                                CUP$parser$stack,
                                CUP$parser$top);
-    }
+          case 1:
+            return CUP$parser$do_action_part00000001(
+                               CUP$parser$act_num,
+                               CUP$parser$parser,
+                               CUP$parser$stack,
+                               CUP$parser$top);
+          case 2:
+            return CUP$parser$do_action_part00000002(
+                               CUP$parser$act_num,
+                               CUP$parser$parser,
+                               CUP$parser$stack,
+                               CUP$parser$top);
+          case 3:
+            return CUP$parser$do_action_part00000003(
+                               CUP$parser$act_num,
+                               CUP$parser$parser,
+                               CUP$parser$stack,
+                               CUP$parser$top);
+          case 4:
+            return CUP$parser$do_action_part00000004(
+                               CUP$parser$act_num,
+                               CUP$parser$parser,
+                               CUP$parser$stack,
+                               CUP$parser$top);
+          case 5:
+            return CUP$parser$do_action_part00000005(
+                               CUP$parser$act_num,
+                               CUP$parser$parser,
+                               CUP$parser$stack,
+                               CUP$parser$top);
+          case 6:
+            return CUP$parser$do_action_part00000006(
+                               CUP$parser$act_num,
+                               CUP$parser$parser,
+                               CUP$parser$stack,
+                               CUP$parser$top);
+          case 7:
+            return CUP$parser$do_action_part00000007(
+                               CUP$parser$act_num,
+                               CUP$parser$parser,
+                               CUP$parser$stack,
+                               CUP$parser$top);
+          case 8:
+            return CUP$parser$do_action_part00000008(
+                               CUP$parser$act_num,
+                               CUP$parser$parser,
+                               CUP$parser$stack,
+                               CUP$parser$top);
+          default:
+            throw new Exception(
+               "Invalid action number "+CUP$parser$act_num+"found in internal parse table");
+        }
+    } /* end of method */
 }
 
 }